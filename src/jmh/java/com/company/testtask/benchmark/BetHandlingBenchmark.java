@@ -0,0 +1,82 @@
+package com.company.testtask.benchmark;
+
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.draw.FastDrawProvider;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.BetStatus;
+import com.company.testtask.model.Player;
+import com.company.testtask.protocol.BetValidator;
+import com.company.testtask.protocol.JsonBetParser;
+import com.company.testtask.service.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The inbound text path of the WebSocket handler: parse, validate and place a bet, without
+ * the transport.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BetHandlingBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    private int players;
+
+    private GameService gameService;
+
+    private String[] playerIds;
+
+    private String[] payloads;
+
+    private final BetRequest bet = new BetRequest();
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameService = new GameService(new FastDrawProvider(), new GameProperties(), Journal.NOOP);
+        playerIds = new String[players];
+        payloads = new String[players];
+
+        Random random = new Random(7);
+        for (int i = 0; i < players; i++) {
+            playerIds[i] = "session-" + i;
+            payloads[i] = "{\"nickname\":\"player-" + i + "\",\"number\":" + (random.nextInt(10) + 1)
+                    + ",\"bet\":" + (1 + random.nextInt(1000)) + ".50}";
+            gameService.registerPlayer(playerIds[i], new Player());
+        }
+    }
+
+    @Benchmark
+    public String parseAndValidate() {
+        JsonBetParser.parse(payloads[nextPlayer()], bet);
+        return BetValidator.validate(bet);
+    }
+
+    @Benchmark
+    public BetStatus handleTextMessage() {
+        int i = nextPlayer();
+        if (!JsonBetParser.parse(payloads[i], bet) || BetValidator.validate(bet) != null) {
+            return null;
+        }
+        return gameService.placeBet(playerIds[i], bet.getNickname(), bet.getNumber(), bet.getBet());
+    }
+
+    private int nextPlayer() {
+        int i = next;
+        next = i + 1 == players ? 0 : i + 1;
+        return i;
+    }
+}
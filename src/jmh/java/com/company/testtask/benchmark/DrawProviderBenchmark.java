@@ -0,0 +1,78 @@
+package com.company.testtask.benchmark;
+
+import com.company.testtask.draw.DrawMode;
+import com.company.testtask.draw.DrawProvider;
+import com.company.testtask.draw.FastDrawProvider;
+import com.company.testtask.draw.SecureDrawProvider;
+import com.company.testtask.draw.SeededDrawProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DrawProviderBenchmark {
+
+    private static final int ROUND_SIZE = 1 << 20;
+
+    private static final int CHUNK = 1 << 14;
+
+    @Param({"SHARED_RANDOM", "FAST", "SEEDED", "SECURE"})
+    private String provider;
+
+    private DrawProvider drawProvider;
+
+    private byte[] draws;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        drawProvider = "SHARED_RANDOM".equals(provider) ? sharedRandom() : create(DrawMode.valueOf(provider));
+        draws = new byte[ROUND_SIZE];
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int contendedDraw() {
+        return drawProvider.draw();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] bulkFill() {
+        drawProvider.fill(draws, 0, ROUND_SIZE);
+        return draws;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public byte[] parallelFill() {
+        IntStream.range(0, ROUND_SIZE / CHUNK).parallel()
+                .forEach(chunk -> drawProvider.fill(draws, chunk * CHUNK, (chunk + 1) * CHUNK));
+        return draws;
+    }
+
+    private static DrawProvider create(DrawMode mode) {
+        return switch (mode) {
+            case FAST -> new FastDrawProvider();
+            case SEEDED -> new SeededDrawProvider(42);
+            case SECURE -> new SecureDrawProvider();
+        };
+    }
+
+    private static DrawProvider sharedRandom() {
+        Random random = new Random();
+        return () -> random.nextInt(10) + 1;
+    }
+}
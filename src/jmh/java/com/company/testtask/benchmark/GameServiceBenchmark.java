@@ -0,0 +1,107 @@
+package com.company.testtask.benchmark;
+
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.draw.FastDrawProvider;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.Money;
+import com.company.testtask.model.Player;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.service.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameServiceBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    private int players;
+
+    private GameService gameService;
+
+    private String[] playerIds;
+
+    private Player[] models;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameService = new GameService(new FastDrawProvider(), new GameProperties(), Journal.NOOP);
+        playerIds = new String[players];
+        models = new Player[players];
+
+        Random random = new Random(7);
+        for (int i = 0; i < players; i++) {
+            Player model = new Player();
+            model.setNickname("player-" + i);
+            model.setNumber(random.nextInt(10) + 1);
+            model.setBet(Money.of(1 + random.nextInt(1000)));
+            playerIds[i] = "session-" + i;
+            models[i] = model;
+
+            gameService.registerPlayer(playerIds[i], new Player());
+            gameService.addPlayerData(playerIds[i], model);
+        }
+
+        BetBook book = gameService.lockRound();
+        Round round = new Round(book.getRoundId(), System.currentTimeMillis());
+        round.lock(book.getBetCount());
+        gameService.settleRound(round, book);
+    }
+
+    @Benchmark
+    public void addPlayerData() {
+        int i = nextPlayer();
+        gameService.addPlayerData(playerIds[i], models[i]);
+    }
+
+    @Benchmark
+    public boolean isNicknameUnique() {
+        return gameService.isNicknameUnique(models[nextPlayer()].getNickname());
+    }
+
+    /**
+     * One round boundary as the round engine runs it: lock the open book and settle it. The book is
+     * refilled with a bet per player before every invocation, outside the measurement.
+     */
+    @Benchmark
+    public RoundResult lockAndSettle(OpenRound openRound) {
+        BetBook book = gameService.lockRound();
+        Round round = new Round(book.getRoundId(), System.currentTimeMillis());
+        round.lock(book.getBetCount());
+        return gameService.settleRound(round, book);
+    }
+
+    private int nextPlayer() {
+        int i = next;
+        next = i + 1 == players ? 0 : i + 1;
+        return i;
+    }
+
+    @State(Scope.Benchmark)
+    public static class OpenRound {
+
+        @Setup(Level.Invocation)
+        public void fill(GameServiceBenchmark benchmark) {
+            for (int i = 0; i < benchmark.players; i++) {
+                Player model = benchmark.models[i];
+                benchmark.gameService.placeBet(benchmark.playerIds[i], model.getNickname(), model.getNumber(),
+                        model.getBet());
+            }
+        }
+    }
+}
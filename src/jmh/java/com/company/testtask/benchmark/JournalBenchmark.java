@@ -0,0 +1,63 @@
+package com.company.testtask.benchmark;
+
+import com.company.testtask.config.JournalProperties;
+import com.company.testtask.journal.JournalRecord;
+import com.company.testtask.journal.MappedJournal;
+import com.company.testtask.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JournalBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    private Path directory;
+
+    private MappedJournal journal;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("journal-benchmark");
+        JournalProperties properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+        journal = new MappedJournal(properties, new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH)
+    public void betsJournaled() throws Exception {
+        String thread = Thread.currentThread().getName();
+        for (int i = 0; i < BATCH; i++) {
+            journal.append(JournalRecord.bet(1, thread, thread, 1 + i % 10, Money.of(1 + i % 1000)));
+        }
+        journal.sync().get();
+    }
+}
@@ -0,0 +1,76 @@
+package com.company.testtask.benchmark;
+
+import com.company.testtask.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.WINNING_MESSAGE;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(MoneyBenchmark.SETTLEMENTS)
+public class MoneyBenchmark {
+
+    static final int SETTLEMENTS = 1024;
+
+    private static final BigDecimal MULTIPLIER = BigDecimal.valueOf(9.9);
+
+    private final BigDecimal[] decimalBets = new BigDecimal[SETTLEMENTS];
+
+    private final long[] minorBets = new long[SETTLEMENTS];
+
+    private final StringBuilder message = new StringBuilder(64);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < SETTLEMENTS; i++) {
+            long minor = 100 + random.nextInt(1_000_000);
+            minorBets[i] = minor;
+            decimalBets[i] = Money.toBigDecimal(minor);
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalPayout(Blackhole blackhole) {
+        for (BigDecimal bet : decimalBets) {
+            blackhole.consume(bet.multiply(MULTIPLIER));
+        }
+    }
+
+    @Benchmark
+    public void fixedPointPayout(Blackhole blackhole) {
+        for (long bet : minorBets) {
+            blackhole.consume(Money.payout(bet));
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalSettlement(Blackhole blackhole) {
+        for (BigDecimal bet : decimalBets) {
+            blackhole.consume(WINNING_MESSAGE + bet.multiply(MULTIPLIER));
+        }
+    }
+
+    @Benchmark
+    public void fixedPointSettlement(Blackhole blackhole) {
+        for (long bet : minorBets) {
+            message.setLength(0);
+            Money.appendTo(message.append(WINNING_MESSAGE), Money.payout(bet));
+            blackhole.consume(message);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.company.testtask.benchmark;
+
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.Money;
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.model.WinnersList;
+import com.company.testtask.protocol.BinaryProtocolCodec;
+import com.company.testtask.protocol.PooledFrame;
+import com.company.testtask.protocol.ProtocolCodec;
+import com.company.testtask.protocol.TextProtocolCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.LOSING_MESSAGE;
+import static com.company.testtask.constant.Constants.WINNING_MESSAGE;
+
+/**
+ * Encodes one round's results for every settled player. Run with the {@code gc} profiler and read
+ * {@code gc.alloc.rate.norm}, which is bytes allocated per settled player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ResultEncodingBenchmark.PLAYERS)
+public class ResultEncodingBenchmark {
+
+    static final int PLAYERS = 4096;
+
+    private final String[] playerIds = new String[PLAYERS];
+
+    private RoundResult result;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        BetBook book = new BetBook(PLAYERS);
+        byte[] draws = new byte[PLAYERS];
+        long[] payouts = new long[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            playerIds[i] = "session-" + i;
+            int number = random.nextInt(10) + 1;
+            long bet = Money.of(1 + random.nextInt(1000));
+            book.place(playerIds[i], "player-" + i, number, bet);
+            draws[i] = (byte) (random.nextInt(10) + 1);
+            payouts[i] = draws[i] == number ? Money.payout(bet) : 0;
+        }
+        book.lock();
+        result = new RoundResult(new Round(1, System.currentTimeMillis()), book, draws, payouts,
+                new WinnersList(1, List.of(), 0));
+    }
+
+    @Benchmark
+    public void concatenatedText(Blackhole blackhole) {
+        for (String playerId : playerIds) {
+            PlayerResult playerResult = result.getPlayerResult(playerId);
+            blackhole.consume(playerResult.isWon()
+                    ? new TextMessage(WINNING_MESSAGE + Money.toBigDecimal(playerResult.getPayout()))
+                    : new TextMessage(LOSING_MESSAGE));
+        }
+    }
+
+    @Benchmark
+    public void sharedText(Blackhole blackhole) {
+        encode(TextProtocolCodec.INSTANCE, blackhole);
+    }
+
+    @Benchmark
+    public void pooledBinary(Blackhole blackhole) {
+        encode(BinaryProtocolCodec.INSTANCE, blackhole);
+    }
+
+    private void encode(ProtocolCodec codec, Blackhole blackhole) {
+        WebSocketMessage<?> lost = codec.encodeResult(1, PlayerResult.LOST);
+        for (String playerId : playerIds) {
+            PlayerResult playerResult = result.getPlayerResult(playerId);
+            if (!playerResult.isWon()) {
+                blackhole.consume(lost);
+                continue;
+            }
+            PooledFrame frame = codec.encodePooledResult(1, playerResult);
+            if (frame == null) {
+                blackhole.consume(codec.encodeResult(1, playerResult));
+            } else {
+                blackhole.consume(frame.getMessage());
+                frame.release();
+            }
+        }
+    }
+}
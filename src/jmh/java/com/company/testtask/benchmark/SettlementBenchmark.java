@@ -0,0 +1,69 @@
+package com.company.testtask.benchmark;
+
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.draw.FastDrawProvider;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.Money;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.service.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SettlementBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int bets;
+
+    private GameService gameService;
+
+    private GameService sequentialGameService;
+
+    private BetBook book;
+
+    private Round round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameService = new GameService(new FastDrawProvider(), new GameProperties(), Journal.NOOP);
+        GameProperties sequential = new GameProperties();
+        sequential.setSettlementParallelThreshold(Integer.MAX_VALUE);
+        sequentialGameService = new GameService(new FastDrawProvider(), sequential, Journal.NOOP);
+        book = new BetBook(bets);
+        round = new Round(1, System.currentTimeMillis());
+
+        Random random = new Random(7);
+        for (int i = 0; i < bets; i++) {
+            String playerId = "session-" + i;
+            String nickname = "player-" + i;
+            int number = random.nextInt(10) + 1;
+            long bet = Money.of(1 + random.nextInt(1000));
+            book.place(playerId, nickname, number, bet);
+        }
+        book.lock();
+    }
+
+    @Benchmark
+    public RoundResult sequential() {
+        return sequentialGameService.settleRound(round, book);
+    }
+
+    @Benchmark
+    public RoundResult parallel() {
+        return gameService.settleRound(round, book);
+    }
+}
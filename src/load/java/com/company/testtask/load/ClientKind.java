@@ -0,0 +1,8 @@
+package com.company.testtask.load;
+
+public enum ClientKind {
+    NORMAL,
+    SLOW,
+    MALFORMED,
+    FLOODING
+}
@@ -0,0 +1,89 @@
+package com.company.testtask.load;
+
+import com.company.testtask.TestTaskApplication;
+import com.company.testtask.service.GameService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.GAME_PATH;
+import static com.company.testtask.constant.Constants.LOCALHOST;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the same round against each execution mode and transport and checks that the round result
+ * reaches every connected client before the next round closes, logging the fan-out percentiles and
+ * the thread count of the JVM shared by server and clients. Run with
+ * {@code ./gradlew loadTest -Dload.connections=5000}.
+ */
+@Slf4j
+@Tag("load")
+public class ExecutionModeLoadTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("load.connections", 1000);
+
+    @ParameterizedTest
+    @CsvSource({"servlet, platform", "servlet, virtual", "reactive, platform"})
+    public void testRoundFanOut(String transport, String mode) throws Exception {
+        try (ConfigurableApplicationContext server = SpringApplication.run(TestTaskApplication.class,
+                "--server.port=0",
+                "--spring.main.web-application-type=" + transport,
+                "--game.execution.mode=" + mode,
+                "--game.rate-limit.enabled=false");
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) server).getWebServer().getPort();
+            URI uri = URI.create(LOCALHOST + port + GAME_PATH + "/load-" + transport + "-" + mode);
+            HttpClient httpClient = HttpClient.newBuilder().executor(executor).build();
+
+            CountDownLatch arrivals = new CountDownLatch(CONNECTIONS);
+            List<FanOutProbe> probes = new ArrayList<>(CONNECTIONS);
+            List<CompletableFuture<WebSocket>> handshakes = new ArrayList<>(CONNECTIONS);
+            for (int i = 0; i < CONNECTIONS; i++) {
+                FanOutProbe probe = new FanOutProbe(i, arrivals);
+                probes.add(probe);
+                handshakes.add(httpClient.newWebSocketBuilder().buildAsync(uri, probe));
+            }
+            List<WebSocket> sockets = new ArrayList<>(CONNECTIONS);
+            for (CompletableFuture<WebSocket> handshake : handshakes) {
+                sockets.add(handshake.get(30, TimeUnit.SECONDS));
+            }
+            for (int i = 0; i < CONNECTIONS; i++) {
+                probes.get(i).bet(sockets.get(i));
+            }
+
+            assertTrue(arrivals.await(3 * GameService.ROUND_DURATION, TimeUnit.MILLISECONDS),
+                    "every client receives the round result");
+            long[] arrivedAt = probes.stream().mapToLong(FanOutProbe::getArrivedAt).sorted().toArray();
+            long first = arrivedAt[0];
+            log.info("transport={} mode={} connections={} fan-out p50={}ms p99={}ms max={}ms jvm threads={}",
+                    transport, mode, CONNECTIONS,
+                    millis(arrivedAt[CONNECTIONS / 2] - first),
+                    millis(arrivedAt[(int) (CONNECTIONS * 0.99)] - first),
+                    millis(arrivedAt[CONNECTIONS - 1] - first),
+                    Thread.activeCount());
+            assertTrue(millis(arrivedAt[CONNECTIONS - 1] - first) < GameService.ROUND_DURATION,
+                    "the round result reaches every client before the next round closes");
+
+            sockets.forEach(socket -> socket.sendClose(WebSocket.NORMAL_CLOSURE, ""));
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
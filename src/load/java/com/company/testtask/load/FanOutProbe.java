@@ -0,0 +1,46 @@
+package com.company.testtask.load;
+
+import java.net.http.WebSocket;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Text-protocol client of {@link ExecutionModeLoadTest}: places one bet and records when the first
+ * frame after it, the round result, arrives.
+ */
+class FanOutProbe implements WebSocket.Listener {
+
+    private final String bet;
+
+    private final CountDownLatch arrivals;
+
+    private volatile long arrivedAt;
+
+    FanOutProbe(int index, CountDownLatch arrivals) {
+        this.bet = "{\"nickname\":\"fan-out-" + index + "\",\"number\":" + (1 + index % 10) + ",\"bet\":10}";
+        this.arrivals = arrivals;
+    }
+
+    long getArrivedAt() {
+        return arrivedAt;
+    }
+
+    void bet(WebSocket socket) {
+        socket.sendText(bet, true);
+    }
+
+    @Override
+    public void onOpen(WebSocket socket) {
+        socket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket socket, CharSequence data, boolean last) {
+        if (last && arrivedAt == 0) {
+            arrivedAt = System.nanoTime();
+            arrivals.countDown();
+        }
+        socket.request(1);
+        return null;
+    }
+}
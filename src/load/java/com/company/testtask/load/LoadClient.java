@@ -0,0 +1,188 @@
+package com.company.testtask.load;
+
+import com.company.testtask.model.Money;
+import com.company.testtask.protocol.BinaryFrames;
+
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.MAX_NUMBER;
+import static com.company.testtask.constant.Constants.MIN_NUMBER;
+
+/**
+ * One simulated player. Slow clients withhold read demand so the server sees back-pressure,
+ * malformed clients send undecodable frames and flooding clients send bursts above the inbound
+ * rate limit.
+ */
+public class LoadClient implements WebSocket.Listener {
+
+    private final ClientKind kind;
+
+    private final String nickname;
+
+    private final LoadSettings settings;
+
+    private final LoadReport report;
+
+    private final Executor slowReads;
+
+    private final Map<Long, Long> pendingAcks = new ConcurrentHashMap<>();
+
+    private long nextBetId;
+
+    private CompletableFuture<WebSocket> lastSend;
+
+    private ByteBuffer partial;
+
+    private volatile boolean open;
+
+    public LoadClient(int index, LoadSettings settings, LoadReport report) {
+        this.kind = settings.kindOf(index);
+        this.nickname = "load-" + index;
+        this.settings = settings;
+        this.report = report;
+        this.slowReads = CompletableFuture.delayedExecutor(settings.getSlowReadDelay(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    public synchronized void bet(WebSocket socket) {
+        if (!open) {
+            return;
+        }
+        switch (kind) {
+            case MALFORMED -> send(socket, malformedFrame());
+            case FLOODING -> {
+                for (int i = 0; i < settings.getFloodBurst(); i++) {
+                    send(socket, betFrame());
+                }
+            }
+            default -> {
+                long betId = nextBetId++ & 0xFFFFFFFFL;
+                pendingAcks.put(betId, System.nanoTime());
+                send(socket, BinaryFrames.encodeBet(nickname, randomNumber(), randomBet(), betId));
+            }
+        }
+        report.betSent();
+    }
+
+    /**
+     * Bets sent with an id that got neither an acknowledgement nor an error, such as ones the
+     * server's rate limiter dropped.
+     */
+    public int getUnanswered() {
+        return pendingAcks.size();
+    }
+
+    public synchronized void close(WebSocket socket) {
+        if (open) {
+            open = false;
+            chain(socket).thenCompose(ws -> ws.sendClose(WebSocket.NORMAL_CLOSURE, ""));
+        }
+    }
+
+    @Override
+    public void onOpen(WebSocket socket) {
+        open = true;
+        lastSend = CompletableFuture.completedFuture(socket);
+        socket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onBinary(WebSocket socket, ByteBuffer data, boolean last) {
+        if (partial != null || !last) {
+            ByteBuffer joined = ByteBuffer.allocate((partial != null ? partial.remaining() : 0) + data.remaining());
+            if (partial != null) {
+                joined.put(partial);
+            }
+            partial = joined.put(data).flip();
+        }
+        if (last) {
+            ByteBuffer frame = partial != null ? partial : data;
+            partial = null;
+            handle(frame, System.nanoTime());
+        }
+        if (kind == ClientKind.SLOW) {
+            slowReads.execute(() -> socket.request(1));
+        } else {
+            socket.request(1);
+        }
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket socket, int statusCode, String reason) {
+        if (open) {
+            open = false;
+            report.disconnected(kind);
+        }
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket socket, Throwable error) {
+        if (open) {
+            open = false;
+            report.disconnected(kind);
+        }
+    }
+
+    private void handle(ByteBuffer frame, long arrivedAt) {
+        if (!frame.hasRemaining()) {
+            return;
+        }
+        switch (frame.get(frame.position())) {
+            case BinaryFrames.BET_ACK -> {
+                Long sentAt = pendingAcks.remove(BinaryFrames.decodeAckId(frame));
+                if (sentAt != null) {
+                    report.betAcknowledged(arrivedAt - sentAt);
+                }
+            }
+            case BinaryFrames.RESULT_WON, BinaryFrames.RESULT_LOST, BinaryFrames.RESULT_RANKED ->
+                    report.resultReceived(BinaryFrames.decodeRoundId(frame), arrivedAt);
+            case BinaryFrames.WINNERS -> report.winnersReceived(BinaryFrames.decodeRoundId(frame), arrivedAt);
+            case BinaryFrames.ERROR -> {
+                pendingAcks.remove(BinaryFrames.decodeErrorBetId(frame));
+                report.error(BinaryFrames.decodeErrorCode(frame));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void send(WebSocket socket, ByteBuffer frame) {
+        lastSend = chain(socket).thenCompose(ws -> ws.sendBinary(frame, true));
+    }
+
+    private CompletableFuture<WebSocket> chain(WebSocket socket) {
+        return lastSend != null ? lastSend.exceptionally(error -> socket) : CompletableFuture.completedFuture(socket);
+    }
+
+    private ByteBuffer betFrame() {
+        return BinaryFrames.encodeBet(nickname, randomNumber(), randomBet());
+    }
+
+    private static int randomNumber() {
+        return ThreadLocalRandom.current().nextInt(MIN_NUMBER, MAX_NUMBER + 1);
+    }
+
+    private static long randomBet() {
+        return Money.of(ThreadLocalRandom.current().nextInt(1, 101));
+    }
+
+    private static ByteBuffer malformedFrame() {
+        byte[] garbage = new byte[ThreadLocalRandom.current().nextInt(1, 32)];
+        ThreadLocalRandom.current().nextBytes(garbage);
+        garbage[0] = (byte) 0x7F;
+        return ByteBuffer.wrap(garbage);
+    }
+}
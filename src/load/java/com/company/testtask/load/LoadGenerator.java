@@ -0,0 +1,181 @@
+package com.company.testtask.load;
+
+import com.company.testtask.TestTaskApplication;
+import com.company.testtask.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.BINARY_PROTOCOL;
+import static com.company.testtask.constant.Constants.GAME_PATH;
+import static com.company.testtask.constant.Constants.LOCALHOST;
+
+/**
+ * Opens {@code load.connections} binary-protocol sessions, submits bets at {@code load.bet-rate}
+ * per second for {@code load.duration} seconds and writes a latency summary to
+ * {@code load.report}. Without {@code load.url} the server is started in-process on a random port
+ * with the {@code load.transport} web stack, {@code servlet} or {@code reactive}. The server
+ * footprint is read from its {@code /actuator/metrics}.
+ */
+public class LoadGenerator {
+
+    private static final long TICK_MILLIS = 10;
+
+    private static final String ACTUATOR_METRICS = "/actuator/metrics/";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LoadSettings settings;
+
+    private final LoadReport report = new LoadReport();
+
+    private final List<LoadClient> clients = new ArrayList<>();
+
+    private final List<WebSocket> sockets = new ArrayList<>();
+
+    private LoadGenerator(LoadSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = new LoadSettings();
+        ConfigurableApplicationContext server = null;
+        String url = settings.getUrl();
+        if (url == null) {
+            server = startServer(settings);
+            url = LOCALHOST + ((WebServerApplicationContext) server).getWebServer().getPort() + GAME_PATH;
+        }
+        try {
+            new LoadGenerator(settings).run(URI.create(url));
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer(LoadSettings settings) throws Exception {
+        return SpringApplication.run(TestTaskApplication.class,
+                "--server.port=0",
+                "--spring.main.web-application-type=" + settings.getTransport(),
+                "--game.journal.directory=" + Files.createTempDirectory("load-journal"),
+                "--game.rate-limit.address-rate=" + Integer.MAX_VALUE,
+                "--game.rate-limit.address-burst=" + Integer.MAX_VALUE);
+    }
+
+    private void run(URI uri) throws Exception {
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder().executor(executor).build();
+            connect(httpClient, uri);
+            recordServerFootprint(httpClient, uri);
+
+            ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+            ticker.scheduleAtFixedRate(new BetTicker(), TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            Thread.sleep(TimeUnit.SECONDS.toMillis(settings.getDuration()));
+            ticker.shutdownNow();
+
+            Thread.sleep(GameService.ROUND_DURATION + GameService.BET_GRACE_PERIOD);
+            for (int i = 0; i < sockets.size(); i++) {
+                report.betsUnanswered(clients.get(i).getUnanswered());
+                if (sockets.get(i) != null) {
+                    clients.get(i).close(sockets.get(i));
+                }
+            }
+        }
+
+        String summary = report.summary(settings, Duration.ofNanos(System.nanoTime() - startedAt));
+        Files.createDirectories(settings.getReport().toAbsolutePath().getParent());
+        Files.writeString(settings.getReport(), summary);
+        System.out.print(summary);
+    }
+
+    private void connect(HttpClient httpClient, URI uri) throws InterruptedException {
+        Semaphore handshakes = new Semaphore(settings.getHandshakeConcurrency());
+        List<CompletableFuture<WebSocket>> pending = new ArrayList<>(settings.getConnections());
+        for (int i = 0; i < settings.getConnections(); i++) {
+            LoadClient client = new LoadClient(i, settings, report);
+            handshakes.acquire();
+            pending.add(httpClient.newWebSocketBuilder()
+                    .subprotocols(BINARY_PROTOCOL)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .buildAsync(uri, client)
+                    .whenComplete((socket, error) -> handshakes.release()));
+            clients.add(client);
+        }
+        for (CompletableFuture<WebSocket> handshake : pending) {
+            try {
+                sockets.add(handshake.join());
+                report.connected();
+            } catch (RuntimeException e) {
+                sockets.add(null);
+                report.connectFailed();
+            }
+        }
+    }
+
+    /**
+     * Reads the server's live threads and used heap from its actuator, which also works against a
+     * remote {@code load.url}. Values the server does not expose are reported as unavailable.
+     */
+    private void recordServerFootprint(HttpClient httpClient, URI uri) throws InterruptedException {
+        String scheme = "wss".equals(uri.getScheme()) ? "https" : "http";
+        URI metrics = URI.create(scheme + "://" + uri.getRawAuthority() + ACTUATOR_METRICS);
+        report.serverFootprint((int) metric(httpClient, metrics.resolve("jvm.threads.live")),
+                (long) metric(httpClient, metrics.resolve("jvm.memory.used?tag=area:heap")));
+    }
+
+    private static double metric(HttpClient httpClient, URI uri) throws InterruptedException {
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+            return MAPPER.readTree(response.body()).path("measurements").path(0).path("value").asDouble(-1);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+        private class BetTicker implements Runnable {
+
+        private long owed;
+
+        private int next;
+
+        @Override
+        public void run() {
+            owed += settings.getBetRate() * TICK_MILLIS;
+            for (; owed >= TimeUnit.SECONDS.toMillis(1); owed -= TimeUnit.SECONDS.toMillis(1)) {
+                for (int attempts = 0; attempts < clients.size(); attempts++) {
+                    int i = next;
+                    next = i + 1 == clients.size() ? 0 : i + 1;
+                    if (sockets.get(i) != null && clients.get(i).isOpen()) {
+                        clients.get(i).bet(sockets.get(i));
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.company.testtask.load;
+
+import com.company.testtask.protocol.ErrorCode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for one load run. Round-result and winners-list latencies are
+ * measured from the first result frame of the same round seen by any client, because clients do
+ * not observe the server-side round close; that latency is {@code game.round.result.latency}.
+ */
+public class LoadReport {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram betAck = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    private final Histogram roundResult = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    private final Histogram winnersList = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    private final Map<Long, Long> firstResults = new ConcurrentHashMap<>();
+
+    private final LongAdder connected = new LongAdder();
+
+    private final LongAdder connectFailed = new LongAdder();
+
+    private final LongAdder betsSent = new LongAdder();
+
+    private final LongAdder betsUnanswered = new LongAdder();
+
+    private final Map<ErrorCode, LongAdder> errors = new EnumMap<>(ErrorCode.class);
+
+    private final Map<ClientKind, LongAdder> disconnects = new EnumMap<>(ClientKind.class);
+
+    public LoadReport() {
+        for (ErrorCode code : ErrorCode.values()) {
+            errors.put(code, new LongAdder());
+        }
+        for (ClientKind kind : ClientKind.values()) {
+            disconnects.put(kind, new LongAdder());
+        }
+    }
+
+    private volatile int serverThreads;
+
+    private volatile long serverHeap;
+
+    void serverFootprint(int threads, long heapUsed) {
+        serverThreads = threads;
+        serverHeap = heapUsed;
+    }
+
+    void connected() {
+        connected.increment();
+    }
+
+    void connectFailed() {
+        connectFailed.increment();
+    }
+
+    void betSent() {
+        betsSent.increment();
+    }
+
+    void betsUnanswered(int count) {
+        betsUnanswered.add(count);
+    }
+
+    void betAcknowledged(long nanos) {
+        betAck.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    void resultReceived(long roundId, long arrivedAt) {
+        roundResult.recordValue(sinceFirstResult(roundId, arrivedAt));
+    }
+
+    void winnersReceived(long roundId, long arrivedAt) {
+        winnersList.recordValue(sinceFirstResult(roundId, arrivedAt));
+    }
+
+    void error(ErrorCode code) {
+        if (code != null) {
+            errors.get(code).increment();
+        }
+    }
+
+    void disconnected(ClientKind kind) {
+        disconnects.get(kind).increment();
+    }
+
+    private long sinceFirstResult(long roundId, long arrivedAt) {
+        long first = firstResults.computeIfAbsent(roundId, id -> arrivedAt);
+        return TimeUnit.NANOSECONDS.toMicros(Math.max(0, arrivedAt - first));
+    }
+
+    public String summary(LoadSettings settings, Duration elapsed) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Load run: %d connections, %d bets/s for %d s (elapsed %d s)%n",
+                settings.getConnections(), settings.getBetRate(), settings.getDuration(), elapsed.toSeconds()));
+        String server = settings.getUrl() == null
+                ? settings.getTransport() + " transport, in-process, JVM shared with the clients"
+                : settings.getUrl();
+        if (serverThreads < 0 || serverHeap < 0) {
+            summary.append(String.format("Server (%s): /actuator/metrics unavailable%n", server));
+        } else {
+            summary.append(String.format("Server (%s): %d live threads, %d MB heap used at peak connections%n",
+                    server, serverThreads, serverHeap >> 20));
+        }
+        summary.append(String.format("Connections: %d opened, %d failed%n", connected.sum(), connectFailed.sum()));
+        summary.append(String.format("Bets: %d sent, %d acknowledged, %d unanswered%n",
+                betsSent.sum(), betAck.getTotalCount(), betsUnanswered.sum()));
+        summary.append("Errors:");
+        errors.forEach((code, count) -> summary.append(' ').append(code.name().toLowerCase()).append('=').append(count.sum()));
+        summary.append(System.lineSeparator()).append("Disconnects:");
+        disconnects.forEach((kind, count) -> summary.append(' ').append(kind.name().toLowerCase()).append('=').append(count.sum()));
+        summary.append(System.lineSeparator()).append(System.lineSeparator());
+        summary.append(String.format("%-14s %10s %10s %10s %10s %10s %10s%n",
+                "latency (ms)", "count", "p50", "p90", "p99", "p99.9", "max"));
+        appendLatency(summary, "bet ack", betAck);
+        appendLatency(summary, "round result", roundResult);
+        appendLatency(summary, "winners list", winnersList);
+        return summary.toString();
+    }
+
+    private static void appendLatency(StringBuilder summary, String name, Histogram histogram) {
+        summary.append(String.format("%-14s %10d %10.2f %10.2f %10.2f %10.2f %10.2f%n", name,
+                histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.company.testtask.load;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+@Getter
+public class LoadSettings {
+
+    private final String url = System.getProperty("load.url");
+
+    private final String transport = System.getProperty("load.transport", "servlet");
+
+    private final int connections = Integer.getInteger("load.connections", 2000);
+
+    private final int betRate = Integer.getInteger("load.bet-rate", 2000);
+
+    private final int duration = Integer.getInteger("load.duration", 60);
+
+    private final int handshakeConcurrency = Integer.getInteger("load.handshake-concurrency", 200);
+
+    private final double slowFraction = Double.parseDouble(System.getProperty("load.slow-fraction", "0.01"));
+
+    private final double malformedFraction = Double.parseDouble(System.getProperty("load.malformed-fraction", "0.01"));
+
+    private final double floodingFraction = Double.parseDouble(System.getProperty("load.flooding-fraction", "0.01"));
+
+    private final long slowReadDelay = Long.getLong("load.slow-read-delay", 3000);
+
+    private final int floodBurst = Integer.getInteger("load.flood-burst", 100);
+
+    private final Path report = Path.of(System.getProperty("load.report", "load-report.txt"));
+
+    public ClientKind kindOf(int index) {
+        double position = (double) index / connections;
+        if (position < slowFraction) {
+            return ClientKind.SLOW;
+        }
+        if (position < slowFraction + malformedFraction) {
+            return ClientKind.MALFORMED;
+        }
+        if (position < slowFraction + malformedFraction + floodingFraction) {
+            return ClientKind.FLOODING;
+        }
+        return ClientKind.NORMAL;
+    }
+}
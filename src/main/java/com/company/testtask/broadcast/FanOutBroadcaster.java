@@ -0,0 +1,323 @@
+package com.company.testtask.broadcast;
+
+import com.company.testtask.config.BroadcastProperties;
+import com.company.testtask.config.ExecutionMode;
+import com.company.testtask.config.ExecutionProperties;
+import com.company.testtask.protocol.PooledFrame;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.NativeWebSocketSession;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.FAILED_CLOSING_SESSION;
+import static com.company.testtask.constant.Constants.FAILED_SENDING_MESSAGE;
+import static com.company.testtask.constant.Constants.SLOW_CONSUMER_MESSAGE;
+
+@Slf4j
+@Component
+public class FanOutBroadcaster {
+
+    private static final int DRAIN_BATCH = 16;
+
+    private static final String BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final Map<String, SessionOutbound> outbounds = new ConcurrentHashMap<>();
+
+    private final BroadcastProperties properties;
+
+    private final ExecutorService workers;
+
+    private final Timer lastDeliveryTimer;
+
+    private final Counter droppedCounter;
+
+    private final Counter disconnectedCounter;
+
+    private final Counter sendFailedCounter;
+
+    public FanOutBroadcaster(BroadcastProperties properties, ExecutionProperties execution,
+                             MeterRegistry meterRegistry) {
+        this.properties = properties;
+        ExecutionMode mode = execution.getMode();
+        this.workers = mode == ExecutionMode.VIRTUAL
+                ? Executors.newThreadPerTaskExecutor(mode.threadFactory("broadcast-"))
+                : Executors.newFixedThreadPool(properties.getWorkers(), mode.threadFactory("broadcast-"));
+        this.lastDeliveryTimer = Timer.builder("game.broadcast.last.delivery")
+                .description("Time from round broadcast start to the last delivered message")
+                .register(meterRegistry);
+        this.droppedCounter = meterRegistry.counter("game.broadcast.dropped");
+        this.disconnectedCounter = meterRegistry.counter("game.broadcast.disconnected");
+        this.sendFailedCounter = meterRegistry.counter("game.broadcast.send.failed");
+        Gauge.builder("game.broadcast.sessions", outbounds, Map::size).register(meterRegistry);
+        Gauge.builder("game.broadcast.queue.depth", outbounds, FanOutBroadcaster::queueDepth).register(meterRegistry);
+    }
+
+    public void register(WebSocketSession session) {
+        applySendTimeout(session, properties.getSendTimeLimit());
+        outbounds.put(session.getId(), new SessionOutbound(session, properties.getQueueCapacity()));
+    }
+
+    /**
+     * Bounds blocking writes on Tomcat sessions by the send time limit. A write that runs into it
+     * fails instead of holding the worker, and the session is then handled as a slow consumer.
+     */
+    public static void applySendTimeout(WebSocketSession session, long sendTimeLimit) {
+        if (session instanceof NativeWebSocketSession nativeSession) {
+            Session endpoint = nativeSession.getNativeSession(Session.class);
+            if (endpoint != null) {
+                endpoint.getUserProperties().put(BLOCKING_SEND_TIMEOUT, sendTimeLimit);
+            }
+        }
+    }
+
+    public void unregister(WebSocketSession session) {
+        SessionOutbound outbound = outbounds.remove(session.getId());
+        if (outbound != null) {
+            outbound.close();
+            discardQueued(outbound);
+        }
+    }
+
+    public RoundDelivery startRound(long roundId) {
+        return startRound(roundId, null);
+    }
+
+    public RoundDelivery startRound(long roundId, Runnable onDelivered) {
+        return new RoundDelivery(roundId, delivery -> {
+            lastDeliveryTimer.record(delivery.getDurationNanos(), TimeUnit.NANOSECONDS);
+            log.debug("Round {} delivered in {} ms", delivery.getRoundId(),
+                    TimeUnit.NANOSECONDS.toMillis(delivery.getDurationNanos()));
+            if (onDelivered != null) {
+                onDelivered.run();
+            }
+        });
+    }
+
+    public void send(WebSocketSession session, WebSocketMessage<?> message) {
+        send(session, message, null);
+    }
+
+    public void send(WebSocketSession session, WebSocketMessage<?> message, RoundDelivery delivery) {
+        SessionOutbound outbound = outbounds.get(session.getId());
+        if (outbound == null || outbound.isClosed()) {
+            return;
+        }
+        if (delivery != null) {
+            delivery.add();
+        }
+        dispatch(outbound, new OutboundMessage(message, delivery));
+    }
+
+    /**
+     * Sends a pooled frame, which is released once it has been written or discarded.
+     */
+    public void send(WebSocketSession session, PooledFrame frame, RoundDelivery delivery) {
+        SessionOutbound outbound = outbounds.get(session.getId());
+        if (outbound == null || outbound.isClosed()) {
+            frame.release();
+            return;
+        }
+        if (delivery != null) {
+            delivery.add();
+        }
+        dispatch(outbound, new OutboundMessage(frame.getMessage(), delivery, frame));
+    }
+
+    /**
+     * Sends a ping through the session's queue like any other message. If the overflow or slow
+     * consumer policy drops it instead, {@code onDropped} runs, so the caller knows no pong is due.
+     */
+    public void sendPing(WebSocketSession session, Runnable onDropped) {
+        SessionOutbound outbound = outbounds.get(session.getId());
+        if (outbound == null || outbound.isClosed()) {
+            onDropped.run();
+            return;
+        }
+        dispatch(outbound, new OutboundMessage(new PingMessage(), onDropped));
+    }
+
+    private void dispatch(SessionOutbound outbound, OutboundMessage message) {
+        if (outbound.getSession() instanceof NonBlockingSession) {
+            deliverNow(outbound, message);
+            return;
+        }
+        enqueue(outbound, message);
+        schedule(outbound);
+    }
+
+    /**
+     * Writes to a session that buffers outbound messages itself. A full buffer is an overflow of that
+     * session, so it is handled by the overflow policy; there is no queue here to drop from.
+     */
+    private void deliverNow(SessionOutbound outbound, OutboundMessage message) {
+        WebSocketSession session = outbound.getSession();
+        try {
+            if (session.isOpen()) {
+                session.sendMessage(message.getMessage());
+            }
+            message.done();
+        } catch (IOException e) {
+            discard(message);
+            if (properties.getOverflowPolicy() == SlowConsumerPolicy.DISCONNECT) {
+                disconnect(outbound);
+            }
+        } catch (IllegalStateException e) {
+            sendFailedCounter.increment();
+            log.error(FAILED_SENDING_MESSAGE, session.getId(), e);
+            message.done();
+        }
+    }
+
+    private void enqueue(SessionOutbound outbound, OutboundMessage message) {
+        if (outbound.offer(message)) {
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case DROP -> discard(message);
+            case DROP_OLDEST -> dropOldest(outbound, message);
+            case COALESCE -> {
+                outbound.coalesce(Math.max(message.getRoundId(), outbound.latestRoundId()), this::discard);
+                if (!outbound.offer(message)) {
+                    dropOldest(outbound, message);
+                }
+            }
+            case DISCONNECT -> {
+                discard(message);
+                disconnect(outbound);
+            }
+        }
+    }
+
+    private void dropOldest(SessionOutbound outbound, OutboundMessage message) {
+        OutboundMessage stale = outbound.poll();
+        if (stale != null) {
+            discard(stale);
+        }
+        if (!outbound.offer(message)) {
+            discard(message);
+        }
+    }
+
+    private void schedule(SessionOutbound outbound) {
+        if (!outbound.isEmpty() && outbound.trySchedule()) {
+            workers.execute(() -> drain(outbound));
+        }
+    }
+
+    private void drain(SessionOutbound outbound) {
+        try {
+            OutboundMessage message;
+            int sent = 0;
+            while (sent < DRAIN_BATCH && !outbound.isClosed() && (message = outbound.poll()) != null) {
+                deliver(outbound, message);
+                sent++;
+            }
+        } finally {
+            outbound.release();
+            if (outbound.isClosed()) {
+                discardQueued(outbound);
+            } else {
+                schedule(outbound);
+            }
+        }
+    }
+
+    private void deliver(SessionOutbound outbound, OutboundMessage message) {
+        WebSocketSession session = outbound.getSession();
+        long startedAt = System.nanoTime();
+        try {
+            if (session.isOpen()) {
+                session.sendMessage(message.getMessage());
+            }
+        } catch (IOException | IllegalStateException e) {
+            sendFailedCounter.increment();
+            log.error(FAILED_SENDING_MESSAGE, session.getId(), e);
+        } finally {
+            message.done();
+        }
+
+        if (TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) >= properties.getSendTimeLimit()) {
+            onSlowConsumer(outbound);
+        }
+    }
+
+    private void onSlowConsumer(SessionOutbound outbound) {
+        log.warn(SLOW_CONSUMER_MESSAGE, outbound.getSession().getId(), properties.getSlowConsumerPolicy());
+        switch (properties.getSlowConsumerPolicy()) {
+            case DROP -> discardQueued(outbound);
+            case DROP_OLDEST -> {
+                while (outbound.size() > 1) {
+                    OutboundMessage stale = outbound.poll();
+                    if (stale != null) {
+                        discard(stale);
+                    }
+                }
+            }
+            case COALESCE -> outbound.coalesce(outbound.latestRoundId(), this::discard);
+            case DISCONNECT -> disconnect(outbound);
+        }
+    }
+
+    private void disconnect(SessionOutbound outbound) {
+        if (!outbound.close()) {
+            return;
+        }
+        disconnectedCounter.increment();
+        discardQueued(outbound);
+        WebSocketSession session = outbound.getSession();
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException | IllegalStateException e) {
+            log.error(FAILED_CLOSING_SESSION, session.getId(), e);
+        }
+    }
+
+    private void discardQueued(SessionOutbound outbound) {
+        OutboundMessage message;
+        while ((message = outbound.poll()) != null) {
+            discard(message);
+        }
+    }
+
+    private static double queueDepth(Map<String, SessionOutbound> outbounds) {
+        long depth = 0;
+        for (SessionOutbound outbound : outbounds.values()) {
+            depth += outbound.size();
+        }
+        return depth;
+    }
+
+    private void discard(OutboundMessage message) {
+        droppedCounter.increment();
+        message.dropped();
+    }
+
+    @PreDestroy
+    public void shutdownWorkers() {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.testtask.broadcast;
+
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * A session whose {@code sendMessage} hands the message to its own bounded transport buffer and
+ * throws {@link java.io.IOException} instead of blocking when that buffer is full. The broadcaster
+ * writes to such sessions on the calling thread rather than queueing them a second time.
+ */
+public interface NonBlockingSession extends WebSocketSession {
+}
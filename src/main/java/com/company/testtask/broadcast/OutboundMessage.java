@@ -0,0 +1,65 @@
+package com.company.testtask.broadcast;
+
+import com.company.testtask.protocol.PooledFrame;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+class OutboundMessage {
+
+    static final long NO_ROUND = -1;
+
+    private final WebSocketMessage<?> message;
+
+    private final RoundDelivery delivery;
+
+    private final PooledFrame frame;
+
+    private final Runnable onDropped;
+
+    OutboundMessage(WebSocketMessage<?> message, RoundDelivery delivery) {
+        this(message, delivery, null, null);
+    }
+
+    OutboundMessage(WebSocketMessage<?> message, RoundDelivery delivery, PooledFrame frame) {
+        this(message, delivery, frame, null);
+    }
+
+    OutboundMessage(WebSocketMessage<?> message, Runnable onDropped) {
+        this(message, null, null, onDropped);
+    }
+
+    private OutboundMessage(WebSocketMessage<?> message, RoundDelivery delivery, PooledFrame frame,
+                            Runnable onDropped) {
+        this.message = message;
+        this.delivery = delivery;
+        this.frame = frame;
+        this.onDropped = onDropped;
+    }
+
+    WebSocketMessage<?> getMessage() {
+        if (frame == null && message instanceof BinaryMessage binaryMessage) {
+            return new BinaryMessage(binaryMessage.getPayload().duplicate(), binaryMessage.isLast());
+        }
+        return message;
+    }
+
+    long getRoundId() {
+        return delivery != null ? delivery.getRoundId() : NO_ROUND;
+    }
+
+    void dropped() {
+        if (onDropped != null) {
+            onDropped.run();
+        }
+        done();
+    }
+
+    void done() {
+        if (frame != null) {
+            frame.release();
+        }
+        if (delivery != null) {
+            delivery.done();
+        }
+    }
+}
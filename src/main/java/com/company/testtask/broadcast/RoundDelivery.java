@@ -0,0 +1,48 @@
+package com.company.testtask.broadcast;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class RoundDelivery {
+
+    @Getter
+    private final long roundId;
+
+    private final long startedAt = System.nanoTime();
+
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    private final Consumer<RoundDelivery> onComplete;
+
+    private volatile long completedAt;
+
+    RoundDelivery(long roundId, Consumer<RoundDelivery> onComplete) {
+        this.roundId = roundId;
+        this.onComplete = onComplete;
+    }
+
+    void add() {
+        pending.incrementAndGet();
+    }
+
+    void done() {
+        if (pending.decrementAndGet() == 0) {
+            completedAt = System.nanoTime();
+            onComplete.accept(this);
+        }
+    }
+
+    public void seal() {
+        done();
+    }
+
+    public boolean isCompleted() {
+        return completedAt != 0;
+    }
+
+    public long getDurationNanos() {
+        return completedAt - startedAt;
+    }
+}
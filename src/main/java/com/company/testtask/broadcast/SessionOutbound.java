@@ -0,0 +1,79 @@
+package com.company.testtask.broadcast;
+
+import lombok.Getter;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+class SessionOutbound {
+
+    @Getter
+    private final WebSocketSession session;
+
+    private final BlockingQueue<OutboundMessage> queue;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    SessionOutbound(WebSocketSession session, int capacity) {
+        this.session = session;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    boolean offer(OutboundMessage message) {
+        return queue.offer(message);
+    }
+
+    OutboundMessage poll() {
+        return queue.poll();
+    }
+
+    long latestRoundId() {
+        long roundId = OutboundMessage.NO_ROUND;
+        for (OutboundMessage message : queue) {
+            roundId = Math.max(roundId, message.getRoundId());
+        }
+        return roundId;
+    }
+
+    /**
+     * Removes the queued messages of rounds before {@code roundId} and hands them to {@code stale}.
+     * A message the drain takes first is left to it.
+     */
+    void coalesce(long roundId, Consumer<OutboundMessage> stale) {
+        for (OutboundMessage message : queue) {
+            if (message.getRoundId() != OutboundMessage.NO_ROUND && message.getRoundId() < roundId
+                    && queue.remove(message)) {
+                stale.accept(message);
+            }
+        }
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    boolean trySchedule() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void release() {
+        scheduled.set(false);
+    }
+
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+}
@@ -0,0 +1,16 @@
+package com.company.testtask.broadcast;
+
+public enum SlowConsumerPolicy {
+    DROP,
+    /**
+     * Drops the oldest queued messages to make room; nothing is merged.
+     */
+    DROP_OLDEST,
+    /**
+     * Collapses queued round messages to the latest round, so a lagging session skips the results it
+     * can no longer use. Messages outside a round are kept. On overflow, if that frees nothing, the
+     * oldest message makes room.
+     */
+    COALESCE,
+    DISCONNECT
+}
@@ -0,0 +1,33 @@
+package com.company.testtask.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.aggregators")
+public class AggregatorProperties {
+
+    /**
+     * Bearer tokens by aggregator id. An aggregator that presents its token on the handshake may
+     * submit bulk bet frames for its sub-accounts.
+     */
+    private Map<String, String> tokens = new HashMap<>();
+
+    private int maxBatch = 10000;
+
+    /**
+     * Sub-accounts tracked per aggregator connection; bets for further accounts are rejected until
+     * idle ones are evicted.
+     */
+    private int maxSubAccounts = 100000;
+
+    /**
+     * Rounds without a bet after which a sub-account's player is dropped at settlement.
+     */
+    private int subAccountIdleRounds = 10;
+}
@@ -0,0 +1,26 @@
+package com.company.testtask.config;
+
+import com.company.testtask.broadcast.SlowConsumerPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.broadcast")
+public class BroadcastProperties {
+
+    private int queueCapacity = 64;
+
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Milliseconds a single blocking send may take. Servlet sessions get it as their transport
+     * send timeout, so a stalled client holds a broadcast worker for at most this long.
+     */
+    private long sendTimeLimit = 2000;
+
+    private SlowConsumerPolicy overflowPolicy = SlowConsumerPolicy.COALESCE;
+
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DISCONNECT;
+}
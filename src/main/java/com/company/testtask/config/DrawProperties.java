@@ -0,0 +1,16 @@
+package com.company.testtask.config;
+
+import com.company.testtask.draw.DrawMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.draw")
+public class DrawProperties {
+
+    private DrawMode mode = DrawMode.FAST;
+
+    private long seed;
+}
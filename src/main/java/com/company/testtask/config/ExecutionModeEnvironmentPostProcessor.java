@@ -0,0 +1,30 @@
+package com.company.testtask.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Maps {@code game.execution.mode=virtual} onto {@code spring.threads.virtual.enabled}, so the web
+ * server and Spring's own executors run on virtual threads the way Boot configures and shuts them
+ * down. An explicit {@code spring.threads.virtual.enabled} wins.
+ */
+public class ExecutionModeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String VIRTUAL_THREADS = "spring.threads.virtual.enabled";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        ExecutionMode mode = Binder.get(environment)
+                .bind("game.execution.mode", ExecutionMode.class)
+                .orElse(ExecutionMode.PLATFORM);
+        if (mode == ExecutionMode.VIRTUAL && !environment.containsProperty(VIRTUAL_THREADS)) {
+            environment.getPropertySources()
+                    .addLast(new MapPropertySource("gameExecutionMode", Map.of(VIRTUAL_THREADS, true)));
+        }
+    }
+}
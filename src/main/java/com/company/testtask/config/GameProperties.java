@@ -0,0 +1,19 @@
+package com.company.testtask.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game")
+public class GameProperties {
+
+    private int winnersLimit = 100;
+
+    private int settlementParallelThreshold = 1 << 14;
+
+    private boolean summaryMode;
+
+    private int summaryTop = 10;
+}
@@ -0,0 +1,18 @@
+package com.company.testtask.config;
+
+import com.company.testtask.journal.Journal;
+import com.company.testtask.journal.MappedJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class JournalConfig {
+
+    @Bean
+    public Journal journal(JournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        return properties.isEnabled() ? new MappedJournal(properties, meterRegistry) : Journal.NOOP;
+    }
+}
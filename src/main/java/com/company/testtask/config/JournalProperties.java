@@ -0,0 +1,35 @@
+package com.company.testtask.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.journal")
+public class JournalProperties {
+
+    /**
+     * Off unless asked for: an enabled journal preallocates {@code segmentSize} bytes under
+     * {@code directory} as soon as the application starts.
+     */
+    private boolean enabled = false;
+
+    private String directory = "journal";
+
+    private int segmentSize = 64 * 1024 * 1024;
+
+    private long flushInterval = 50;
+
+    private int snapshotInterval = 10;
+
+    private long checkpointInterval = 1000;
+
+    private int queueCapacity = 65536;
+
+    /**
+     * Milliseconds a round boundary waits for room in a full queue before it fails. Bets never wait:
+     * one that does not fit is rejected.
+     */
+    private long appendTimeout = 1000;
+}
@@ -0,0 +1,22 @@
+package com.company.testtask.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.leaderboard")
+public class LeaderboardProperties {
+
+    /**
+     * Entries kept per board. Past it the lowest-ranked entry is evicted.
+     */
+    private int limit = 10000;
+
+    /**
+     * Settled rounds waiting for the updater. Once it is full, the round is applied on the thread
+     * that settled it.
+     */
+    private int queueCapacity = 1024;
+}
@@ -0,0 +1,20 @@
+package com.company.testtask.config;
+
+import com.company.testtask.service.GameService;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.liveness")
+public class LivenessProperties {
+
+    private long tick = 100;
+
+    private int wheelSize = 512;
+
+    private long betDeadline = GameService.ROUND_DURATION;
+
+    private long pingInterval = 30000;
+}
@@ -1,15 +1,21 @@
 package com.company.testtask.config;
 
+import com.company.testtask.draw.DrawProvider;
+import com.company.testtask.draw.FastDrawProvider;
+import com.company.testtask.draw.SecureDrawProvider;
+import com.company.testtask.draw.SeededDrawProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Random;
-
 @Configuration
 public class RandomGeneratorConfig {
 
     @Bean
-    public Random random() {
-        return new Random();
+    public DrawProvider drawProvider(DrawProperties properties) {
+        return switch (properties.getMode()) {
+            case FAST -> new FastDrawProvider();
+            case SEEDED -> new SeededDrawProvider(properties.getSeed());
+            case SECURE -> new SecureDrawProvider();
+        };
     }
 }
@@ -0,0 +1,39 @@
+package com.company.testtask.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Off by default: the per-address budget would otherwise throttle every client behind a shared
+     * NAT or proxy. Enable it for public deployments and size the address budget to the audience.
+     */
+    private boolean enabled;
+
+    private int sessionRate = 20;
+
+    private int sessionBurst = 40;
+
+    private int addressRate = 200;
+
+    private int addressBurst = 400;
+
+    private int globalRate = 50000;
+
+    private int globalBurst = 100000;
+
+    private int maxRejections = 100;
+
+    /**
+     * Per-bet budget of an aggregator connection, charged for every bet of a bulk frame on top of
+     * the frame itself.
+     */
+    private int aggregatorBetRate = 10000;
+
+    private int aggregatorBetBurst = 20000;
+}
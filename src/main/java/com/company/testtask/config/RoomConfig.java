@@ -0,0 +1,26 @@
+package com.company.testtask.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+@Configuration
+public class RoomConfig {
+
+    /**
+     * Closing waits for in-flight rounds to finish, and the dependency on the journal makes that
+     * happen before the journal itself is closed.
+     */
+    @Bean(destroyMethod = "close")
+    @DependsOn("journal")
+    public ScheduledExecutorService roundScheduler(RoomProperties properties, ExecutionProperties execution) {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(properties.getRoundThreads(),
+                execution.getMode().threadFactory("round-loop-"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return scheduler;
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.testtask.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.rooms")
+public class RoomProperties {
+
+    private int roundThreads = Runtime.getRuntime().availableProcessors();
+
+    private int maxRooms = 10000;
+
+    private long evictionInterval = 60000;
+}
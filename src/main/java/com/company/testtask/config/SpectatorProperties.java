@@ -0,0 +1,28 @@
+package com.company.testtask.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "game.spectator")
+public class SpectatorProperties {
+
+    private int ringSize = 1024;
+
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Milliseconds a WebSocket spectator may take to accept a frame before it is dropped.
+     */
+    private long sendTimeLimit = 2000;
+
+    private int bufferSizeLimit = 64 * 1024;
+
+    /**
+     * Milliseconds an SSE stream stays open. The client then reconnects and resumes from its
+     * {@code Last-Event-ID}.
+     */
+    private long streamTimeout = 30 * 60 * 1000;
+}
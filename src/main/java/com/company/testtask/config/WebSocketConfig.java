@@ -1,22 +1,34 @@
 package com.company.testtask.config;
 
 import com.company.testtask.constant.Constants;
+import com.company.testtask.handler.AggregatorHandshakeInterceptor;
 import com.company.testtask.handler.CustomWebSocketHandler;
+import com.company.testtask.handler.SpectatorWebSocketHandler;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSocket
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final CustomWebSocketHandler customWebSocketHandler;
 
+    private final SpectatorWebSocketHandler spectatorWebSocketHandler;
+
+    private final AggregatorHandshakeInterceptor aggregatorHandshakeInterceptor;
+
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(customWebSocketHandler, Constants.GAME_PATH).setAllowedOrigins("*");
+        registry.addHandler(customWebSocketHandler, Constants.GAME_PATH, Constants.ROOM_PATH)
+                .addInterceptors(aggregatorHandshakeInterceptor)
+                .setAllowedOrigins("*");
+        registry.addHandler(spectatorWebSocketHandler, Constants.SPECTATE_PATH)
+                .setAllowedOrigins("*");
     }
 }
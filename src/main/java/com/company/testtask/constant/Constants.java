@@ -4,18 +4,74 @@ public class Constants {
 
     private Constants (){}
 
+    public static final int MIN_NUMBER = 1;
+    public static final int MAX_NUMBER = 10;
+    public static final int MIN_BET = 1;
+
     public static final String LOCALHOST = "ws://localhost:";
     public static final String GAME_PATH = "/game";
+    public static final String ROOM_PATH = "/game/*";
+    public static final String LEADERBOARD_PATH = "/leaderboards";
+    public static final String SPECTATE_PATH = "/spectate";
+    public static final String SPECTATE_EVENTS_PATH = "/spectate/events";
+    public static final String DEFAULT_ROOM = "default";
+    public static final String ROOM_NAME_PATTERN = "[A-Za-z0-9_-]{1,64}";
+    public static final String JSON_PROTOCOL = "betting-game.json";
+    public static final String BINARY_PROTOCOL = "betting-game.binary";
 
     public static final String WINNING_MESSAGE = "You won! Payout: ";
     public static final String LOSING_MESSAGE = "You lost.";
+    public static final String RANK_MESSAGE = " Rank: ";
+    public static final String WINNERS_REQUEST = "winners";
     public static final String WINNERS_LIST_MESSAGE = "Winners:\n";
+    public static final String TOTAL_WINNERS_MESSAGE = "Total winners: ";
     public static final String INVALID_PLAYER_NUMBER_MESSAGE = "Validation failed: number must be greater than or equal to 1; ";
     public static final String NICKNAME_ALREADY_TAKEN_MESSAGE = "Nickname is already taken";
     public static final String SESSION_REMOVED_MESSAGE = "Invalid player data. You have been removed from the game.";
     public static final String FAILED_SENDING_MESSAGE = "Failed sending message to session: {}";
+    public static final String FAILED_CLOSING_SESSION = "Failed closing session: {}";
+    public static final String SLOW_CONSUMER_MESSAGE = "Slow consumer detected on session {}, applying {}";
     public static final String VALIDATION_FAILED = "Validation failed: ";
+    public static final String NOT_NULL_MESSAGE = "must not be null";
+    public static final String MIN_VALUE_MESSAGE = "must be greater than or equal to ";
+    public static final String MAX_VALUE_MESSAGE = "must be less than or equal to ";
+    public static final String OUT_OF_BOUNDS_MESSAGE = "numeric value out of bounds (<%d digits>.<%d digits> expected)";
     public static final String PLAYER_NOT_FOUND = "Player not found";
+    public static final String MALFORMED_FRAME_MESSAGE = "Malformed frame";
+    public static final String ROOM_REJECTED_MESSAGE = "Room is not available";
+    public static final String UNAUTHORIZED_MESSAGE = "Bulk bets require an aggregator connection";
+    public static final String BATCH_MALFORMED_MESSAGE = "Malformed bulk frame or more than %d bets";
+    public static final String BATCH_FAILED = "Failed placing bulk bets for session {}, rejecting the rest";
+    public static final String AGGREGATOR_REJECTED = "Rejected aggregator handshake from {}";
+    public static final String OUTBOUND_REJECTED_MESSAGE = "Outbound message rejected: ";
+    public static final String REACTIVE_HANDLER_FAILED = "Failed handling message on reactive session {}";
+    public static final String RATE_LIMITED_MESSAGE = "Rate limit exceeded";
+    public static final String BET_UNAVAILABLE_MESSAGE = "Bet could not be recorded, try again";
+    public static final String RATE_LIMIT_DISCONNECT = "Session {} exceeded the inbound rate limit, disconnecting";
+    public static final String SPECTATOR_ENCODING_FAILED = "Failed encoding spectator event for round {}";
+    public static final String SPECTATOR_SEND_FAILED = "Dropping spectator: {}";
+    public static final String ROUND_SETTLEMENT_FAILED = "Failed settling round {}";
+    public static final String ROUND_LISTENER_FAILED = "Round listener failed for round {}";
+    public static final String LEADERBOARD_UPDATE_FAILED = "Failed updating leaderboards for round {}";
+    public static final String JOURNAL_WRITE_FAILED = "Failed writing journal record {}";
+    public static final String JOURNAL_RECOVERED = "Recovered {} rooms, replayed {} records in {} ms";
+    public static final String JOURNAL_TRUNCATED = "Journal segment {} is truncated at offset {}";
+    public static final String JOURNAL_ROUND_SETTLED = "Settled round {}/{} with {} bets locked before the restart";
+    public static final String JOURNAL_FULL_MESSAGE = "Journal backlog is full";
+    public static final String JOURNAL_CLOSED_MESSAGE = "Journal is closed";
+    public static final String JOURNAL_ROUND_UNJOURNALED = "Round {}/{} could not be journaled, settling it anyway: {}";
+    public static final String JOURNAL_CANCEL_DROPPED = "Cancel of {} in round {}/{} could not be journaled";
+
+    public static final String PROTOCOL_CODEC = "protocolCodec";
+    public static final String ROOM = "room";
+    public static final String RATE_LIMIT = "rateLimit";
+    public static final String LIVENESS = "liveness";
+    public static final String AGGREGATOR = "aggregator";
+    public static final String SUB_ACCOUNTS = "subAccounts";
+    public static final String SPECTATOR = "spectator";
+    public static final String ROUND_EVENT = "round";
+    public static final String BEARER_PREFIX = "Bearer ";
+    public static final char SUB_ACCOUNT_SEPARATOR = '/';
 
     public static final String TEST_PLAYER_NAME = "Player_";
     public static final String TEST_PLAYER_ID = "playerId";
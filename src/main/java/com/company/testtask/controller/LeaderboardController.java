@@ -0,0 +1,58 @@
+package com.company.testtask.controller;
+
+import com.company.testtask.leaderboard.Leaderboard;
+import com.company.testtask.leaderboard.LeaderboardEntry;
+import com.company.testtask.leaderboard.LeaderboardPage;
+import com.company.testtask.leaderboard.LeaderboardPeriod;
+import com.company.testtask.leaderboard.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static com.company.testtask.constant.Constants.DEFAULT_ROOM;
+import static com.company.testtask.constant.Constants.LEADERBOARD_PATH;
+
+@RestController
+@RequestMapping(LEADERBOARD_PATH)
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping("/{period}")
+    public ResponseEntity<LeaderboardPage> page(@PathVariable String period,
+                                                @RequestParam(defaultValue = DEFAULT_ROOM) String room,
+                                                @RequestParam(defaultValue = "0") int offset,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.of(period);
+        if (leaderboardPeriod == null || offset < 0 || limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        Leaderboard leaderboard = leaderboardService.get(room, leaderboardPeriod);
+        if (leaderboard == null) {
+            return ResponseEntity.ok(new LeaderboardPage(room, leaderboardPeriod, 0, offset, List.of()));
+        }
+        return ResponseEntity.ok(new LeaderboardPage(room, leaderboardPeriod, leaderboard.size(), offset,
+                leaderboard.page(offset, Math.min(limit, MAX_PAGE_SIZE))));
+    }
+
+    @GetMapping("/{period}/players/{nickname}")
+    public ResponseEntity<LeaderboardEntry> rank(@PathVariable String period, @PathVariable String nickname,
+                                                 @RequestParam(defaultValue = DEFAULT_ROOM) String room) {
+        LeaderboardPeriod leaderboardPeriod = LeaderboardPeriod.of(period);
+        if (leaderboardPeriod == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Leaderboard leaderboard = leaderboardService.get(room, leaderboardPeriod);
+        LeaderboardEntry entry = leaderboard != null ? leaderboard.rank(nickname) : null;
+        return entry != null ? ResponseEntity.ok(entry) : ResponseEntity.notFound().build();
+    }
+}
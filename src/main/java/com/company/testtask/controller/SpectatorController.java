@@ -0,0 +1,77 @@
+package com.company.testtask.controller;
+
+import com.company.testtask.config.SpectatorProperties;
+import com.company.testtask.spectator.Spectator;
+import com.company.testtask.spectator.SpectatorChannel;
+import com.company.testtask.spectator.SpectatorEvent;
+import com.company.testtask.spectator.SpectatorFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.company.testtask.constant.Constants.ROOM_NAME_PATTERN;
+import static com.company.testtask.constant.Constants.ROUND_EVENT;
+import static com.company.testtask.constant.Constants.SPECTATE_EVENTS_PATH;
+
+/**
+ * Server-sent events view of the {@link SpectatorFeed}. Events carry their ring sequence as the
+ * id, so a reconnecting client resumes from {@code Last-Event-ID}. The stream only pulls from the
+ * ring while the client has outstanding demand, and completes after the spectator stream timeout.
+ */
+@RestController
+@RequiredArgsConstructor
+public class SpectatorController {
+
+    private final SpectatorFeed feed;
+
+    private final SpectatorProperties properties;
+
+    @GetMapping(path = SPECTATE_EVENTS_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<String>>> events(
+            @RequestParam(required = false) String room,
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        if (room != null && !room.matches(ROOM_NAME_PATTERN)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(Flux.create(sink -> {
+            AtomicReference<Spectator> spectator = new AtomicReference<>();
+            sink.onDispose(() -> feed.unsubscribe(spectator.get()));
+            spectator.set(feed.subscribe(room, lastEventId, new SinkChannel(sink)));
+            sink.onRequest(demand -> feed.wake(spectator.get()));
+            if (sink.isCancelled()) {
+                feed.unsubscribe(spectator.get());
+            }
+        }, FluxSink.OverflowStrategy.ERROR).take(Duration.ofMillis(properties.getStreamTimeout())));
+    }
+
+    private record SinkChannel(FluxSink<ServerSentEvent<String>> sink) implements SpectatorChannel {
+
+        @Override
+        public boolean isReady() {
+            return sink.requestedFromDownstream() > 0;
+        }
+
+        @Override
+        public void send(SpectatorEvent event) {
+            sink.next(ServerSentEvent.builder(event.getJson())
+                    .id(event.getId())
+                    .event(ROUND_EVENT)
+                    .build());
+        }
+
+        @Override
+        public void close() {
+            sink.complete();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.company.testtask.draw;
+
+public enum DrawMode {
+    FAST,
+    SEEDED,
+    SECURE
+}
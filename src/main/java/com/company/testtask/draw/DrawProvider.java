@@ -0,0 +1,12 @@
+package com.company.testtask.draw;
+
+public interface DrawProvider {
+
+    int draw();
+
+    default void fill(byte[] draws, int from, int to) {
+        for (int i = from; i < to; i++) {
+            draws[i] = (byte) draw();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.company.testtask.draw;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.company.testtask.constant.Constants.MAX_NUMBER;
+import static com.company.testtask.constant.Constants.MIN_NUMBER;
+
+public class FastDrawProvider implements DrawProvider {
+
+    @Override
+    public int draw() {
+        return ThreadLocalRandom.current().nextInt(MIN_NUMBER, MAX_NUMBER + 1);
+    }
+
+    @Override
+    public void fill(byte[] draws, int from, int to) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = from; i < to; i++) {
+            draws[i] = (byte) random.nextInt(MIN_NUMBER, MAX_NUMBER + 1);
+        }
+    }
+}
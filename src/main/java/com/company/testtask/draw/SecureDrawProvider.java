@@ -0,0 +1,37 @@
+package com.company.testtask.draw;
+
+import java.security.SecureRandom;
+
+import static com.company.testtask.constant.Constants.MAX_NUMBER;
+import static com.company.testtask.constant.Constants.MIN_NUMBER;
+
+public class SecureDrawProvider implements DrawProvider {
+
+    private static final int RANGE = MAX_NUMBER - MIN_NUMBER + 1;
+
+    private static final int UNBIASED_LIMIT = 256 - 256 % RANGE;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Override
+    public int draw() {
+        return random.nextInt(RANGE) + MIN_NUMBER;
+    }
+
+    @Override
+    public void fill(byte[] draws, int from, int to) {
+        byte[] buffer = new byte[Math.min(BUFFER_SIZE, Math.max(1, to - from))];
+        int i = from;
+        while (i < to) {
+            random.nextBytes(buffer);
+            for (int j = 0; j < buffer.length && i < to; j++) {
+                int value = buffer[j] & 0xFF;
+                if (value < UNBIASED_LIMIT) {
+                    draws[i++] = (byte) (value % RANGE + MIN_NUMBER);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.company.testtask.draw;
+
+import java.util.SplittableRandom;
+
+import static com.company.testtask.constant.Constants.MAX_NUMBER;
+import static com.company.testtask.constant.Constants.MIN_NUMBER;
+
+public class SeededDrawProvider implements DrawProvider {
+
+    private final SplittableRandom random;
+
+    public SeededDrawProvider(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public synchronized int draw() {
+        return random.nextInt(MIN_NUMBER, MAX_NUMBER + 1);
+    }
+
+    @Override
+    public synchronized void fill(byte[] draws, int from, int to) {
+        for (int i = from; i < to; i++) {
+            draws[i] = (byte) random.nextInt(MIN_NUMBER, MAX_NUMBER + 1);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.testtask.exception;
+
+public class JournalUnavailableException extends RuntimeException {
+
+    public JournalUnavailableException(String message) {
+        super(message);
+    }
+}
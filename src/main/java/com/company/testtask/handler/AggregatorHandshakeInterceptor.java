@@ -0,0 +1,72 @@
+package com.company.testtask.handler;
+
+import com.company.testtask.config.AggregatorProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+import static com.company.testtask.constant.Constants.AGGREGATOR;
+import static com.company.testtask.constant.Constants.AGGREGATOR_REJECTED;
+import static com.company.testtask.constant.Constants.BEARER_PREFIX;
+
+/**
+ * Marks connections that present an aggregator's bearer token so they may submit bulk bets.
+ * Connections without an {@code Authorization} header are ordinary players; a header with an
+ * unknown token fails the handshake.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AggregatorHandshakeInterceptor implements HandshakeInterceptor {
+
+    private final AggregatorProperties properties;
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            return true;
+        }
+        String aggregator = authenticate(authorization);
+        if (aggregator == null) {
+            log.warn(AGGREGATOR_REJECTED, request.getRemoteAddress());
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        attributes.put(AGGREGATOR, aggregator);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+
+    /**
+     * Returns the id of the aggregator whose bearer token the header carries, or {@code null}.
+     */
+    public String authenticate(String authorization) {
+        if (!authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        byte[] presented = authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        String match = null;
+        for (Map.Entry<String, String> entry : properties.getTokens().entrySet()) {
+            if (MessageDigest.isEqual(presented, entry.getValue().getBytes(StandardCharsets.UTF_8))) {
+                match = entry.getKey();
+            }
+        }
+        return match;
+    }
+}
@@ -1,146 +1,454 @@
 package com.company.testtask.handler;
 
-import com.company.testtask.exception.NicknameIsTakenException;
-import com.company.testtask.exception.PlayerNotFoundException;
+import com.company.testtask.broadcast.FanOutBroadcaster;
+import com.company.testtask.broadcast.RoundDelivery;
+import com.company.testtask.config.AggregatorProperties;
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.liveness.SessionLiveness;
+import com.company.testtask.liveness.SessionReaper;
+import com.company.testtask.metrics.GameMetrics;
+import com.company.testtask.model.BetBatch;
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.BetStatus;
 import com.company.testtask.model.Player;
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.model.WinnersList;
+import com.company.testtask.protocol.BetValidator;
+import com.company.testtask.protocol.BinaryFrames;
+import com.company.testtask.protocol.BinaryProtocolCodec;
+import com.company.testtask.protocol.ErrorCode;
+import com.company.testtask.protocol.JsonBetParser;
+import com.company.testtask.protocol.PooledFrame;
+import com.company.testtask.protocol.ProtocolCodec;
+import com.company.testtask.protocol.TextProtocolCodec;
+import com.company.testtask.ratelimit.Admission;
+import com.company.testtask.ratelimit.InboundRateLimiter;
+import com.company.testtask.room.GameRoom;
+import com.company.testtask.room.RoomManager;
 import com.company.testtask.service.GameService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PreDestroy;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.ConstraintViolationException;
-import jakarta.validation.Validator;
+import com.company.testtask.service.RoundListener;
+import com.company.testtask.service.RoundListeners;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
+import static com.company.testtask.constant.Constants.AGGREGATOR;
+import static com.company.testtask.constant.Constants.BATCH_FAILED;
+import static com.company.testtask.constant.Constants.BATCH_MALFORMED_MESSAGE;
+import static com.company.testtask.constant.Constants.BET_UNAVAILABLE_MESSAGE;
+import static com.company.testtask.constant.Constants.BINARY_PROTOCOL;
+import static com.company.testtask.constant.Constants.FAILED_CLOSING_SESSION;
+import static com.company.testtask.constant.Constants.JSON_PROTOCOL;
+import static com.company.testtask.constant.Constants.MALFORMED_FRAME_MESSAGE;
+import static com.company.testtask.constant.Constants.NICKNAME_ALREADY_TAKEN_MESSAGE;
+import static com.company.testtask.constant.Constants.PLAYER_NOT_FOUND;
+import static com.company.testtask.constant.Constants.PROTOCOL_CODEC;
+import static com.company.testtask.constant.Constants.RATE_LIMITED_MESSAGE;
+import static com.company.testtask.constant.Constants.RATE_LIMIT_DISCONNECT;
+import static com.company.testtask.constant.Constants.ROOM;
+import static com.company.testtask.constant.Constants.ROOM_REJECTED_MESSAGE;
 import static com.company.testtask.constant.Constants.SESSION_REMOVED_MESSAGE;
-import static com.company.testtask.constant.Constants.FAILED_SENDING_MESSAGE;
-import static com.company.testtask.constant.Constants.VALIDATION_FAILED;
+import static com.company.testtask.constant.Constants.SUB_ACCOUNTS;
+import static com.company.testtask.constant.Constants.UNAUTHORIZED_MESSAGE;
+import static com.company.testtask.constant.Constants.WINNERS_REQUEST;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class CustomWebSocketHandler extends TextWebSocketHandler {
+public class CustomWebSocketHandler extends AbstractWebSocketHandler
+        implements SubProtocolCapable, RoundListener, SessionReaper {
 
-    private final Set<WebSocketSession> sessions = new HashSet<>();
+    private final RoomManager roomManager;
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    private final RoundListeners roundListeners;
 
-    private final GameService gameService;
+    private final FanOutBroadcaster broadcaster;
 
-    private final Validator validator;
+    private final InboundRateLimiter rateLimiter;
 
+    private final GameMetrics metrics;
+
+    private final GameProperties gameProperties;
+
+    private final SessionLiveness liveness;
+
+    private final AggregatorProperties aggregatorProperties;
+
+    @PostConstruct
+    public void registerRoundListener() {
+        roundListeners.add(this);
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(BINARY_PROTOCOL, JSON_PROTOCOL);
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        sessions.add(session);
-        gameService.registerPlayer(session.getId(), new Player());
-        startRound();
+        rateLimiter.register(session);
+        session.getAttributes().put(PROTOCOL_CODEC, BINARY_PROTOCOL.equals(session.getAcceptedProtocol())
+                ? BinaryProtocolCodec.INSTANCE
+                : TextProtocolCodec.INSTANCE);
+        GameRoom room = roomManager.join(RoomManager.roomName(session.getUri()), session);
+        if (room == null) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(ROOM_REJECTED_MESSAGE));
+            return;
+        }
+        session.getAttributes().put(ROOM, room);
+        String aggregator = aggregator(session);
+        if (aggregator != null) {
+            session.getAttributes().put(SUB_ACCOUNTS, new SubAccounts(aggregator, session.getId()));
+        }
+        broadcaster.register(session);
+        room.getGameService().registerPlayer(session.getId(), new Player());
+        liveness.register(session, this);
     }
 
     @Override
-    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        ObjectMapper mapper = new ObjectMapper();
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        if (!admit(session)) {
+            return;
+        }
+        liveness.onActivity(session);
+        if (WINNERS_REQUEST.equals(message.getPayload())) {
+            sendWinners(session);
+            return;
+        }
+        BetRequest bet = new BetRequest();
+        if (!JsonBetParser.parse(message.getPayload(), bet)) {
+            rejectBet(session, ErrorCode.MALFORMED_FRAME, MALFORMED_FRAME_MESSAGE);
+            return;
+        }
+        placeBet(session, bet);
+    }
 
-        try {
-            Player player = mapper.readValue(message.getPayload(), Player.class);
-            validatePlayer(player);
-            gameService.addPlayerData(session.getId(), player);
-        } catch (ConstraintViolationException e) {
-            sendValidationErrorMessage(session, e);
-        } catch (PlayerNotFoundException | NicknameIsTakenException e) {
-            sendMessage(session, e.getMessage());
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        if (!admit(session)) {
+            return;
         }
+        liveness.onActivity(session);
+        if (BinaryFrames.isWinnersRequest(message.getPayload())) {
+            sendWinners(session);
+            return;
+        }
+        if (BinaryFrames.isBulkBet(message.getPayload())) {
+            placeBatch(session, message);
+            return;
+        }
+        BetRequest bet = new BetRequest();
+        if (!BinaryFrames.decodeBet(message.getPayload(), bet)) {
+            rejectBet(session, ErrorCode.MALFORMED_FRAME, MALFORMED_FRAME_MESSAGE);
+            return;
+        }
+        placeBet(session, bet);
     }
 
     @Override
-    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        sessions.remove(session);
-        gameService.removePlayer(session.getId());
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        liveness.onActivity(session);
     }
 
-    private void startRound() {
-        scheduler.schedule(this::endRound, GameService.ROUND_DURATION, TimeUnit.MILLISECONDS);
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        liveness.unregister(session);
+        broadcaster.unregister(session);
+        rateLimiter.unregister(session);
+        GameRoom room = room(session);
+        if (room != null) {
+            room.getSessions().remove(session);
+            room.getGameService().removePlayer(session.getId());
+            SubAccounts subAccounts = subAccounts(session);
+            if (subAccounts != null) {
+                List<String> playerIds;
+                synchronized (subAccounts) {
+                    playerIds = subAccounts.playerIds();
+                }
+                playerIds.forEach(room.getGameService()::removePlayer);
+            }
+        }
     }
 
-    private void endRound() {
-        removePlayerSessionWithInvalidData();
-        sessions.forEach(session -> {
-            String playerId = session.getId();
-            String resultMessage = gameService.endRound(playerId);
-            sendMessage(session, resultMessage);
+    @Override
+    public void onRoundSettled(RoundResult result) {
+        GameRoom room = roomManager.get(result.getRound().getRoom());
+        if (room == null) {
+            return;
+        }
+        long roundId = result.getRound().getId();
+        RoundDelivery delivery = broadcaster.startRound(roundId, () -> metrics.roundDelivered(result.getRound()));
+        boolean summary = gameProperties.isSummaryMode();
+        WinnersList winners = summary
+                ? result.getWinnersList().top(gameProperties.getSummaryTop())
+                : result.getWinnersList();
+        Map<ProtocolCodec, WebSocketMessage<?>> winnersFrames = new HashMap<>();
+        Map<ProtocolCodec, WebSocketMessage<?>> lostFrames = new HashMap<>();
+        room.getSessions().forEach(session -> {
+            ProtocolCodec codec = codec(session);
+            PlayerResult playerResult = summary
+                    ? result.getRankedResult(session.getId())
+                    : result.getPlayerResult(session.getId());
+            if (playerResult != null && !playerResult.isWon()) {
+                WebSocketMessage<?> lostFrame = lostFrames.get(codec);
+                if (lostFrame == null) {
+                    lostFrame = codec.encodeResult(roundId, playerResult);
+                    lostFrames.put(codec, lostFrame);
+                }
+                broadcaster.send(session, lostFrame, delivery);
+            } else if (playerResult != null) {
+                sendResult(session, codec, roundId, playerResult, delivery);
+            }
+            WebSocketMessage<?> winnersFrame = winnersFrames.get(codec);
+            if (winnersFrame == null) {
+                winnersFrame = codec.encodeWinners(winners);
+                winnersFrames.put(codec, winnersFrame);
+            }
+            broadcaster.send(session, winnersFrame, delivery);
+            SubAccounts subAccounts = subAccounts(session);
+            if (subAccounts != null) {
+                sendBulkSettled(session, subAccounts, room.getGameService(), result, delivery);
+            }
         });
+        delivery.seal();
+    }
 
-        String winnersList = gameService.getWinnersList();
-        sessions.forEach(session -> sendMessage(session, winnersList));
+    private void sendResult(WebSocketSession session, ProtocolCodec codec, long roundId, PlayerResult playerResult,
+                            RoundDelivery delivery) {
+        PooledFrame frame = codec.encodePooledResult(roundId, playerResult);
+        if (frame != null) {
+            broadcaster.send(session, frame, delivery);
+        } else {
+            broadcaster.send(session, codec.encodeResult(roundId, playerResult), delivery);
+        }
     }
 
-    private void removePlayerSessionWithInvalidData() {
-        Set<WebSocketSession> invalidSessions = sessions.stream()
-                .filter(session -> {
-                    Player player = gameService.getPlayer(session.getId());
-                    boolean isValid = player != null && player.getNickname() != null && player.getBet() != null;
-                    if (!isValid) {
-                        sendMessage(session, SESSION_REMOVED_MESSAGE);
-                        return true;
-                    }
-                    return false;
-                }).collect(Collectors.toSet());
+    private boolean admit(WebSocketSession session) {
+        return admit(session, rateLimiter.admit(session));
+    }
 
-        sessions.removeAll(invalidSessions);
+    private boolean admit(WebSocketSession session, Admission admission) {
+        if (admission == Admission.DISCONNECT) {
+            log.warn(RATE_LIMIT_DISCONNECT, session.getId());
+            try {
+                session.close(CloseStatus.POLICY_VIOLATION.withReason(RATE_LIMITED_MESSAGE));
+            } catch (IOException e) {
+                log.error(FAILED_CLOSING_SESSION, session.getId(), e);
+            }
+        }
+        return admission == Admission.ACCEPTED;
+    }
 
-        invalidSessions.stream()
-                .map(WebSocketSession::getId)
-                .forEach(gameService::removePlayer);
+    private void sendWinners(WebSocketSession session) {
+        GameRoom room = room(session);
+        if (room != null) {
+            broadcaster.send(session, codec(session).encodeWinners(room.getGameService().getLastWinners()));
+        }
     }
 
-    private void sendMessage(WebSocketSession session, String message) {
-        try {
-            session.sendMessage(new TextMessage(message));
-        } catch (IOException e) {
-            log.error(FAILED_SENDING_MESSAGE, session.getId(), e);
+    private void placeBet(WebSocketSession session, BetRequest bet) {
+        GameRoom room = room(session);
+        if (room == null) {
+            return;
+        }
+        String violation = BetValidator.validate(bet);
+        if (violation != null) {
+            rejectBet(session, ErrorCode.VALIDATION_FAILED, violation, bet.getBetId());
+            return;
+        }
+
+        BetStatus status = room.getGameService().placeBet(session.getId(), bet.getNickname(), bet.getNumber(), bet.getBet());
+        if (status == BetStatus.ACCEPTED) {
+            metrics.betAccepted();
+            WebSocketMessage<?> ack = codec(session).encodeAck(bet.getBetId());
+            if (ack != null) {
+                broadcaster.send(session, ack);
+            }
+        } else if (status == BetStatus.NICKNAME_TAKEN) {
+            rejectBet(session, ErrorCode.NICKNAME_TAKEN, NICKNAME_ALREADY_TAKEN_MESSAGE, bet.getBetId());
+        } else if (status == BetStatus.PLAYER_NOT_FOUND) {
+            rejectBet(session, ErrorCode.PLAYER_NOT_FOUND, PLAYER_NOT_FOUND, bet.getBetId());
+        } else if (status == BetStatus.UNAVAILABLE) {
+            rejectBet(session, ErrorCode.UNAVAILABLE, BET_UNAVAILABLE_MESSAGE, bet.getBetId());
         }
     }
 
-    private void validatePlayer(Player player) {
-        Set<ConstraintViolation<Player>> violations = validator.validate(player);
-        if (!violations.isEmpty()) {
-            throw new ConstraintViolationException(violations);
+    private void placeBatch(WebSocketSession session, BinaryMessage message) {
+        GameRoom room = room(session);
+        SubAccounts subAccounts = subAccounts(session);
+        if (room == null || subAccounts == null) {
+            rejectBet(session, ErrorCode.UNAUTHORIZED, UNAUTHORIZED_MESSAGE);
+            return;
+        }
+        int maxBatch = Math.min(aggregatorProperties.getMaxBatch(), BinaryFrames.MAX_BULK_ITEMS);
+        BetBatch batch = BinaryFrames.decodeBulkBet(message.getPayload(), maxBatch);
+        if (batch == null) {
+            rejectBet(session, ErrorCode.MALFORMED_FRAME, String.format(BATCH_MALFORMED_MESSAGE, maxBatch));
+            return;
+        }
+        if (!admit(session, rateLimiter.admitBets(session, batch.size()))) {
+            rejectBet(session, ErrorCode.RATE_LIMITED, RATE_LIMITED_MESSAGE);
+            return;
         }
+
+        BetRequest bet = new BetRequest();
+        GameService gameService = room.getGameService();
+        int maxSubAccounts = aggregatorProperties.getMaxSubAccounts();
+        synchronized (subAccounts) {
+            long roundId = gameService.getOpenRoundId();
+            for (int i = 0; i < batch.size(); i++) {
+                bet.reset();
+                bet.setNickname(batch.getNickname(i));
+                bet.setNumber(batch.getNumber(i));
+                bet.setBet(batch.getBet(i));
+                String playerId = subAccounts.playerId(batch.getAccount(i));
+                if (batch.getAccount(i).isEmpty() || BetValidator.validate(bet) != null
+                        || !subAccounts.touch(playerId, roundId, maxSubAccounts)) {
+                    batch.setStatus(i, BetStatus.VALIDATION_FAILED);
+                    continue;
+                }
+                batch.setPlayerId(i, playerId);
+            }
+            try {
+                gameService.placeBatch(batch);
+            } catch (RuntimeException e) {
+                log.error(BATCH_FAILED, session.getId(), e);
+            }
+        }
+
+        byte[] statuses = new byte[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            ErrorCode rejection = rejection(batch.getStatus(i));
+            if (rejection == null) {
+                metrics.betAccepted();
+                statuses[i] = BinaryFrames.BULK_ACCEPTED;
+            } else {
+                metrics.betRejected(rejection);
+                statuses[i] = rejection.code();
+            }
+        }
+        broadcaster.send(session, new BinaryMessage(BinaryFrames.encodeBulkResult(statuses)));
     }
 
-    private void sendValidationErrorMessage(WebSocketSession session, ConstraintViolationException e) {
-        StringBuilder errorMessage = new StringBuilder(VALIDATION_FAILED);
-        for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
-            errorMessage.append(violation.getPropertyPath()).append(" ").append(violation.getMessage()).append("; ");
+    /**
+     * Sends the connection's settled sub-accounts and drops the players of accounts that have not
+     * bet for {@code subAccountIdleRounds} rounds, which keeps this walk bounded.
+     */
+    private void sendBulkSettled(WebSocketSession session, SubAccounts subAccounts, GameService gameService,
+                                 RoundResult result, RoundDelivery delivery) {
+        long idleBefore = result.getBook().getRoundId() - Math.max(0, aggregatorProperties.getSubAccountIdleRounds());
+        List<String> accounts;
+        long[] payouts;
+        synchronized (subAccounts) {
+            accounts = new ArrayList<>(subAccounts.size());
+            payouts = new long[subAccounts.size()];
+            Iterator<Map.Entry<String, Long>> entries = subAccounts.iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, Long> entry = entries.next();
+                PlayerResult playerResult = result.getPlayerResult(entry.getKey());
+                if (playerResult != null) {
+                    payouts[accounts.size()] = playerResult.getPayout();
+                    accounts.add(subAccounts.account(entry.getKey()));
+                } else if (entry.getValue() < idleBefore) {
+                    entries.remove();
+                    gameService.removePlayer(entry.getKey());
+                }
+            }
         }
-        sendMessage(session, errorMessage.toString());
+        if (!accounts.isEmpty()) {
+            broadcaster.send(session,
+                    new BinaryMessage(BinaryFrames.encodeBulkSettled(result.getRound().getId(), accounts, payouts)),
+                    delivery);
+        }
+    }
+
+    private static ErrorCode rejection(BetStatus status) {
+        if (status == BetStatus.ACCEPTED) {
+            return null;
+        }
+        if (status == BetStatus.NICKNAME_TAKEN) {
+            return ErrorCode.NICKNAME_TAKEN;
+        }
+        if (status == BetStatus.PLAYER_NOT_FOUND) {
+            return ErrorCode.PLAYER_NOT_FOUND;
+        }
+        if (status == null || status == BetStatus.UNAVAILABLE) {
+            return ErrorCode.UNAVAILABLE;
+        }
+        return ErrorCode.VALIDATION_FAILED;
     }
 
-    @PreDestroy
-    public void shutdownScheduler() {
-        scheduler.shutdown();
+    @Override
+    public boolean onBetDeadline(WebSocketSession session) {
+        GameRoom room = room(session);
+        if (room == null || !session.isOpen() || aggregator(session) != null) {
+            return false;
+        }
+        GameService gameService = room.getGameService();
+        Player player = gameService.getPlayer(session.getId());
+        if (player != null && player.isRegistered()) {
+            return false;
+        }
+        sendError(session, ErrorCode.SESSION_REMOVED, SESSION_REMOVED_MESSAGE);
+        room.getSessions().remove(session);
+        gameService.removePlayer(session.getId());
+        return true;
+    }
+
+    @Override
+    public void onUnresponsive(WebSocketSession session) {
         try {
-            if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            scheduler.shutdownNow();
-            Thread.currentThread().interrupt();
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.error(FAILED_CLOSING_SESSION, session.getId(), e);
         }
     }
 
-}
+    private GameRoom room(WebSocketSession session) {
+        return (GameRoom) session.getAttributes().get(ROOM);
+    }
+
+    private String aggregator(WebSocketSession session) {
+        return (String) session.getAttributes().get(AGGREGATOR);
+    }
 
+    private SubAccounts subAccounts(WebSocketSession session) {
+        return (SubAccounts) session.getAttributes().get(SUB_ACCOUNTS);
+    }
+
+    private ProtocolCodec codec(WebSocketSession session) {
+        ProtocolCodec codec = (ProtocolCodec) session.getAttributes().get(PROTOCOL_CODEC);
+        return codec != null ? codec : TextProtocolCodec.INSTANCE;
+    }
+
+    private void rejectBet(WebSocketSession session, ErrorCode code, String message) {
+        metrics.betRejected(code);
+        sendError(session, code, message);
+    }
+
+    private void rejectBet(WebSocketSession session, ErrorCode code, String message, long betId) {
+        metrics.betRejected(code);
+        broadcaster.send(session, codec(session).encodeError(code, message, betId));
+    }
+
+    private void sendError(WebSocketSession session, ErrorCode code, String message) {
+        broadcaster.send(session, codec(session).encodeError(code, message));
+    }
+}
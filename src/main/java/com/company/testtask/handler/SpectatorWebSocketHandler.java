@@ -0,0 +1,75 @@
+package com.company.testtask.handler;
+
+import com.company.testtask.broadcast.FanOutBroadcaster;
+import com.company.testtask.config.SpectatorProperties;
+import com.company.testtask.spectator.Spectator;
+import com.company.testtask.spectator.SpectatorFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static com.company.testtask.constant.Constants.ROOM;
+import static com.company.testtask.constant.Constants.ROOM_NAME_PATTERN;
+import static com.company.testtask.constant.Constants.ROOM_REJECTED_MESSAGE;
+import static com.company.testtask.constant.Constants.SPECTATOR;
+
+/**
+ * Read-only WebSocket view of the {@link SpectatorFeed}. Every spectator is sent the same
+ * pre-encoded text frame per round; anything the client sends is ignored. Sends are bounded by the
+ * spectator send time and buffer limits, and a spectator that exceeds them is dropped.
+ */
+@Component
+@RequiredArgsConstructor
+public class SpectatorWebSocketHandler extends TextWebSocketHandler {
+
+    private final SpectatorFeed feed;
+
+    private final SpectatorProperties properties;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String room = room(session.getUri());
+        if (room != null && !room.matches(ROOM_NAME_PATTERN)) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(ROOM_REJECTED_MESSAGE));
+            return;
+        }
+        FanOutBroadcaster.applySendTimeout(session, properties.getSendTimeLimit());
+        WebSocketSession bounded = new ConcurrentWebSocketSessionDecorator(session,
+                (int) properties.getSendTimeLimit(), properties.getBufferSizeLimit());
+        Spectator spectator = feed.subscribe(room, null, event -> send(bounded, event.getFrame()));
+        session.getAttributes().put(SPECTATOR, spectator);
+        if (!session.isOpen()) {
+            feed.unsubscribe(spectator);
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        feed.unsubscribe((Spectator) session.getAttributes().get(SPECTATOR));
+    }
+
+    private static void send(WebSocketSession session, TextMessage frame) throws IOException {
+        try {
+            session.sendMessage(frame);
+        } catch (SessionLimitExceededException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static String room(URI uri) {
+        return uri != null ? UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst(ROOM) : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.testtask.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.company.testtask.constant.Constants.SUB_ACCOUNT_SEPARATOR;
+
+/**
+ * Sub-accounts an aggregator connection has bet for, with the last round each one bet in. Player
+ * ids are scoped to the connection, so two connections of one aggregator never share players.
+ * Callers hold this object's monitor, which also orders placing a batch against evicting idle
+ * accounts at settlement.
+ */
+class SubAccounts {
+
+    private final String prefix;
+
+    private final Map<String, Long> lastRounds = new HashMap<>();
+
+    SubAccounts(String aggregator, String sessionId) {
+        this.prefix = aggregator + SUB_ACCOUNT_SEPARATOR + sessionId + SUB_ACCOUNT_SEPARATOR;
+    }
+
+    String playerId(String account) {
+        return prefix + account;
+    }
+
+    String account(String playerId) {
+        return playerId.substring(prefix.length());
+    }
+
+    /**
+     * Records a bet by {@code playerId} in {@code roundId}. Returns {@code false} for a new account
+     * once {@code maxAccounts} are tracked.
+     */
+    boolean touch(String playerId, long roundId, int maxAccounts) {
+        Long lastRound = lastRounds.get(playerId);
+        if (lastRound == null && lastRounds.size() >= maxAccounts) {
+            return false;
+        }
+        lastRounds.put(playerId, lastRound != null ? Math.max(lastRound, roundId) : roundId);
+        return true;
+    }
+
+    Iterator<Map.Entry<String, Long>> iterator() {
+        return lastRounds.entrySet().iterator();
+    }
+
+    List<String> playerIds() {
+        return new ArrayList<>(lastRounds.keySet());
+    }
+
+    int size() {
+        return lastRounds.size();
+    }
+}
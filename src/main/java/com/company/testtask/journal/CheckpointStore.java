@@ -0,0 +1,95 @@
+package com.company.testtask.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+final class CheckpointStore {
+
+    private static final int MAGIC = 0x42474350;
+
+    private static final String CHECKPOINT = "checkpoint.bin";
+
+    private static final String TEMP = "checkpoint.tmp";
+
+    private CheckpointStore() {}
+
+    static void write(Path directory, Map<String, JournalPosition> positions) throws IOException {
+        List<byte[]> rooms = new ArrayList<>(positions.size());
+        List<JournalPosition> roomPositions = new ArrayList<>(positions.size());
+        int length = 2 * Integer.BYTES;
+        for (Map.Entry<String, JournalPosition> entry : positions.entrySet()) {
+            byte[] room = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            rooms.add(room);
+            roomPositions.add(entry.getValue());
+            length += Short.BYTES + room.length + Long.BYTES + Integer.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length + Integer.BYTES);
+        buffer.putInt(MAGIC).putInt(rooms.size());
+        for (int i = 0; i < rooms.size(); i++) {
+            byte[] room = rooms.get(i);
+            JournalPosition position = roomPositions.get(i);
+            buffer.putShort((short) room.length).put(room).putLong(position.getSegmentId()).putInt(position.getOffset());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, length);
+        buffer.putInt((int) crc.getValue()).flip();
+
+        Path temp = directory.resolve(TEMP);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static Map<String, JournalPosition> read(Path directory) throws IOException {
+        Path path = directory.resolve(CHECKPOINT);
+        if (!Files.exists(path)) {
+            return Map.of();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        int length = buffer.limit() - Integer.BYTES;
+        if (length < 2 * Integer.BYTES || buffer.getInt() != MAGIC) {
+            return Map.of();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, length);
+        if ((int) crc.getValue() != buffer.getInt(length)) {
+            return Map.of();
+        }
+
+        int count = buffer.getInt();
+        Map<String, JournalPosition> positions = new HashMap<>(count * 4 / 3 + 1);
+        for (int i = 0; i < count; i++) {
+            byte[] room = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(room);
+            positions.put(new String(room, StandardCharsets.UTF_8),
+                    new JournalPosition(buffer.getLong(), buffer.getInt()));
+        }
+        return positions;
+    }
+
+    static void deleteSegmentsBefore(Path directory, long segmentId) throws IOException {
+        for (Path segment : JournalSegment.list(directory)) {
+            if (JournalSegment.idOf(segment) < segmentId) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.testtask.journal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+public interface Journal {
+
+    Journal NOOP = record -> {
+    };
+
+    void append(JournalRecord record);
+
+    /**
+     * Queues the record without waiting for room. Returns false if the journal cannot take it now.
+     */
+    default boolean tryAppend(JournalRecord record) {
+        append(record);
+        return true;
+    }
+
+    default Journal forRoom(String room) {
+        return this;
+    }
+
+    default boolean isSnapshotDue(long roundId) {
+        return false;
+    }
+
+    default RecoveredState recover() {
+        return RecoveredState.EMPTY;
+    }
+
+    default Set<String> getRecoveredRooms() {
+        return Set.of();
+    }
+
+    /**
+     * Leaderboard records per room, the last full one first, handed out once.
+     */
+    default Map<String, List<JournalRecord>> recoverLeaderboards() {
+        return Map.of();
+    }
+
+    default CompletableFuture<Void> sync() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,187 @@
+package com.company.testtask.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+final class JournalCodec {
+
+    private static final int STRING_LENGTH = 2;
+
+    private static final int BET_LENGTH = 1 + Long.BYTES + 2 * STRING_LENGTH;
+
+    private static final int SCORE_LENGTH = Long.BYTES + 2 * STRING_LENGTH;
+
+    private JournalCodec() {}
+
+    static ByteBuffer encode(JournalRecord record, ByteBuffer scratch) {
+        byte[] room = bytes(record.getRoom());
+        int length = 1 + STRING_LENGTH + room.length + Long.BYTES;
+        switch (record.getType()) {
+            case BET -> length += betLength(record);
+            case CANCEL -> length += STRING_LENGTH + utf8Length(record.getPlayerId());
+            case ROUND_LOCKED -> length += Integer.BYTES;
+            case ROUND_SETTLED -> length += Integer.BYTES + record.getDraws().length;
+            case SNAPSHOT -> {
+                length += Long.BYTES + 2 * Integer.BYTES;
+                for (JournalRecord bet : record.getSnapshot().getBets()) {
+                    length += betLength(bet);
+                }
+                for (JournalRecord bet : record.getSnapshot().getPendingBets()) {
+                    length += betLength(bet);
+                }
+            }
+            case LEADERBOARD -> {
+                JournalLeaderboard leaderboard = record.getLeaderboard();
+                length += Long.BYTES + scoresLength(leaderboard.getRound()) + scoresLength(leaderboard.getDaily())
+                        + scoresLength(leaderboard.getAllTime());
+            }
+            case ROUND_WINNERS -> length += Long.BYTES + scoresLength(record.getLeaderboard().getRound());
+            case ROUND_VOIDED, ROOM_CLOSED -> {
+            }
+        }
+
+        ByteBuffer buffer = scratch.capacity() >= length ? scratch.clear() : ByteBuffer.allocate(length);
+        buffer.put(record.getType().code());
+        putString(buffer, room);
+        buffer.putLong(record.getRoundId());
+        switch (record.getType()) {
+            case BET -> putBet(buffer, record);
+            case CANCEL -> putString(buffer, bytes(record.getPlayerId()));
+            case ROUND_LOCKED -> buffer.putInt(record.getBetCount());
+            case ROUND_SETTLED -> buffer.putInt(record.getDraws().length).put(record.getDraws());
+            case SNAPSHOT -> {
+                JournalSnapshot snapshot = record.getSnapshot();
+                buffer.putLong(snapshot.getPendingRoundId()).putInt(snapshot.getBets().size());
+                snapshot.getBets().forEach(bet -> putBet(buffer, bet));
+                buffer.putInt(snapshot.getPendingBets().size());
+                snapshot.getPendingBets().forEach(bet -> putBet(buffer, bet));
+            }
+            case LEADERBOARD -> {
+                JournalLeaderboard leaderboard = record.getLeaderboard();
+                buffer.putLong(leaderboard.getDay());
+                putScores(buffer, leaderboard.getRound());
+                putScores(buffer, leaderboard.getDaily());
+                putScores(buffer, leaderboard.getAllTime());
+            }
+            case ROUND_WINNERS -> {
+                buffer.putLong(record.getLeaderboard().getDay());
+                putScores(buffer, record.getLeaderboard().getRound());
+            }
+            case ROUND_VOIDED, ROOM_CLOSED -> {
+            }
+        }
+        return buffer.flip();
+    }
+
+    static JournalRecord decode(ByteBuffer buffer) {
+        RecordType type = RecordType.of(buffer.get());
+        if (type == null) {
+            return null;
+        }
+        String room = getString(buffer);
+        long roundId = buffer.getLong();
+        JournalRecord record = switch (type) {
+            case BET -> getBet(buffer, roundId);
+            case CANCEL -> JournalRecord.cancel(roundId, getString(buffer));
+            case ROUND_LOCKED -> JournalRecord.roundLocked(roundId, buffer.getInt());
+            case ROUND_SETTLED -> {
+                byte[] draws = new byte[buffer.getInt()];
+                buffer.get(draws);
+                yield JournalRecord.roundSettled(roundId, draws);
+            }
+            case ROUND_VOIDED -> JournalRecord.roundVoided(roundId);
+            case SNAPSHOT -> {
+                long pendingRoundId = buffer.getLong();
+                List<JournalRecord> bets = getBets(buffer, roundId, room);
+                List<JournalRecord> pendingBets = getBets(buffer, pendingRoundId, room);
+                yield JournalRecord.snapshot(new JournalSnapshot(roundId, pendingRoundId, bets, pendingBets));
+            }
+            case ROOM_CLOSED -> JournalRecord.roomClosed();
+            case LEADERBOARD -> {
+                long day = buffer.getLong();
+                List<JournalScore> round = getScores(buffer);
+                List<JournalScore> daily = getScores(buffer);
+                yield JournalRecord.leaderboard(roundId, new JournalLeaderboard(day, round, daily, getScores(buffer)));
+            }
+            case ROUND_WINNERS -> {
+                long day = buffer.getLong();
+                yield JournalRecord.roundWinners(roundId, day, getScores(buffer));
+            }
+        };
+        return record.inRoom(room);
+    }
+
+    private static int betLength(JournalRecord bet) {
+        return BET_LENGTH + utf8Length(bet.getPlayerId()) + utf8Length(bet.getNickname());
+    }
+
+    private static void putBet(ByteBuffer buffer, JournalRecord bet) {
+        buffer.put((byte) bet.getNumber()).putLong(bet.getBet());
+        putString(buffer, bytes(bet.getPlayerId()));
+        putString(buffer, bytes(bet.getNickname()));
+    }
+
+    private static JournalRecord getBet(ByteBuffer buffer, long roundId) {
+        int number = buffer.get();
+        long bet = buffer.getLong();
+        String playerId = getString(buffer);
+        return JournalRecord.bet(roundId, playerId, getString(buffer), number, bet);
+    }
+
+    private static List<JournalRecord> getBets(ByteBuffer buffer, long roundId, String room) {
+        int count = buffer.getInt();
+        List<JournalRecord> bets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bets.add(getBet(buffer, roundId).inRoom(room));
+        }
+        return bets;
+    }
+
+    private static int scoresLength(List<JournalScore> scores) {
+        int length = Integer.BYTES;
+        for (JournalScore score : scores) {
+            length += SCORE_LENGTH + utf8Length(score.getPlayerId()) + utf8Length(score.getNickname());
+        }
+        return length;
+    }
+
+    private static void putScores(ByteBuffer buffer, List<JournalScore> scores) {
+        buffer.putInt(scores.size());
+        for (JournalScore score : scores) {
+            buffer.putLong(score.getScore());
+            putString(buffer, bytes(score.getPlayerId()));
+            putString(buffer, bytes(score.getNickname()));
+        }
+    }
+
+    private static List<JournalScore> getScores(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        List<JournalScore> scores = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long score = buffer.getLong();
+            String playerId = getString(buffer);
+            scores.add(new JournalScore(playerId, getString(buffer), score));
+        }
+        return scores;
+    }
+
+    private static int utf8Length(String value) {
+        return bytes(value).length;
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length).put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] value = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,27 @@
+package com.company.testtask.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Leaderboards of one room as of a settled round. A {@code LEADERBOARD} record carries all three
+ * boards; a {@code ROUND_WINNERS} record carries only the round's winners, to be added on top of
+ * the last full one.
+ */
+@Getter
+@RequiredArgsConstructor
+public class JournalLeaderboard {
+
+    /**
+     * UTC epoch day the daily board and the round's winners count for.
+     */
+    private final long day;
+
+    private final List<JournalScore> round;
+
+    private final List<JournalScore> daily;
+
+    private final List<JournalScore> allTime;
+}
@@ -0,0 +1,23 @@
+package com.company.testtask.journal;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor
+public class JournalPosition implements Comparable<JournalPosition> {
+
+    private final long segmentId;
+
+    private final int offset;
+
+    @Override
+    public int compareTo(JournalPosition other) {
+        int compare = Long.compare(segmentId, other.segmentId);
+        return compare != 0 ? compare : Integer.compare(offset, other.offset);
+    }
+}
@@ -0,0 +1,75 @@
+package com.company.testtask.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static com.company.testtask.constant.Constants.JOURNAL_TRUNCATED;
+
+@Slf4j
+public final class JournalReader {
+
+    static final int RECORD_HEADER = 2 * Integer.BYTES;
+
+    private JournalReader() {}
+
+    @FunctionalInterface
+    interface PositionedConsumer {
+
+        void accept(JournalRecord record, JournalPosition position);
+    }
+
+    public static long read(Path directory, Consumer<JournalRecord> consumer) throws IOException {
+        return read(directory, 0, Long.MAX_VALUE, (record, position) -> consumer.accept(record));
+    }
+
+    static long read(Path directory, long fromSegmentId, long toSegmentId, PositionedConsumer consumer)
+            throws IOException {
+        long records = 0;
+        CRC32 crc = new CRC32();
+        for (Path path : JournalSegment.list(directory)) {
+            long segmentId = JournalSegment.idOf(path);
+            if (segmentId < fromSegmentId || segmentId >= toSegmentId) {
+                continue;
+            }
+            try (JournalSegment segment = JournalSegment.open(path)) {
+                records += read(segment, crc, consumer);
+            }
+        }
+        return records;
+    }
+
+    private static long read(JournalSegment segment, CRC32 crc, PositionedConsumer consumer) {
+        ByteBuffer buffer = segment.getBuffer();
+        long records = 0;
+        while (buffer.remaining() >= RECORD_HEADER) {
+            int offset = buffer.position();
+            int length = buffer.getInt();
+            if (length == 0) {
+                break;
+            }
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                log.warn(JOURNAL_TRUNCATED, segment.getId(), offset);
+                break;
+            }
+
+            ByteBuffer frame = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(frame.duplicate());
+            JournalRecord record = (int) crc.getValue() == checksum ? JournalCodec.decode(frame) : null;
+            if (record == null) {
+                log.warn(JOURNAL_TRUNCATED, segment.getId(), offset);
+                break;
+            }
+            buffer.position(buffer.position() + length);
+            consumer.accept(record, new JournalPosition(segment.getId(), offset));
+            records++;
+        }
+        return records;
+    }
+}
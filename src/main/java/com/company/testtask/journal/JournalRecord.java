@@ -0,0 +1,107 @@
+package com.company.testtask.journal;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.company.testtask.constant.Constants.DEFAULT_ROOM;
+
+@Getter
+@ToString(exclude = {"draws", "sync", "snapshot", "leaderboard"})
+public class JournalRecord {
+
+    private final RecordType type;
+
+    private final long roundId;
+
+    private final String playerId;
+
+    private final String nickname;
+
+    private final int number;
+
+    private final long bet;
+
+    private final int betCount;
+
+    private final byte[] draws;
+
+    private final JournalSnapshot snapshot;
+
+    private final JournalLeaderboard leaderboard;
+
+    private final CompletableFuture<Void> sync;
+
+    private String room = DEFAULT_ROOM;
+
+    private JournalRecord(RecordType type, long roundId, String playerId, String nickname, int number, long bet,
+                          int betCount, byte[] draws, JournalSnapshot snapshot, JournalLeaderboard leaderboard,
+                          CompletableFuture<Void> sync) {
+        this.type = type;
+        this.roundId = roundId;
+        this.playerId = playerId;
+        this.nickname = nickname;
+        this.number = number;
+        this.bet = bet;
+        this.betCount = betCount;
+        this.draws = draws;
+        this.snapshot = snapshot;
+        this.leaderboard = leaderboard;
+        this.sync = sync;
+    }
+
+    public static JournalRecord bet(long roundId, String playerId, String nickname, int number, long bet) {
+        return new JournalRecord(RecordType.BET, roundId, playerId, nickname, number, bet, 0, null, null, null, null);
+    }
+
+    public static JournalRecord cancel(long roundId, String playerId) {
+        return new JournalRecord(RecordType.CANCEL, roundId, playerId, null, 0, 0, 0, null, null, null, null);
+    }
+
+    public static JournalRecord roundLocked(long roundId, int betCount) {
+        return new JournalRecord(RecordType.ROUND_LOCKED, roundId, null, null, 0, 0, betCount, null, null, null, null);
+    }
+
+    public static JournalRecord roundSettled(long roundId, byte[] draws) {
+        return new JournalRecord(RecordType.ROUND_SETTLED, roundId, null, null, 0, 0, draws.length, draws, null, null,
+                null);
+    }
+
+    public static JournalRecord roundVoided(long roundId) {
+        return new JournalRecord(RecordType.ROUND_VOIDED, roundId, null, null, 0, 0, 0, null, null, null, null);
+    }
+
+    public static JournalRecord snapshot(JournalSnapshot snapshot) {
+        return new JournalRecord(RecordType.SNAPSHOT, snapshot.getOpenRoundId(), null, null, 0, 0,
+                snapshot.getBets().size(), null, snapshot, null, null);
+    }
+
+    public static JournalRecord leaderboard(long roundId, JournalLeaderboard leaderboard) {
+        return new JournalRecord(RecordType.LEADERBOARD, roundId, null, null, 0, 0,
+                leaderboard.getAllTime().size(), null, null, leaderboard, null);
+    }
+
+    public static JournalRecord roundWinners(long roundId, long day, List<JournalScore> winners) {
+        return new JournalRecord(RecordType.ROUND_WINNERS, roundId, null, null, 0, 0, winners.size(), null, null,
+                new JournalLeaderboard(day, winners, List.of(), List.of()), null);
+    }
+
+    public static JournalRecord roomClosed() {
+        return new JournalRecord(RecordType.ROOM_CLOSED, 0, null, null, 0, 0, 0, null, null, null, null);
+    }
+
+    static JournalRecord sync(CompletableFuture<Void> sync) {
+        return new JournalRecord(null, 0, null, null, 0, 0, 0, null, null, null, sync);
+    }
+
+    JournalRecord inRoom(String room) {
+        this.room = room;
+        return this;
+    }
+
+    boolean isSync() {
+        return sync != null;
+    }
+}
@@ -0,0 +1,169 @@
+package com.company.testtask.journal;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+final class JournalRecovery {
+
+    private final Map<String, RoomRecovery> rooms = new HashMap<>();
+
+    private final Map<String, JournalPosition> checkpoint;
+
+    @Getter
+    private final Map<String, JournalPosition> positions = new HashMap<>();
+
+    @Getter
+    private final Map<String, List<JournalRecord>> leaderboards = new HashMap<>();
+
+    @Getter
+    private final Map<String, JournalPosition> leaderboardPositions = new HashMap<>();
+
+    @Getter
+    private long replayedRecords;
+
+    private JournalRecovery(Map<String, JournalPosition> checkpoint) {
+        this.checkpoint = checkpoint;
+        this.positions.putAll(checkpoint);
+    }
+
+    static JournalRecovery recover(Path directory, long toSegmentId) throws IOException {
+        Map<String, JournalPosition> checkpoint = CheckpointStore.read(directory);
+        JournalRecovery recovery = new JournalRecovery(checkpoint);
+        long fromSegmentId = checkpoint.values().stream()
+                .mapToLong(JournalPosition::getSegmentId)
+                .min()
+                .orElse(0);
+        JournalReader.read(directory, fromSegmentId, toSegmentId, recovery::apply);
+        return recovery;
+    }
+
+    Map<String, RecoveredState> getStates() {
+        Map<String, RecoveredState> states = new HashMap<>(rooms.size() * 4 / 3 + 1);
+        rooms.forEach((room, recovery) -> states.put(room, recovery.result(replayedRecords)));
+        return states;
+    }
+
+    private void apply(JournalRecord record, JournalPosition position) {
+        String room = record.getRoom();
+        JournalPosition start = checkpoint.get(room);
+        if (start != null && position.compareTo(start) < 0) {
+            return;
+        }
+        switch (record.getType()) {
+            case ROOM_CLOSED -> {
+                rooms.remove(room);
+                positions.remove(room);
+                leaderboards.remove(room);
+                leaderboardPositions.remove(room);
+                return;
+            }
+            case LEADERBOARD, ROUND_WINNERS -> {
+                applyLeaderboard(record, position);
+                return;
+            }
+            default -> {
+            }
+        }
+        replayedRecords++;
+        positions.putIfAbsent(room, position);
+        rooms.computeIfAbsent(room, r -> new RoomRecovery()).apply(record);
+    }
+
+    /**
+     * Keeps the room's last full leaderboard and the round winners journaled after it. Records of a
+     * room that is not open, such as one settled just after the room was closed, are ignored.
+     */
+    private void applyLeaderboard(JournalRecord record, JournalPosition position) {
+        String room = record.getRoom();
+        if (!positions.containsKey(room)) {
+            return;
+        }
+        replayedRecords++;
+        if (record.getType() == RecordType.LEADERBOARD) {
+            List<JournalRecord> records = new ArrayList<>();
+            records.add(record);
+            leaderboards.put(room, records);
+            leaderboardPositions.put(room, position);
+        } else {
+            leaderboards.computeIfAbsent(room, r -> new ArrayList<>()).add(record);
+            leaderboardPositions.putIfAbsent(room, position);
+        }
+    }
+
+    private static final class RoomRecovery {
+
+        private final Map<Long, Map<String, JournalRecord>> books = new TreeMap<>();
+
+        private final Set<Long> lockedRounds = new HashSet<>();
+
+        private long openRoundId = RecoveredState.EMPTY.getOpenRoundId();
+
+        private void apply(JournalRecord record) {
+            long roundId = record.getRoundId();
+            switch (record.getType()) {
+                case BET -> {
+                    book(roundId).put(record.getPlayerId(), record);
+                    openRoundId = Math.max(openRoundId, roundId);
+                }
+                case CANCEL -> {
+                    Map<String, JournalRecord> book = books.get(roundId);
+                    if (book != null) {
+                        book.remove(record.getPlayerId());
+                    }
+                }
+                case ROUND_LOCKED -> {
+                    book(roundId);
+                    lockedRounds.add(roundId);
+                    openRoundId = Math.max(openRoundId, roundId + 1);
+                }
+                case ROUND_SETTLED, ROUND_VOIDED -> {
+                    books.remove(roundId);
+                    lockedRounds.remove(roundId);
+                    openRoundId = Math.max(openRoundId, roundId + 1);
+                }
+                case SNAPSHOT -> restore(record.getSnapshot());
+                case ROOM_CLOSED, LEADERBOARD, ROUND_WINNERS -> {
+                }
+            }
+        }
+
+        private void restore(JournalSnapshot snapshot) {
+            books.clear();
+            lockedRounds.clear();
+            openRoundId = snapshot.getOpenRoundId();
+            Map<String, JournalRecord> book = book(openRoundId);
+            snapshot.getBets().forEach(bet -> book.put(bet.getPlayerId(), bet));
+            if (snapshot.getPendingRoundId() > 0) {
+                Map<String, JournalRecord> pending = book(snapshot.getPendingRoundId());
+                snapshot.getPendingBets().forEach(bet -> pending.put(bet.getPlayerId(), bet));
+                lockedRounds.add(snapshot.getPendingRoundId());
+            }
+        }
+
+        private RecoveredState result(long replayedRecords) {
+            Map<Long, Map<String, JournalRecord>> remaining = new TreeMap<>(books);
+            Map<String, JournalRecord> openBook = lockedRounds.contains(openRoundId)
+                    ? null
+                    : remaining.remove(openRoundId);
+            Map<Long, List<JournalRecord>> unsettledRounds = new TreeMap<>();
+            remaining.forEach((roundId, book) -> unsettledRounds.put(roundId, new ArrayList<>(book.values())));
+            return new RecoveredState(openRoundId,
+                    openBook != null ? new ArrayList<>(openBook.values()) : new ArrayList<>(),
+                    unsettledRounds, replayedRecords);
+        }
+
+        private Map<String, JournalRecord> book(long roundId) {
+            return books.computeIfAbsent(roundId, id -> new LinkedHashMap<>());
+        }
+    }
+}
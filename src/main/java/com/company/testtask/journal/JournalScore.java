@@ -0,0 +1,15 @@
+package com.company.testtask.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class JournalScore {
+
+    private final String playerId;
+
+    private final String nickname;
+
+    private final long score;
+}
@@ -0,0 +1,19 @@
+package com.company.testtask.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class JournalSnapshot {
+
+    private final long openRoundId;
+
+    private final long pendingRoundId;
+
+    private final List<JournalRecord> bets;
+
+    private final List<JournalRecord> pendingBets;
+}
@@ -0,0 +1,429 @@
+package com.company.testtask.journal;
+
+import com.company.testtask.config.JournalProperties;
+import com.company.testtask.exception.JournalUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static com.company.testtask.constant.Constants.DEFAULT_ROOM;
+import static com.company.testtask.constant.Constants.JOURNAL_CLOSED_MESSAGE;
+import static com.company.testtask.constant.Constants.JOURNAL_FULL_MESSAGE;
+import static com.company.testtask.constant.Constants.JOURNAL_RECOVERED;
+import static com.company.testtask.constant.Constants.JOURNAL_WRITE_FAILED;
+import static com.company.testtask.journal.JournalReader.RECORD_HEADER;
+
+@Slf4j
+public class MappedJournal implements Journal, AutoCloseable {
+
+    private static final int DRAIN_BATCH = 1024;
+
+    private final BlockingQueue<JournalRecord> queue;
+
+    private final List<CompletableFuture<Void>> pendingSyncs = new ArrayList<>();
+
+    private final Map<String, JournalPosition> roomPositions = new ConcurrentHashMap<>();
+
+    private final Map<String, JournalPosition> leaderboardPositions = new ConcurrentHashMap<>();
+
+    private final CRC32 crc = new CRC32();
+
+    private final JournalProperties properties;
+
+    private final Path directory;
+
+    private final Thread writer;
+
+    private final Map<RecordType, Counter> recordCounters = new EnumMap<>(RecordType.class);
+
+    private final Counter bytesCounter;
+
+    private final Timer forceTimer;
+
+    private final Timer recoveryTimer;
+
+    private final Counter replayedCounter;
+
+    private final Counter rejectedCounter;
+
+    private final long firstSegmentId;
+
+    private Map<String, RecoveredState> recoveredStates;
+
+    private Map<String, List<JournalRecord>> recoveredLeaderboards = Map.of();
+
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+
+    private JournalSegment segment;
+
+    private long nextSegmentId;
+
+    private boolean dirty;
+
+    private boolean checkpointDirty;
+
+    private long lastForce = System.currentTimeMillis();
+
+    private long lastCheckpoint = System.currentTimeMillis();
+
+    private volatile boolean recovered;
+
+    private volatile boolean running = true;
+
+    public MappedJournal(JournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.properties = properties;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.directory = Path.of(properties.getDirectory());
+        Files.createDirectories(directory);
+        this.nextSegmentId = JournalSegment.lastId(directory) + 1;
+        this.firstSegmentId = nextSegmentId;
+
+        for (RecordType type : RecordType.values()) {
+            recordCounters.put(type, Counter.builder("game.journal.records")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.bytesCounter = meterRegistry.counter("game.journal.bytes");
+        this.forceTimer = Timer.builder("game.journal.force")
+                .description("Time spent forcing a journal segment to storage")
+                .register(meterRegistry);
+        this.recoveryTimer = Timer.builder("game.journal.recovery")
+                .description("Time spent replaying the journal tail since the last room snapshots")
+                .register(meterRegistry);
+        this.replayedCounter = meterRegistry.counter("game.journal.replayed");
+        this.rejectedCounter = meterRegistry.counter("game.journal.rejected");
+        Gauge.builder("game.journal.backlog", queue, BlockingQueue::size).register(meterRegistry);
+
+        this.writer = new Thread(this::run, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues the record for the writer. A full queue holds the caller back for up to
+     * {@code appendTimeout} and then fails, so a writer that cannot keep up surfaces as an error
+     * instead of an unbounded heap. Bets use {@link #tryAppend} instead, which never waits.
+     */
+    @Override
+    public void append(JournalRecord record) {
+        enqueue(record);
+    }
+
+    @Override
+    public boolean tryAppend(JournalRecord record) {
+        if (running && queue.offer(record)) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    @Override
+    public Journal forRoom(String room) {
+        return DEFAULT_ROOM.equals(room) ? this : new RoomJournal(room);
+    }
+
+    @Override
+    public boolean isSnapshotDue(long roundId) {
+        return properties.getSnapshotInterval() > 0 && roundId % properties.getSnapshotInterval() == 0;
+    }
+
+    @Override
+    public RecoveredState recover() {
+        return recover(DEFAULT_ROOM);
+    }
+
+    @Override
+    public synchronized Set<String> getRecoveredRooms() {
+        Set<String> rooms = new HashSet<>(recoveredStates().keySet());
+        rooms.remove(DEFAULT_ROOM);
+        return Collections.unmodifiableSet(rooms);
+    }
+
+    @Override
+    public synchronized Map<String, List<JournalRecord>> recoverLeaderboards() {
+        recoveredStates();
+        Map<String, List<JournalRecord>> leaderboards = recoveredLeaderboards;
+        recoveredLeaderboards = Map.of();
+        return leaderboards;
+    }
+
+    @Override
+    public CompletableFuture<Void> sync() {
+        CompletableFuture<Void> sync = new CompletableFuture<>();
+        try {
+            enqueue(JournalRecord.sync(sync));
+        } catch (JournalUnavailableException e) {
+            sync.completeExceptionally(e);
+        }
+        return sync;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        if (writer.isAlive()) {
+            writer.interrupt();
+            writer.join();
+        }
+    }
+
+    private void enqueue(JournalRecord record) {
+        if (!running) {
+            throw new JournalUnavailableException(JOURNAL_CLOSED_MESSAGE);
+        }
+        try {
+            if (queue.offer(record, properties.getAppendTimeout(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        throw new JournalUnavailableException(JOURNAL_FULL_MESSAGE);
+    }
+
+    private synchronized RecoveredState recover(String room) {
+        RecoveredState state = recoveredStates().remove(room);
+        return state != null ? state : RecoveredState.EMPTY;
+    }
+
+    private Map<String, RecoveredState> recoveredStates() {
+        if (recoveredStates != null) {
+            return recoveredStates;
+        }
+        long start = System.nanoTime();
+        try {
+            JournalRecovery recovery = JournalRecovery.recover(directory, firstSegmentId);
+            recovery.getPositions().forEach((room, position) ->
+                    roomPositions.merge(room, position, MappedJournal::earliest));
+            recovery.getLeaderboardPositions().forEach((room, position) ->
+                    leaderboardPositions.merge(room, position, MappedJournal::earliest));
+            recoveredStates = recovery.getStates();
+            recoveredLeaderboards = recovery.getLeaderboards();
+            recovered = true;
+
+            long duration = System.nanoTime() - start;
+            recoveryTimer.record(duration, TimeUnit.NANOSECONDS);
+            replayedCounter.increment(recovery.getReplayedRecords());
+            log.info(JOURNAL_RECOVERED, recoveredStates.size(), recovery.getReplayedRecords(),
+                    TimeUnit.NANOSECONDS.toMillis(duration));
+            return recoveredStates;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void run() {
+        List<JournalRecord> batch = new ArrayList<>(DRAIN_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                JournalRecord first = queue.poll(properties.getFlushInterval(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, DRAIN_BATCH - 1);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        closeSegment();
+        checkpoint();
+    }
+
+    private void writeBatch(List<JournalRecord> batch) {
+        boolean forceNow = false;
+        for (JournalRecord record : batch) {
+            if (record.isSync()) {
+                pendingSyncs.add(record.getSync());
+                forceNow = true;
+                continue;
+            }
+            try {
+                write(record);
+                forceNow |= record.getType() == RecordType.ROUND_SETTLED;
+            } catch (IOException | RuntimeException e) {
+                log.error(JOURNAL_WRITE_FAILED, record, e);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        if (forceNow || dirty && now - lastForce >= properties.getFlushInterval()) {
+            force();
+        }
+        if (checkpointDirty && (!pendingSyncs.isEmpty() || now - lastCheckpoint >= properties.getCheckpointInterval())) {
+            checkpoint();
+        }
+        pendingSyncs.forEach(sync -> sync.complete(null));
+        pendingSyncs.clear();
+    }
+
+    private void write(JournalRecord record) throws IOException {
+        scratch = JournalCodec.encode(record, scratch);
+        int length = scratch.remaining();
+        crc.reset();
+        crc.update(scratch.duplicate());
+
+        if (segment == null || segment.remaining() < RECORD_HEADER + length) {
+            roll(RECORD_HEADER + length);
+        }
+        MappedByteBuffer buffer = segment.getBuffer();
+        JournalPosition position = new JournalPosition(segment.getId(), buffer.position());
+        buffer.putInt(length).putInt((int) crc.getValue()).put(scratch);
+        dirty = true;
+        track(record, position);
+
+        recordCounters.get(record.getType()).increment();
+        bytesCounter.increment(RECORD_HEADER + length);
+    }
+
+    private void track(JournalRecord record, JournalPosition position) {
+        switch (record.getType()) {
+            case SNAPSHOT -> {
+                roomPositions.put(record.getRoom(), position);
+                checkpointDirty = true;
+            }
+            case ROOM_CLOSED -> {
+                roomPositions.remove(record.getRoom());
+                leaderboardPositions.remove(record.getRoom());
+                checkpointDirty = true;
+            }
+            case LEADERBOARD -> {
+                if (roomPositions.containsKey(record.getRoom())) {
+                    leaderboardPositions.put(record.getRoom(), position);
+                    checkpointDirty = true;
+                }
+            }
+            case ROUND_WINNERS -> {
+                if (roomPositions.containsKey(record.getRoom())
+                        && leaderboardPositions.putIfAbsent(record.getRoom(), position) == null) {
+                    checkpointDirty = true;
+                }
+            }
+            default -> {
+                if (roomPositions.putIfAbsent(record.getRoom(), position) == null) {
+                    checkpointDirty = true;
+                }
+            }
+        }
+    }
+
+    private void checkpoint() {
+        force();
+        try {
+            Map<String, JournalPosition> positions = new HashMap<>(roomPositions);
+            leaderboardPositions.forEach((room, position) -> positions.merge(room, position, MappedJournal::earliest));
+            CheckpointStore.write(directory, positions);
+            long oldestSegmentId = positions.values().stream()
+                    .mapToLong(JournalPosition::getSegmentId)
+                    .min()
+                    .orElse(segment != null ? segment.getId() : nextSegmentId);
+            if (!recovered) {
+                oldestSegmentId = Math.min(oldestSegmentId, firstSegmentId);
+            }
+            CheckpointStore.deleteSegmentsBefore(directory, oldestSegmentId);
+        } catch (IOException e) {
+            log.error(JOURNAL_WRITE_FAILED, "checkpoint", e);
+        }
+        checkpointDirty = false;
+        lastCheckpoint = System.currentTimeMillis();
+    }
+
+    private static JournalPosition earliest(JournalPosition position, JournalPosition other) {
+        return position.compareTo(other) <= 0 ? position : other;
+    }
+
+    private void roll(int required) throws IOException {
+        closeSegment();
+        segment = JournalSegment.create(directory, nextSegmentId++,
+                Math.max(properties.getSegmentSize(), required + RECORD_HEADER));
+    }
+
+    private void force() {
+        if (segment != null && dirty) {
+            forceTimer.record(segment::force);
+        }
+        dirty = false;
+        lastForce = System.currentTimeMillis();
+    }
+
+    private void closeSegment() {
+        if (segment == null) {
+            return;
+        }
+        force();
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.error(JOURNAL_WRITE_FAILED, segment.getId(), e);
+        }
+        segment = null;
+    }
+
+    private class RoomJournal implements Journal {
+
+        private final String room;
+
+        private RoomJournal(String room) {
+            this.room = room;
+        }
+
+        @Override
+        public void append(JournalRecord record) {
+            MappedJournal.this.append(record.inRoom(room));
+        }
+
+        @Override
+        public boolean tryAppend(JournalRecord record) {
+            return MappedJournal.this.tryAppend(record.inRoom(room));
+        }
+
+        @Override
+        public Journal forRoom(String room) {
+            return MappedJournal.this.forRoom(room);
+        }
+
+        @Override
+        public boolean isSnapshotDue(long roundId) {
+            return MappedJournal.this.isSnapshotDue(roundId);
+        }
+
+        @Override
+        public RecoveredState recover() {
+            return MappedJournal.this.recover(room);
+        }
+
+        @Override
+        public CompletableFuture<Void> sync() {
+            return MappedJournal.this.sync();
+        }
+    }
+}
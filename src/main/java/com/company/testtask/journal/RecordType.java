@@ -0,0 +1,24 @@
+package com.company.testtask.journal;
+
+public enum RecordType {
+    BET,
+    CANCEL,
+    ROUND_LOCKED,
+    ROUND_SETTLED,
+    ROUND_VOIDED,
+    SNAPSHOT,
+    ROOM_CLOSED,
+    LEADERBOARD,
+    ROUND_WINNERS;
+
+    private static final RecordType[] VALUES = values();
+
+    public byte code() {
+        return (byte) (ordinal() + 1);
+    }
+
+    public static RecordType of(byte code) {
+        int index = code - 1;
+        return index >= 0 && index < VALUES.length ? VALUES[index] : null;
+    }
+}
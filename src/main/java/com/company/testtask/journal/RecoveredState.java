@@ -0,0 +1,26 @@
+package com.company.testtask.journal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+public class RecoveredState {
+
+    public static final RecoveredState EMPTY = new RecoveredState(1, List.of(), Map.of(), 0);
+
+    private final long openRoundId;
+
+    private final List<JournalRecord> openBets;
+
+    /**
+     * Bets of rounds that were locked but not settled before the restart, by round id in ascending
+     * order.
+     */
+    private final Map<Long, List<JournalRecord>> unsettledRounds;
+
+    private final long replayedRecords;
+}
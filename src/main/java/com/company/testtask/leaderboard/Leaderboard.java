@@ -0,0 +1,141 @@
+package com.company.testtask.leaderboard;
+
+import com.company.testtask.journal.JournalScore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Total payout per player id, kept ranked as results are added. An entry shows the nickname its
+ * player last won under, and a nickname lookup finds the player who last won under it. Past
+ * {@code limit} entries the lowest-ranked one is evicted, so a player who drops off starts again
+ * from their next win. Readers share a read lock, so queries never wait on each other and only
+ * briefly on a settled round being applied.
+ */
+public class Leaderboard {
+
+    private final Map<String, RankTree.Node> players = new HashMap<>();
+
+    private final Map<String, String> playerIds = new HashMap<>();
+
+    private final RankTree tree = new RankTree();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final int limit;
+
+    public Leaderboard() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public Leaderboard(int limit) {
+        this.limit = Math.max(1, limit);
+    }
+
+    public void add(String playerId, String nickname, long payout) {
+        lock.writeLock().lock();
+        try {
+            addUnlocked(playerId, nickname, payout);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(List<JournalScore> scores) {
+        lock.writeLock().lock();
+        try {
+            for (JournalScore score : scores) {
+                addUnlocked(score.getPlayerId(), score.getNickname(), score.getScore());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        return page(0, limit);
+    }
+
+    public List<LeaderboardEntry> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int end = Math.min(tree.size(), offset + limit);
+            if (offset >= end) {
+                return Collections.emptyList();
+            }
+            List<LeaderboardEntry> entries = new ArrayList<>(end - offset);
+            for (int i = offset; i < end; i++) {
+                RankTree.Node node = tree.select(i);
+                entries.add(new LeaderboardEntry(i + 1, node.nickname, node.score));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LeaderboardEntry rank(String nickname) {
+        lock.readLock().lock();
+        try {
+            String playerId = playerIds.get(nickname);
+            RankTree.Node node = playerId != null ? players.get(playerId) : null;
+            return node != null ? new LeaderboardEntry(tree.rank(node) + 1, node.nickname, node.score) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * All entries in rank order, for journaling.
+     */
+    public List<JournalScore> scores() {
+        lock.readLock().lock();
+        try {
+            List<JournalScore> scores = new ArrayList<>(tree.size());
+            for (int i = 0; i < tree.size(); i++) {
+                RankTree.Node node = tree.select(i);
+                scores.add(new JournalScore(node.playerId, node.nickname, node.score));
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addUnlocked(String playerId, String nickname, long payout) {
+        RankTree.Node previous = players.get(playerId);
+        long score = payout;
+        if (previous != null) {
+            tree.remove(previous);
+            score += previous.score;
+            if (!previous.nickname.equals(nickname)) {
+                playerIds.remove(previous.nickname, playerId);
+            }
+        }
+        players.put(playerId, tree.insert(playerId, nickname, score));
+        playerIds.put(nickname, playerId);
+        if (tree.size() > limit) {
+            evict(tree.select(tree.size() - 1));
+        }
+    }
+
+    private void evict(RankTree.Node node) {
+        tree.remove(node);
+        players.remove(node.playerId);
+        playerIds.remove(node.nickname, node.playerId);
+    }
+}
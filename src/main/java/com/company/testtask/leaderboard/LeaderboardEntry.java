@@ -0,0 +1,20 @@
+package com.company.testtask.leaderboard;
+
+import com.company.testtask.model.MoneyJson;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class LeaderboardEntry {
+
+    private final int rank;
+
+    private final String nickname;
+
+    @JsonSerialize(using = MoneyJson.Serializer.class)
+    private final long payout;
+}
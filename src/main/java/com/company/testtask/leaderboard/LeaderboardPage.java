@@ -0,0 +1,21 @@
+package com.company.testtask.leaderboard;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class LeaderboardPage {
+
+    private final String room;
+
+    private final LeaderboardPeriod period;
+
+    private final int total;
+
+    private final int offset;
+
+    private final List<LeaderboardEntry> entries;
+}
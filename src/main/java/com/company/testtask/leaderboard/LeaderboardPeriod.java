@@ -0,0 +1,16 @@
+package com.company.testtask.leaderboard;
+
+public enum LeaderboardPeriod {
+    ROUND,
+    DAILY,
+    ALL_TIME;
+
+    public static LeaderboardPeriod of(String value) {
+        for (LeaderboardPeriod period : values()) {
+            if (period.name().replace('_', '-').equalsIgnoreCase(value)) {
+                return period;
+            }
+        }
+        return null;
+    }
+}
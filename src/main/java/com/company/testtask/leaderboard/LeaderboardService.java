@@ -0,0 +1,131 @@
+package com.company.testtask.leaderboard;
+
+import com.company.testtask.config.ExecutionMode;
+import com.company.testtask.config.LeaderboardProperties;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.journal.JournalRecord;
+import com.company.testtask.journal.JournalScore;
+import com.company.testtask.journal.RecordType;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.service.RoundListener;
+import com.company.testtask.service.RoundListeners;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.LEADERBOARD_UPDATE_FAILED;
+
+/**
+ * Keeps per-room round, daily and all-time leaderboards. Settled rounds are applied on a
+ * dedicated thread from the locked bet book, so neither the round loop nor the live player
+ * registry is involved in ranking. Each round's winners are journaled, and every snapshot interval
+ * the whole boards are, so a restart rebuilds them from the journal.
+ */
+@Slf4j
+@Service
+public class LeaderboardService implements RoundListener {
+
+    private final Map<String, RoomLeaderboards> rooms = new ConcurrentHashMap<>();
+
+    private final RoundListeners roundListeners;
+
+    private final LeaderboardProperties properties;
+
+    private final Journal journal;
+
+    private final ThreadPoolExecutor updater;
+
+    public LeaderboardService(RoundListeners roundListeners, LeaderboardProperties properties, Journal journal) {
+        this.roundListeners = roundListeners;
+        this.properties = properties;
+        this.journal = journal;
+        this.updater = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                ExecutionMode.PLATFORM.threadFactory("leaderboard-"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PostConstruct
+    public void start() {
+        recover();
+        roundListeners.add(this);
+    }
+
+    /**
+     * Rebuilds each room from its last full leaderboard and the round winners journaled after it.
+     */
+    public void recover() {
+        journal.recoverLeaderboards().forEach((room, records) -> {
+            RoomLeaderboards leaderboards = new RoomLeaderboards(properties.getLimit(), today());
+            for (JournalRecord record : records) {
+                if (record.getType() == RecordType.LEADERBOARD) {
+                    leaderboards.restore(record.getLeaderboard());
+                } else {
+                    leaderboards.apply(record.getLeaderboard().getRound(),
+                            LocalDate.ofEpochDay(record.getLeaderboard().getDay()));
+                }
+            }
+            rooms.put(room, leaderboards);
+        });
+    }
+
+    /**
+     * Queues the round for the updater. A full queue applies it on the calling thread instead of
+     * dropping it, which holds the round loop back until the updater catches up.
+     */
+    @Override
+    public void onRoundSettled(RoundResult result) {
+        updater.execute(() -> apply(result));
+    }
+
+    public Leaderboard get(String room, LeaderboardPeriod period) {
+        RoomLeaderboards leaderboards = rooms.get(room);
+        return leaderboards != null ? leaderboards.get(period, today()) : null;
+    }
+
+    public void apply(RoundResult result) {
+        long roundId = result.getRound().getId();
+        try {
+            BetBook book = result.getBook();
+            long[] payouts = result.getPayouts();
+            List<JournalScore> winners = new ArrayList<>();
+            for (int row = 0; row < book.size(); row++) {
+                if (payouts[row] > 0) {
+                    winners.add(new JournalScore(book.getPlayerId(row), book.getNickname(row), payouts[row]));
+                }
+            }
+            String room = result.getRound().getRoom();
+            LocalDate today = today();
+            RoomLeaderboards leaderboards =
+                    rooms.computeIfAbsent(room, r -> new RoomLeaderboards(properties.getLimit(), today));
+            synchronized (leaderboards) {
+                leaderboards.apply(winners, today);
+                journal.forRoom(room).append(journal.isSnapshotDue(roundId)
+                        ? JournalRecord.leaderboard(roundId, leaderboards.snapshot())
+                        : JournalRecord.roundWinners(roundId, today.toEpochDay(), winners));
+            }
+        } catch (RuntimeException e) {
+            log.error(LEADERBOARD_UPDATE_FAILED, roundId, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdown();
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,151 @@
+package com.company.testtask.leaderboard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Size-augmented treap ordered by score descending, then player id ascending, so that rank and
+ * positional lookups are O(log n). Not thread-safe; {@link Leaderboard} guards it.
+ */
+final class RankTree {
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    Node insert(String playerId, String nickname, long score) {
+        Node node = new Node(playerId, nickname, score, random.nextInt());
+        Node[] parts = split(root, playerId, score);
+        root = merge(merge(parts[0], node), parts[1]);
+        return node;
+    }
+
+    void remove(Node node) {
+        root = remove(root, node.playerId, node.score);
+    }
+
+    int rank(Node target) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int comparison = compare(target.playerId, target.score, node);
+            if (comparison < 0) {
+                node = node.left;
+            } else if (comparison == 0) {
+                return rank + size(node.left);
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    Node select(int index) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    private static Node[] split(Node node, String playerId, long score) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(playerId, score, node) <= 0) {
+            Node[] parts = split(node.left, playerId, score);
+            node.left = parts[1];
+            update(node);
+            parts[1] = node;
+            return parts;
+        }
+        Node[] parts = split(node.right, playerId, score);
+        node.right = parts[0];
+        update(node);
+        parts[0] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node remove(Node node, String playerId, long score) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(playerId, score, node);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, playerId, score);
+        } else {
+            node.right = remove(node.right, playerId, score);
+        }
+        update(node);
+        return node;
+    }
+
+    private static int compare(String playerId, long score, Node node) {
+        int byScore = Long.compare(node.score, score);
+        return byScore != 0 ? byScore : playerId.compareTo(node.playerId);
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    static final class Node {
+
+        final String playerId;
+
+        final String nickname;
+
+        final long score;
+
+        final int priority;
+
+        int size = 1;
+
+        Node left;
+
+        Node right;
+
+        Node(String playerId, String nickname, long score, int priority) {
+            this.playerId = playerId;
+            this.nickname = nickname;
+            this.score = score;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.testtask.leaderboard;
+
+import com.company.testtask.journal.JournalLeaderboard;
+import com.company.testtask.journal.JournalScore;
+
+import java.time.LocalDate;
+import java.util.List;
+
+class RoomLeaderboards {
+
+    private final int limit;
+
+    private final Leaderboard allTime;
+
+    private volatile Leaderboard round;
+
+    private volatile Leaderboard daily;
+
+    private volatile LocalDate day;
+
+    RoomLeaderboards(int limit, LocalDate day) {
+        this.limit = limit;
+        this.allTime = new Leaderboard(limit);
+        this.round = new Leaderboard(limit);
+        this.daily = new Leaderboard(limit);
+        this.day = day;
+    }
+
+    synchronized void apply(List<JournalScore> winners, LocalDate today) {
+        round = board(winners);
+        if (!today.equals(day)) {
+            daily = new Leaderboard(limit);
+            day = today;
+        }
+        daily.addAll(winners);
+        allTime.addAll(winners);
+    }
+
+    /**
+     * Loads a journaled full leaderboard into these freshly created boards.
+     */
+    synchronized void restore(JournalLeaderboard leaderboard) {
+        round = board(leaderboard.getRound());
+        daily = board(leaderboard.getDaily());
+        day = LocalDate.ofEpochDay(leaderboard.getDay());
+        allTime.addAll(leaderboard.getAllTime());
+    }
+
+    synchronized JournalLeaderboard snapshot() {
+        return new JournalLeaderboard(day.toEpochDay(), round.scores(), daily.scores(), allTime.scores());
+    }
+
+    Leaderboard get(LeaderboardPeriod period, LocalDate today) {
+        return switch (period) {
+            case ROUND -> round;
+            case DAILY -> today.equals(day) ? daily : null;
+            case ALL_TIME -> allTime;
+        };
+    }
+
+    private Leaderboard board(List<JournalScore> scores) {
+        Leaderboard leaderboard = new Leaderboard(limit);
+        leaderboard.addAll(scores);
+        return leaderboard;
+    }
+}
@@ -0,0 +1,21 @@
+package com.company.testtask.liveness;
+
+class SessionHeartbeat {
+
+    volatile boolean awaitingPong;
+
+    volatile Timeout heartbeat;
+
+    volatile Timeout betDeadline;
+
+    void cancel() {
+        Timeout scheduled = heartbeat;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+        scheduled = betDeadline;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.company.testtask.liveness;
+
+import com.company.testtask.broadcast.FanOutBroadcaster;
+import com.company.testtask.config.LivenessProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.LIVENESS;
+
+/**
+ * Tracks per-session bet deadlines and ping/pong heartbeats on a {@link TimerWheel}. Sessions are
+ * reaped one by one as their timers fall due, independently of round settlement. A ping the
+ * broadcaster drops for a backed-up session was never sent, so it does not count as missed.
+ */
+@Component
+public class SessionLiveness {
+
+    private final LivenessProperties properties;
+
+    private final FanOutBroadcaster broadcaster;
+
+    private final ScheduledExecutorService roundScheduler;
+
+    private final TimerWheel wheel;
+
+    private final Counter betDeadlineCounter;
+
+    private final Counter unresponsiveCounter;
+
+    private volatile ScheduledFuture<?> ticker;
+
+    public SessionLiveness(LivenessProperties properties, FanOutBroadcaster broadcaster,
+                           ScheduledExecutorService roundScheduler, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.broadcaster = broadcaster;
+        this.roundScheduler = roundScheduler;
+        this.wheel = new TimerWheel(properties.getTick(), properties.getWheelSize(), roundScheduler, System.nanoTime());
+        this.betDeadlineCounter = meterRegistry.counter("game.liveness.reaped", "reason", "bet_deadline");
+        this.unresponsiveCounter = meterRegistry.counter("game.liveness.reaped", "reason", "unresponsive");
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = roundScheduler.scheduleAtFixedRate(wheel::advance,
+                properties.getTick(), properties.getTick(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ScheduledFuture<?> scheduled = ticker;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    public void register(WebSocketSession session, SessionReaper reaper) {
+        SessionHeartbeat heartbeat = new SessionHeartbeat();
+        session.getAttributes().put(LIVENESS, heartbeat);
+        heartbeat.betDeadline = wheel.schedule(() -> {
+            if (reaper.onBetDeadline(session)) {
+                betDeadlineCounter.increment();
+            }
+        }, properties.getBetDeadline());
+        scheduleHeartbeat(session, heartbeat, reaper);
+    }
+
+    public void onActivity(WebSocketSession session) {
+        SessionHeartbeat heartbeat = (SessionHeartbeat) session.getAttributes().get(LIVENESS);
+        if (heartbeat != null) {
+            heartbeat.awaitingPong = false;
+        }
+    }
+
+    public void unregister(WebSocketSession session) {
+        SessionHeartbeat heartbeat = (SessionHeartbeat) session.getAttributes().remove(LIVENESS);
+        if (heartbeat != null) {
+            heartbeat.cancel();
+        }
+    }
+
+    private void scheduleHeartbeat(WebSocketSession session, SessionHeartbeat heartbeat, SessionReaper reaper) {
+        heartbeat.heartbeat = wheel.schedule(() -> heartbeat(session, heartbeat, reaper), properties.getPingInterval());
+    }
+
+    private void heartbeat(WebSocketSession session, SessionHeartbeat heartbeat, SessionReaper reaper) {
+        if (!session.isOpen()) {
+            return;
+        }
+        if (heartbeat.awaitingPong) {
+            unresponsiveCounter.increment();
+            reaper.onUnresponsive(session);
+            return;
+        }
+        heartbeat.awaitingPong = true;
+        broadcaster.sendPing(session, () -> heartbeat.awaitingPong = false);
+        scheduleHeartbeat(session, heartbeat, reaper);
+    }
+}
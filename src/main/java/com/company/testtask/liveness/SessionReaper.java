@@ -0,0 +1,10 @@
+package com.company.testtask.liveness;
+
+import org.springframework.web.socket.WebSocketSession;
+
+public interface SessionReaper {
+
+    boolean onBetDeadline(WebSocketSession session);
+
+    void onUnresponsive(WebSocketSession session);
+}
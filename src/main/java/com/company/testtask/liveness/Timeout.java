@@ -0,0 +1,39 @@
+package com.company.testtask.liveness;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class Timeout {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    final Runnable task;
+
+    final long deadlineTick;
+
+    long remainingRounds;
+
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    Timeout(Runnable task, long deadlineTick) {
+        this.task = task;
+        this.deadlineTick = deadlineTick;
+    }
+
+    public boolean cancel() {
+        return state.compareAndSet(PENDING, CANCELLED);
+    }
+
+    public boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+
+    public boolean isExpired() {
+        return state.get() == EXPIRED;
+    }
+
+    boolean expire() {
+        return state.compareAndSet(PENDING, EXPIRED);
+    }
+}
@@ -0,0 +1,99 @@
+package com.company.testtask.liveness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timer wheel. Scheduling and cancelling are O(1) from any thread; {@link #advance()} is
+ * driven by a single ticker thread and only touches the buckets of elapsed ticks, so thousands of
+ * idle timers cost nothing until they are due. Cancelled timeouts are dropped lazily when their
+ * bucket comes round. Expired tasks run on the given executor.
+ */
+public class TimerWheel {
+
+    private final long tickNanos;
+
+    private final int mask;
+
+    private final List<Timeout>[] buckets;
+
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    private final Executor executor;
+
+    private final long startedAt;
+
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, Executor executor, long nowNanos) {
+        if (tickMillis <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size a power of two");
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = wheelSize - 1;
+        this.buckets = new List[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.executor = executor;
+        this.startedAt = nowNanos;
+    }
+
+    public Timeout schedule(Runnable task, long delayMillis) {
+        return schedule(task, delayMillis, System.nanoTime());
+    }
+
+    public Timeout schedule(Runnable task, long delayMillis, long nowNanos) {
+        long deadline = nowNanos - startedAt + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        Timeout timeout = new Timeout(task, (deadline + tickNanos - 1) / tickNanos);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    public void advance() {
+        advance(System.nanoTime());
+    }
+
+    public synchronized void advance(long nowNanos) {
+        long target = (nowNanos - startedAt) / tickNanos;
+        while (tick <= target) {
+            transferPending();
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long due = Math.max(timeout.deadlineTick, tick);
+            timeout.remainingRounds = (due - tick) / buckets.length;
+            buckets[(int) (due & mask)].add(timeout);
+        }
+    }
+
+    private void expire(List<Timeout> bucket) {
+        int kept = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            } else if (timeout.expire()) {
+                executor.execute(timeout.task);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.testtask.metrics;
+
+import com.company.testtask.model.Round;
+import com.company.testtask.protocol.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bet and round lifecycle meters. Percentiles and histograms for the {@code game.*} timers are
+ * configured through {@code management.metrics.distribution} rather than per meter.
+ */
+@Component
+public class GameMetrics {
+
+    private final Counter acceptedCounter;
+
+    private final Map<ErrorCode, Counter> rejectedCounters = new EnumMap<>(ErrorCode.class);
+
+    private final Timer settlementTimer;
+
+    private final Timer broadcastTimer;
+
+    private final Timer resultLatencyTimer;
+
+    public GameMetrics(MeterRegistry meterRegistry) {
+        this.acceptedCounter = meterRegistry.counter("game.bets.accepted");
+        for (ErrorCode code : ErrorCode.values()) {
+            if (code == ErrorCode.SESSION_REMOVED) {
+                continue;
+            }
+            rejectedCounters.put(code, Counter.builder("game.bets.rejected")
+                    .tag("reason", code.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.settlementTimer = Timer.builder("game.round.settlement")
+                .description("Time to draw and settle a locked round")
+                .register(meterRegistry);
+        this.broadcastTimer = Timer.builder("game.round.broadcast")
+                .description("Time to hand a settled round to the broadcaster")
+                .register(meterRegistry);
+        this.resultLatencyTimer = Timer.builder("game.round.result.latency")
+                .description("Time from round close to the last result delivered")
+                .register(meterRegistry);
+    }
+
+    public void betAccepted() {
+        acceptedCounter.increment();
+    }
+
+    public void betRejected(ErrorCode reason) {
+        rejectedCounters.get(reason).increment();
+    }
+
+    public void roundCompleted(Round round) {
+        settlementTimer.record(round.getSettlementNanos(), TimeUnit.NANOSECONDS);
+        broadcastTimer.record(round.getBroadcastNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public void roundDelivered(Round round) {
+        resultLatencyTimer.record(System.nanoTime() - round.getLockedNanos(), TimeUnit.NANOSECONDS);
+    }
+}
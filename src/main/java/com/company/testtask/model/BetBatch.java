@@ -0,0 +1,79 @@
+package com.company.testtask.model;
+
+/**
+ * Bets submitted in one bulk frame on behalf of an aggregator's sub-accounts, held column-wise
+ * like {@link BetBook}. A {@code null} status marks an item that is still to be placed.
+ */
+public class BetBatch {
+
+    private final String[] accounts;
+
+    private final String[] playerIds;
+
+    private final String[] nicknames;
+
+    private final int[] numbers;
+
+    private final long[] bets;
+
+    private final BetStatus[] statuses;
+
+    private int size;
+
+    public BetBatch(int capacity) {
+        this.accounts = new String[capacity];
+        this.playerIds = new String[capacity];
+        this.nicknames = new String[capacity];
+        this.numbers = new int[capacity];
+        this.bets = new long[capacity];
+        this.statuses = new BetStatus[capacity];
+    }
+
+    public void add(String account, String nickname, int number, long bet) {
+        accounts[size] = account;
+        nicknames[size] = nickname;
+        numbers[size] = number;
+        bets[size] = bet;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getAccount(int item) {
+        return accounts[item];
+    }
+
+    public String getPlayerId(int item) {
+        return playerIds[item];
+    }
+
+    public void setPlayerId(int item, String playerId) {
+        playerIds[item] = playerId;
+    }
+
+    public String getNickname(int item) {
+        return nicknames[item];
+    }
+
+    public int getNumber(int item) {
+        return numbers[item];
+    }
+
+    public long getBet(int item) {
+        return bets[item];
+    }
+
+    public BetStatus getStatus(int item) {
+        return statuses[item];
+    }
+
+    public void setStatus(int item, BetStatus status) {
+        statuses[item] = status;
+    }
+
+    public boolean isPending(int item) {
+        return statuses[item] == null;
+    }
+}
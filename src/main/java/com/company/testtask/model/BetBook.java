@@ -0,0 +1,204 @@
+package com.company.testtask.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Column-wise bets of one round. The book is written during its own epoch only: writers bracket
+ * their updates with {@link #enter()} and {@link #exit()}, and {@link #lock()} seals the epoch and
+ * waits for the writers already inside to leave, after which the columns are frozen and may be
+ * read without locking. A writer that finds the book sealed retries against the next book.
+ * <p>
+ * The epoch only separates writers from the lock. Writers still exclude each other through the
+ * book's monitor, which {@link #put} and {@link #remove} expect the caller to hold, so one caller
+ * can read a row and update it atomically.
+ */
+public class BetBook {
+
+    public static final int DEFAULT_CAPACITY = 1 << 10;
+
+    public static final byte VOID = 0;
+
+    private static final int SEALED = Integer.MIN_VALUE;
+
+    private final long roundId;
+
+    private final Map<String, Integer> rows;
+
+    private String[] playerIds;
+
+    private String[] nicknames;
+
+    private byte[] numbers;
+
+    private long[] bets;
+
+    private int size;
+
+    private int voided;
+
+    private volatile boolean unjournaled;
+
+    private final AtomicInteger epoch = new AtomicInteger();
+
+    public BetBook() {
+        this(1, DEFAULT_CAPACITY);
+    }
+
+    public BetBook(int capacity) {
+        this(1, capacity);
+    }
+
+    public BetBook(long roundId, int capacity) {
+        this.roundId = roundId;
+        int initial = Math.max(DEFAULT_CAPACITY, capacity);
+        rows = new HashMap<>(initial * 4 / 3 + 1);
+        playerIds = new String[initial];
+        nicknames = new String[initial];
+        numbers = new byte[initial];
+        bets = new long[initial];
+    }
+
+    public boolean enter() {
+        if (epoch.getAndIncrement() < 0) {
+            epoch.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void exit() {
+        epoch.decrementAndGet();
+    }
+
+    public boolean place(String playerId, String nickname, int number, long bet) {
+        if (!enter()) {
+            return false;
+        }
+        try {
+            synchronized (this) {
+                put(playerId, nickname, number, bet);
+            }
+            return true;
+        } finally {
+            exit();
+        }
+    }
+
+    public boolean cancel(String playerId) {
+        if (!enter()) {
+            return false;
+        }
+        try {
+            synchronized (this) {
+                return remove(playerId);
+            }
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Places a bet, replacing any earlier bet of the player. The caller must have entered the book
+     * and hold its monitor.
+     */
+    public void put(String playerId, String nickname, int number, long bet) {
+        Integer row = rows.get(playerId);
+        if (row == null) {
+            if (size == numbers.length) {
+                grow();
+            }
+            row = size++;
+            rows.put(playerId, row);
+            playerIds[row] = playerId;
+        } else if (numbers[row] == VOID) {
+            voided--;
+        }
+        nicknames[row] = nickname;
+        numbers[row] = (byte) number;
+        bets[row] = bet;
+    }
+
+    /**
+     * Voids the player's bet. The caller must have entered the book and hold its monitor.
+     */
+    public boolean remove(String playerId) {
+        Integer row = rows.get(playerId);
+        if (row == null || numbers[row] == VOID) {
+            return false;
+        }
+        numbers[row] = VOID;
+        voided++;
+        return true;
+    }
+
+    public void lock() {
+        epoch.getAndUpdate(state -> state | SEALED);
+        while (epoch.get() != SEALED) {
+            Thread.onSpinWait();
+        }
+    }
+
+    public boolean isLocked() {
+        return epoch.get() < 0;
+    }
+
+    /**
+     * Marks a round whose lock or settlement could not be journaled. It is settled all the same, but
+     * a restart cannot replay it.
+     */
+    public void markUnjournaled() {
+        unjournaled = true;
+    }
+
+    public boolean isUnjournaled() {
+        return unjournaled;
+    }
+
+    public long getRoundId() {
+        return roundId;
+    }
+
+    public int rowOf(String playerId) {
+        Integer row = rows.get(playerId);
+        return row != null ? row : -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBetCount() {
+        return size - voided;
+    }
+
+    public boolean isVoid(int row) {
+        return numbers[row] == VOID;
+    }
+
+    public String getPlayerId(int row) {
+        return playerIds[row];
+    }
+
+    public String getNickname(int row) {
+        return nicknames[row];
+    }
+
+    public byte[] getNumbers() {
+        return numbers;
+    }
+
+    public long[] getBets() {
+        return bets;
+    }
+
+    private void grow() {
+        int capacity = numbers.length << 1;
+        playerIds = Arrays.copyOf(playerIds, capacity);
+        nicknames = Arrays.copyOf(nicknames, capacity);
+        numbers = Arrays.copyOf(numbers, capacity);
+        bets = Arrays.copyOf(bets, capacity);
+    }
+}
@@ -0,0 +1,32 @@
+package com.company.testtask.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+public class BetRequest {
+
+    public static final long NO_BET_ID = -1;
+
+    private String nickname;
+
+    private int number;
+
+    private long bet = Money.MISSING;
+
+    /**
+     * Client-chosen id echoed in the bet's acknowledgement or error, if the client sent one.
+     */
+    private long betId = NO_BET_ID;
+
+    public BetRequest reset() {
+        nickname = null;
+        number = 0;
+        bet = Money.MISSING;
+        betId = NO_BET_ID;
+        return this;
+    }
+}
@@ -0,0 +1,9 @@
+package com.company.testtask.model;
+
+public enum BetStatus {
+    ACCEPTED,
+    NICKNAME_TAKEN,
+    PLAYER_NOT_FOUND,
+    VALIDATION_FAILED,
+    UNAVAILABLE
+}
@@ -0,0 +1,140 @@
+package com.company.testtask.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Money amounts are carried as {@code long} minor units at a fixed {@link #SCALE}.
+ * Payouts are rounded half-even to that scale.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    public static final long UNIT = 100;
+    public static final int MAX_INTEGER_DIGITS = 13;
+    public static final long MAX_AMOUNT = 999_999_999_999_999L;
+
+    public static final long MISSING = Long.MIN_VALUE;
+    public static final long OUT_OF_BOUNDS = Long.MIN_VALUE + 1;
+
+    private static final long PAYOUT_NUMERATOR = 99;
+    private static final long PAYOUT_DENOMINATOR = 10;
+
+    private Money() {}
+
+    public static long of(BigDecimal amount) {
+        if (amount == null) {
+            return MISSING;
+        }
+        if (amount.scale() > SCALE && amount.stripTrailingZeros().scale() > SCALE) {
+            return OUT_OF_BOUNDS;
+        }
+        BigDecimal minor = amount.movePointRight(SCALE);
+        if (minor.abs().compareTo(BigDecimal.valueOf(MAX_AMOUNT)) > 0) {
+            return OUT_OF_BOUNDS;
+        }
+        return minor.longValue();
+    }
+
+    public static long of(long units) {
+        return units > MAX_AMOUNT / UNIT || units < -MAX_AMOUNT / UNIT ? OUT_OF_BOUNDS : units * UNIT;
+    }
+
+    /**
+     * Parses a decimal amount. Surrounding whitespace is ignored, as when Jackson binds a quoted
+     * number.
+     */
+    public static long parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        while (offset < end && Character.isWhitespace(chars[offset])) {
+            offset++;
+        }
+        while (end > offset && Character.isWhitespace(chars[end - 1])) {
+            end--;
+        }
+        length = end - offset;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+
+        long minor = 0;
+        int integerDigits = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return parseDecimal(chars, offset, length);
+            }
+            digits = true;
+            if (fractionDigits >= SCALE) {
+                if (c != '0') {
+                    return OUT_OF_BOUNDS;
+                }
+                continue;
+            }
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            } else if ((minor != 0 || c != '0') && ++integerDigits > MAX_INTEGER_DIGITS) {
+                return OUT_OF_BOUNDS;
+            }
+            minor = minor * 10 + (c - '0');
+        }
+
+        if (!digits) {
+            return OUT_OF_BOUNDS;
+        }
+        for (int scale = Math.max(fractionDigits, 0); scale < SCALE; scale++) {
+            minor *= 10;
+        }
+        return negative ? -minor : minor;
+    }
+
+    public static long payout(long bet) {
+        return divideHalfEven(bet * PAYOUT_NUMERATOR, PAYOUT_DENOMINATOR);
+    }
+
+    public static BigDecimal toBigDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public static String format(long minor) {
+        return appendTo(new StringBuilder(24), minor).toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder builder, long minor) {
+        if (minor < 0) {
+            builder.append('-');
+            minor = -minor;
+        }
+        long fraction = minor % UNIT;
+        builder.append(minor / UNIT).append('.').append(fraction / 10);
+        if (fraction % 10 != 0) {
+            builder.append(fraction % 10);
+        }
+        return builder;
+    }
+
+    static long divideHalfEven(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor) * 2;
+        if (remainder > divisor || (remainder == divisor && (quotient & 1) != 0)) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+    private static long parseDecimal(char[] chars, int offset, int length) {
+        try {
+            return of(new BigDecimal(chars, offset, length));
+        } catch (NumberFormatException e) {
+            return OUT_OF_BOUNDS;
+        }
+    }
+}
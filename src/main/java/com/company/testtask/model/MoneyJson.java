@@ -0,0 +1,47 @@
+package com.company.testtask.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+public final class MoneyJson {
+
+    private MoneyJson() {}
+
+    public static class Serializer extends JsonSerializer<Long> {
+
+        @Override
+        public void serialize(Long value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeNumber(Money.toBigDecimal(value));
+        }
+    }
+
+    /**
+     * Reads amounts the way {@code JsonBetParser} does: numbers and quoted numbers are parsed with
+     * {@link Money#parse}, and a null or missing amount stays {@link Money#MISSING} so validation
+     * reports it rather than binding zero.
+     */
+    public static class Deserializer extends JsonDeserializer<Long> {
+
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT
+                    || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                return Money.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            }
+            return (Long) context.handleUnexpectedToken(Long.class, parser);
+        }
+
+        @Override
+        public Long getNullValue(DeserializationContext context) {
+            return Money.MISSING;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.company.testtask.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -9,7 +11,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.math.BigDecimal;
+import static com.company.testtask.constant.Constants.MAX_NUMBER;
+import static com.company.testtask.constant.Constants.MIN_BET;
+import static com.company.testtask.constant.Constants.MIN_NUMBER;
 
 @Getter
 @Setter
@@ -20,16 +24,22 @@ public class Player {
     @NotNull
     private String nickname;
 
-    @Min(1)
-    @Max(10)
+    @Min(MIN_NUMBER)
+    @Max(MAX_NUMBER)
     private int number;
 
-    @NotNull
-    @Min(1)
-    private BigDecimal bet;
+    @ValidMoney(min = MIN_BET)
+    @JsonSerialize(using = MoneyJson.Serializer.class)
+    @JsonDeserialize(using = MoneyJson.Deserializer.class)
+    private long bet = Money.MISSING;
 
     @JsonIgnore
-    private BigDecimal payout;
+    private long payout;
     @JsonIgnore
     private boolean won;
+
+    @JsonIgnore
+    public boolean isRegistered() {
+        return nickname != null && bet != Money.MISSING;
+    }
 }
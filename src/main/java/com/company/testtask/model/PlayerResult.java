@@ -0,0 +1,43 @@
+package com.company.testtask.model;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import static com.company.testtask.constant.Constants.LOSING_MESSAGE;
+import static com.company.testtask.constant.Constants.RANK_MESSAGE;
+import static com.company.testtask.constant.Constants.WINNING_MESSAGE;
+
+@Getter
+@ToString
+public class PlayerResult {
+
+    public static final PlayerResult LOST = new PlayerResult(false, 0);
+
+    private final boolean won;
+
+    private final long payout;
+
+    private final int rank;
+
+    public PlayerResult(boolean won, long payout) {
+        this(won, payout, 0);
+    }
+
+    public PlayerResult(boolean won, long payout, int rank) {
+        this.won = won;
+        this.payout = payout;
+        this.rank = rank;
+    }
+
+    public String getMessage() {
+        return won ? appendMessage(new StringBuilder(64)).toString() : LOSING_MESSAGE;
+    }
+
+    public StringBuilder appendMessage(StringBuilder message) {
+        if (!won) {
+            return message.append(LOSING_MESSAGE);
+        }
+        Money.appendTo(message.append(WINNING_MESSAGE), payout);
+        return rank > 0 ? message.append(RANK_MESSAGE).append(rank) : message;
+    }
+}
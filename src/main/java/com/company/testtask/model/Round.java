@@ -0,0 +1,66 @@
+package com.company.testtask.model;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import static com.company.testtask.constant.Constants.DEFAULT_ROOM;
+
+@Getter
+@ToString
+public class Round {
+
+    private final String room;
+    private final long id;
+    private final long openedAt;
+
+    private volatile RoundState state = RoundState.OPEN;
+    private volatile long lockedNanos;
+    private volatile long settlingNanos;
+    private volatile long broadcastNanos;
+    private volatile long completedNanos;
+    private volatile boolean completed;
+    private volatile int betCount;
+
+    public Round(long id, long openedAt) {
+        this(DEFAULT_ROOM, id, openedAt);
+    }
+
+    public Round(String room, long id, long openedAt) {
+        this.room = room;
+        this.id = id;
+        this.openedAt = openedAt;
+    }
+
+    public void lock(int betCount) {
+        this.betCount = betCount;
+        this.lockedNanos = System.nanoTime();
+        this.state = RoundState.LOCKED;
+    }
+
+    public void settle() {
+        this.settlingNanos = System.nanoTime();
+        this.state = RoundState.SETTLING;
+    }
+
+    public void broadcast() {
+        this.broadcastNanos = System.nanoTime();
+        this.state = RoundState.BROADCAST;
+    }
+
+    public void complete() {
+        this.completedNanos = System.nanoTime();
+        this.completed = true;
+    }
+
+    /**
+     * Phase stamps are {@link System#nanoTime()} readings, so durations are monotonic and keep their
+     * sub-millisecond part.
+     */
+    public long getSettlementNanos() {
+        return broadcastNanos - settlingNanos;
+    }
+
+    public long getBroadcastNanos() {
+        return completedNanos - broadcastNanos;
+    }
+}
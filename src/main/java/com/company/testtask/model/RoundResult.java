@@ -0,0 +1,79 @@
+package com.company.testtask.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public class RoundResult {
+
+    private final Round round;
+
+    private final BetBook book;
+
+    private final byte[] draws;
+
+    private final long[] payouts;
+
+    private final WinnersList winnersList;
+
+    @Getter(AccessLevel.NONE)
+    private long[] rankedPayouts;
+
+    public int getBetCount() {
+        return book.getBetCount();
+    }
+
+    public boolean isWon(int row) {
+        return book.getNumbers()[row] == draws[row];
+    }
+
+    public PlayerResult getPlayerResult(String playerId) {
+        int row = book.rowOf(playerId);
+        if (row < 0 || book.isVoid(row)) {
+            return null;
+        }
+        return isWon(row) ? new PlayerResult(true, payouts[row]) : PlayerResult.LOST;
+    }
+
+    public PlayerResult getRankedResult(String playerId) {
+        PlayerResult result = getPlayerResult(playerId);
+        if (result == null || !result.isWon()) {
+            return result;
+        }
+        return new PlayerResult(true, result.getPayout(), rankOf(result.getPayout()));
+    }
+
+    private int rankOf(long payout) {
+        long[] ranked = rankedPayouts();
+        int low = 0;
+        int high = ranked.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ranked[mid] <= payout) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return ranked.length - low + 1;
+    }
+
+    private synchronized long[] rankedPayouts() {
+        if (rankedPayouts == null) {
+            long[] winning = new long[book.size()];
+            int count = 0;
+            for (int row = 0; row < book.size(); row++) {
+                if (payouts[row] > 0) {
+                    winning[count++] = payouts[row];
+                }
+            }
+            rankedPayouts = Arrays.copyOf(winning, count);
+            Arrays.sort(rankedPayouts);
+        }
+        return rankedPayouts;
+    }
+}
@@ -0,0 +1,8 @@
+package com.company.testtask.model;
+
+public enum RoundState {
+    OPEN,
+    LOCKED,
+    SETTLING,
+    BROADCAST
+}
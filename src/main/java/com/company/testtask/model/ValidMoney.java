@@ -0,0 +1,69 @@
+package com.company.testtask.model;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static com.company.testtask.constant.Constants.MIN_VALUE_MESSAGE;
+import static com.company.testtask.constant.Constants.NOT_NULL_MESSAGE;
+import static com.company.testtask.constant.Constants.OUT_OF_BOUNDS_MESSAGE;
+
+/**
+ * Bean Validation counterpart of the bet checks in {@code BetValidator} for amounts held as
+ * {@link Money} minor units. It reports the same messages the former {@code @NotNull}, {@code @Min}
+ * and {@code @Digits} constraints did.
+ */
+@Documented
+@Constraint(validatedBy = ValidMoney.Validator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidMoney {
+
+    String message() default NOT_NULL_MESSAGE;
+
+    /**
+     * Smallest accepted amount in whole units.
+     */
+    long min() default 0;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<ValidMoney, Long> {
+
+        private static final String OUT_OF_BOUNDS = String.format(OUT_OF_BOUNDS_MESSAGE,
+                Money.MAX_INTEGER_DIGITS, Money.SCALE);
+
+        private long min;
+
+        private String minMessage;
+
+        @Override
+        public void initialize(ValidMoney constraint) {
+            min = Money.of(constraint.min());
+            minMessage = MIN_VALUE_MESSAGE + constraint.min();
+        }
+
+        @Override
+        public boolean isValid(Long amount, ConstraintValidatorContext context) {
+            String violation = amount == null || amount == Money.MISSING ? NOT_NULL_MESSAGE
+                    : amount == Money.OUT_OF_BOUNDS || amount > Money.MAX_AMOUNT ? OUT_OF_BOUNDS
+                    : amount < min ? minMessage
+                    : null;
+            if (violation == null) {
+                return true;
+            }
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate(violation).addConstraintViolation();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.testtask.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class Winner {
+
+    private final String nickname;
+
+    private final long payout;
+}
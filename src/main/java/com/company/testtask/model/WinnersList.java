@@ -0,0 +1,49 @@
+package com.company.testtask.model;
+
+import lombok.Getter;
+
+import java.util.List;
+
+import static com.company.testtask.constant.Constants.TOTAL_WINNERS_MESSAGE;
+import static com.company.testtask.constant.Constants.WINNERS_LIST_MESSAGE;
+
+@Getter
+public class WinnersList {
+
+    public static final WinnersList EMPTY = new WinnersList(0, List.of(), 0);
+
+    private final long roundId;
+
+    private final List<Winner> winners;
+
+    private final int totalWinners;
+
+    private final String text;
+
+    public WinnersList(long roundId, List<Winner> winners, int totalWinners) {
+        this.roundId = roundId;
+        this.winners = List.copyOf(winners);
+        this.totalWinners = totalWinners;
+        this.text = encode();
+    }
+
+    public WinnersList top(int limit) {
+        return limit >= winners.size() ? this : new WinnersList(roundId, winners.subList(0, limit), totalWinners);
+    }
+
+    public boolean isTruncated() {
+        return totalWinners > winners.size();
+    }
+
+    private String encode() {
+        StringBuilder text = new StringBuilder(WINNERS_LIST_MESSAGE);
+        for (Winner winner : winners) {
+            Money.appendTo(text.append(winner.getNickname()).append(": "), winner.getPayout())
+                    .append("\n");
+        }
+        if (isTruncated()) {
+            text.append(TOTAL_WINNERS_MESSAGE).append(totalWinners);
+        }
+        return text.toString().trim();
+    }
+}
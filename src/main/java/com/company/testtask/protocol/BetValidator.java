@@ -0,0 +1,56 @@
+package com.company.testtask.protocol;
+
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.Money;
+
+import static com.company.testtask.constant.Constants.MAX_NUMBER;
+import static com.company.testtask.constant.Constants.MAX_VALUE_MESSAGE;
+import static com.company.testtask.constant.Constants.MIN_BET;
+import static com.company.testtask.constant.Constants.MIN_NUMBER;
+import static com.company.testtask.constant.Constants.MIN_VALUE_MESSAGE;
+import static com.company.testtask.constant.Constants.NOT_NULL_MESSAGE;
+import static com.company.testtask.constant.Constants.OUT_OF_BOUNDS_MESSAGE;
+import static com.company.testtask.constant.Constants.VALIDATION_FAILED;
+
+public final class BetValidator {
+
+    private static final long MIN_BET_AMOUNT = Money.of(MIN_BET);
+
+    private static final String NICKNAME_NOT_NULL = "nickname " + NOT_NULL_MESSAGE + "; ";
+    private static final String NUMBER_TOO_SMALL = "number " + MIN_VALUE_MESSAGE + MIN_NUMBER + "; ";
+    private static final String NUMBER_TOO_LARGE = "number " + MAX_VALUE_MESSAGE + MAX_NUMBER + "; ";
+    private static final String BET_NOT_NULL = "bet " + NOT_NULL_MESSAGE + "; ";
+    private static final String BET_TOO_SMALL = "bet " + MIN_VALUE_MESSAGE + MIN_BET + "; ";
+    private static final String BET_OUT_OF_BOUNDS = "bet " + String.format(OUT_OF_BOUNDS_MESSAGE,
+            Money.MAX_INTEGER_DIGITS, Money.SCALE) + "; ";
+
+    private BetValidator() {}
+
+    public static String validate(BetRequest bet) {
+        String nicknameViolation = bet.getNickname() == null ? NICKNAME_NOT_NULL : null;
+        String numberViolation = bet.getNumber() < MIN_NUMBER ? NUMBER_TOO_SMALL
+                : bet.getNumber() > MAX_NUMBER ? NUMBER_TOO_LARGE
+                : null;
+        long amount = bet.getBet();
+        String betViolation = amount == Money.MISSING ? BET_NOT_NULL
+                : amount == Money.OUT_OF_BOUNDS || amount > Money.MAX_AMOUNT ? BET_OUT_OF_BOUNDS
+                : amount < MIN_BET_AMOUNT ? BET_TOO_SMALL
+                : null;
+
+        if (nicknameViolation == null && numberViolation == null && betViolation == null) {
+            return null;
+        }
+
+        StringBuilder message = new StringBuilder(VALIDATION_FAILED);
+        append(message, nicknameViolation);
+        append(message, numberViolation);
+        append(message, betViolation);
+        return message.toString();
+    }
+
+    private static void append(StringBuilder message, String violation) {
+        if (violation != null) {
+            message.append(violation);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.company.testtask.protocol;
+
+import com.company.testtask.model.BetBatch;
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.Winner;
+import com.company.testtask.model.WinnersList;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-layout frames of the binary subprotocol. All integers are big-endian,
+ * amounts are signed 64-bit minor units at {@link com.company.testtask.model.Money#SCALE}
+ * and strings are an unsigned 16-bit byte length followed by UTF-8 bytes. A client may end a
+ * BET with a bet id of its choosing; the BET_ACK or ERROR answering that bet then ends with the
+ * same id, so acknowledgements can be matched even when some bets get no answer.
+ *
+ * <pre>
+ * BET         type | number u8 | bet i64 | nickname [| id u32]
+ * BET_ACK     type [| id u32]
+ * BULK_BET    type | count u16 | count * (number u8 | bet i64 | account | nickname)
+ * RESULT_WON  type | round i64 | payout i64
+ * RESULT_LOST type | round i64
+ * WINNERS     type | round i64 | total i32 | count u16 | count * (nickname | payout i64)
+ * BULK_RESULT type | count u16 | count * status u8
+ * BULK_SETTLED type | round i64 | count i32 | count * (account | payout i64)
+ * ERROR       type | code u8 | message [| id u32]
+ * </pre>
+ */
+public final class BinaryFrames {
+
+    public static final byte BET = 0x01;
+    public static final byte BET_ACK = 0x02;
+    public static final byte WINNERS_REQUEST = 0x03;
+    public static final byte BULK_BET = 0x04;
+    public static final byte RESULT_WON = 0x11;
+    public static final byte RESULT_LOST = 0x12;
+    public static final byte WINNERS = 0x13;
+    public static final byte RESULT_RANKED = 0x14;
+    public static final byte BULK_RESULT = 0x15;
+    public static final byte BULK_SETTLED = 0x16;
+    public static final byte ERROR = 0x1F;
+
+    public static final int AMOUNT_LENGTH = 8;
+    public static final int BET_HEADER_LENGTH = 1 + 1 + AMOUNT_LENGTH;
+    public static final int BET_ACK_LENGTH = 1;
+    public static final int BET_ID_LENGTH = 4;
+    public static final int RESULT_WON_LENGTH = 1 + 8 + AMOUNT_LENGTH;
+    public static final int RESULT_LOST_LENGTH = 1 + 8;
+    public static final int RESULT_RANKED_LENGTH = RESULT_WON_LENGTH + 4;
+    public static final int WINNERS_HEADER_LENGTH = 1 + 8 + 4 + 2;
+    public static final int ERROR_HEADER_LENGTH = 1 + 1;
+    public static final int BULK_HEADER_LENGTH = 1 + 2;
+    public static final int BULK_SETTLED_HEADER_LENGTH = 1 + 8 + 4;
+    public static final int MAX_BULK_ITEMS = 0xFFFF;
+    public static final byte BULK_ACCEPTED = 0;
+
+    private static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    private BinaryFrames() {}
+
+    public static ByteBuffer encodeBet(String nickname, int number, long bet) {
+        byte[] nicknameBytes = encodeString(nickname);
+        ByteBuffer frame = ByteBuffer.allocate(BET_HEADER_LENGTH + 2 + nicknameBytes.length);
+        frame.put(BET).put((byte) number).putLong(bet);
+        putString(frame, nicknameBytes);
+        return frame.flip();
+    }
+
+    public static ByteBuffer encodeBet(String nickname, int number, long bet, long betId) {
+        ByteBuffer unnumbered = encodeBet(nickname, number, bet);
+        return ByteBuffer.allocate(unnumbered.remaining() + BET_ID_LENGTH)
+                .put(unnumbered)
+                .putInt((int) betId)
+                .flip();
+    }
+
+    public static boolean decodeBet(ByteBuffer frame, BetRequest bet) {
+        bet.reset();
+        ByteBuffer buffer = frame.duplicate();
+        if (buffer.remaining() < BET_HEADER_LENGTH + 2 || buffer.get() != BET) {
+            return false;
+        }
+        try {
+            bet.setNumber(Byte.toUnsignedInt(buffer.get()));
+            bet.setBet(buffer.getLong());
+            bet.setNickname(getString(buffer));
+            if (buffer.remaining() == BET_ID_LENGTH) {
+                bet.setBetId(Integer.toUnsignedLong(buffer.getInt()));
+            }
+            return !buffer.hasRemaining();
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+    }
+
+    public static ByteBuffer encodeBulkBet(BetBatch batch) {
+        List<byte[]> accounts = new ArrayList<>(batch.size());
+        List<byte[]> nicknames = new ArrayList<>(batch.size());
+        int length = BULK_HEADER_LENGTH;
+        for (int i = 0; i < batch.size(); i++) {
+            accounts.add(encodeString(batch.getAccount(i)));
+            nicknames.add(encodeString(batch.getNickname(i)));
+            length += 1 + AMOUNT_LENGTH + 2 + accounts.get(i).length + 2 + nicknames.get(i).length;
+        }
+        ByteBuffer frame = ByteBuffer.allocate(length).put(BULK_BET).putShort((short) batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            frame.put((byte) batch.getNumber(i)).putLong(batch.getBet(i));
+            putString(frame, accounts.get(i));
+            putString(frame, nicknames.get(i));
+        }
+        return frame.flip();
+    }
+
+    public static boolean isBulkBet(ByteBuffer frame) {
+        return frame.hasRemaining() && frame.get(frame.position()) == BULK_BET;
+    }
+
+    /**
+     * Returns the bets of a bulk frame, or {@code null} if the frame is malformed or carries more
+     * than {@code maxItems} bets.
+     */
+    public static BetBatch decodeBulkBet(ByteBuffer frame, int maxItems) {
+        ByteBuffer buffer = frame.duplicate();
+        if (buffer.remaining() < BULK_HEADER_LENGTH || buffer.get() != BULK_BET) {
+            return null;
+        }
+        int count = Short.toUnsignedInt(buffer.getShort());
+        if (count > maxItems) {
+            return null;
+        }
+        BetBatch batch = new BetBatch(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                int number = Byte.toUnsignedInt(buffer.get());
+                long bet = buffer.getLong();
+                String account = getString(buffer);
+                batch.add(account, getString(buffer), number, bet);
+            }
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+        return buffer.hasRemaining() ? null : batch;
+    }
+
+    /**
+     * Encodes one status byte per bet of the batch: {@link #BULK_ACCEPTED} or the
+     * {@link ErrorCode#code()} the bet was rejected with.
+     */
+    public static ByteBuffer encodeBulkResult(byte[] statuses) {
+        return ByteBuffer.allocate(BULK_HEADER_LENGTH + statuses.length)
+                .put(BULK_RESULT)
+                .putShort((short) statuses.length)
+                .put(statuses)
+                .flip();
+    }
+
+    public static byte[] decodeBulkResult(ByteBuffer frame) {
+        ByteBuffer buffer = frame.duplicate();
+        if (buffer.remaining() < BULK_HEADER_LENGTH || buffer.get() != BULK_RESULT) {
+            return null;
+        }
+        int count = Short.toUnsignedInt(buffer.getShort());
+        if (buffer.remaining() != count) {
+            return null;
+        }
+        byte[] statuses = new byte[count];
+        buffer.get(statuses);
+        return statuses;
+    }
+
+    public static ByteBuffer encodeBulkSettled(long roundId, List<String> accounts, long[] payouts) {
+        List<byte[]> accountBytes = new ArrayList<>(accounts.size());
+        int length = BULK_SETTLED_HEADER_LENGTH;
+        for (String account : accounts) {
+            byte[] bytes = encodeString(account);
+            accountBytes.add(bytes);
+            length += 2 + bytes.length + AMOUNT_LENGTH;
+        }
+        ByteBuffer frame = ByteBuffer.allocate(length)
+                .put(BULK_SETTLED)
+                .putLong(roundId)
+                .putInt(accounts.size());
+        for (int i = 0; i < accounts.size(); i++) {
+            putString(frame, accountBytes.get(i));
+            frame.putLong(payouts[i]);
+        }
+        return frame.flip();
+    }
+
+    public static ByteBuffer encodeAck() {
+        return ByteBuffer.allocate(BET_ACK_LENGTH).put(BET_ACK).flip();
+    }
+
+    public static ByteBuffer encodeAck(long betId) {
+        return ByteBuffer.allocate(BET_ACK_LENGTH + BET_ID_LENGTH).put(BET_ACK).putInt((int) betId).flip();
+    }
+
+    public static boolean isAck(ByteBuffer frame) {
+        return (frame.remaining() == BET_ACK_LENGTH || frame.remaining() == BET_ACK_LENGTH + BET_ID_LENGTH)
+                && frame.get(frame.position()) == BET_ACK;
+    }
+
+    /**
+     * Returns the bet id the acknowledgement ends with, or {@link BetRequest#NO_BET_ID}.
+     */
+    public static long decodeAckId(ByteBuffer frame) {
+        return frame.remaining() == BET_ACK_LENGTH + BET_ID_LENGTH
+                ? Integer.toUnsignedLong(frame.getInt(frame.position() + BET_ACK_LENGTH))
+                : BetRequest.NO_BET_ID;
+    }
+
+    public static ByteBuffer encodeWinnersRequest() {
+        return ByteBuffer.allocate(1).put(WINNERS_REQUEST).flip();
+    }
+
+    public static boolean isWinnersRequest(ByteBuffer frame) {
+        return frame.remaining() == 1 && frame.get(frame.position()) == WINNERS_REQUEST;
+    }
+
+    public static ByteBuffer encodeResult(long roundId, PlayerResult result) {
+        int length = !result.isWon() ? RESULT_LOST_LENGTH
+                : result.getRank() > 0 ? RESULT_RANKED_LENGTH
+                : RESULT_WON_LENGTH;
+        return writeResult(ByteBuffer.allocate(length), roundId, result);
+    }
+
+    /**
+     * Writes the result frame at the start of {@code frame}, which must hold at least
+     * {@link #RESULT_RANKED_LENGTH} bytes, and returns it flipped for sending.
+     */
+    public static ByteBuffer writeResult(ByteBuffer frame, long roundId, PlayerResult result) {
+        if (!result.isWon()) {
+            return frame.put(RESULT_LOST).putLong(roundId).flip();
+        }
+        if (result.getRank() > 0) {
+            return frame.put(RESULT_RANKED)
+                    .putLong(roundId)
+                    .putLong(result.getPayout())
+                    .putInt(result.getRank())
+                    .flip();
+        }
+        return frame.put(RESULT_WON)
+                .putLong(roundId)
+                .putLong(result.getPayout())
+                .flip();
+    }
+
+    public static PlayerResult decodeResult(ByteBuffer frame) {
+        ByteBuffer buffer = frame.duplicate();
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+        byte type = buffer.get();
+        if (type == RESULT_LOST && buffer.remaining() == RESULT_LOST_LENGTH - 1) {
+            return new PlayerResult(false, 0);
+        }
+        if (type == RESULT_RANKED && buffer.remaining() == RESULT_RANKED_LENGTH - 1) {
+            buffer.getLong();
+            long payout = buffer.getLong();
+            return new PlayerResult(true, payout, buffer.getInt());
+        }
+        if (type != RESULT_WON || buffer.remaining() != RESULT_WON_LENGTH - 1) {
+            return null;
+        }
+        buffer.getLong();
+        return new PlayerResult(true, buffer.getLong());
+    }
+
+    public static long decodeRoundId(ByteBuffer frame) {
+        return frame.getLong(frame.position() + 1);
+    }
+
+    public static ByteBuffer encodeWinners(WinnersList winnersList) {
+        List<Winner> winners = winnersList.getWinners();
+        List<byte[]> nicknames = new ArrayList<>(winners.size());
+        int length = WINNERS_HEADER_LENGTH;
+        for (Winner winner : winners) {
+            byte[] nickname = encodeString(winner.getNickname());
+            nicknames.add(nickname);
+            length += 2 + nickname.length + AMOUNT_LENGTH;
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(length)
+                .put(WINNERS)
+                .putLong(winnersList.getRoundId())
+                .putInt(winnersList.getTotalWinners())
+                .putShort((short) winners.size());
+        for (int i = 0; i < winners.size(); i++) {
+            putString(frame, nicknames.get(i));
+            frame.putLong(winners.get(i).getPayout());
+        }
+        return frame.flip();
+    }
+
+    public static WinnersList decodeWinners(ByteBuffer frame) {
+        ByteBuffer buffer = frame.duplicate();
+        if (buffer.remaining() < WINNERS_HEADER_LENGTH || buffer.get() != WINNERS) {
+            return null;
+        }
+        try {
+            long roundId = buffer.getLong();
+            int totalWinners = buffer.getInt();
+            int count = Short.toUnsignedInt(buffer.getShort());
+            List<Winner> winners = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String nickname = getString(buffer);
+                winners.add(new Winner(nickname, buffer.getLong()));
+            }
+            return new WinnersList(roundId, winners, totalWinners);
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    public static ByteBuffer encodeError(ErrorCode code, String message) {
+        byte[] messageBytes = encodeString(message);
+        ByteBuffer frame = ByteBuffer.allocate(ERROR_HEADER_LENGTH + 2 + messageBytes.length)
+                .put(ERROR)
+                .put(code.code());
+        putString(frame, messageBytes);
+        return frame.flip();
+    }
+
+    public static ByteBuffer encodeError(ErrorCode code, String message, long betId) {
+        ByteBuffer unnumbered = encodeError(code, message);
+        return ByteBuffer.allocate(unnumbered.remaining() + BET_ID_LENGTH)
+                .put(unnumbered)
+                .putInt((int) betId)
+                .flip();
+    }
+
+    public static ErrorCode decodeErrorCode(ByteBuffer frame) {
+        return frame.remaining() >= ERROR_HEADER_LENGTH && frame.get(frame.position()) == ERROR
+                ? ErrorCode.of(frame.get(frame.position() + 1))
+                : null;
+    }
+
+    public static String decodeErrorMessage(ByteBuffer frame) {
+        ByteBuffer buffer = frame.duplicate();
+        buffer.position(buffer.position() + ERROR_HEADER_LENGTH);
+        return getString(buffer);
+    }
+
+    /**
+     * Returns the id of the bet the error answers, or {@link BetRequest#NO_BET_ID}.
+     */
+    public static long decodeErrorBetId(ByteBuffer frame) {
+        ByteBuffer buffer = frame.duplicate();
+        buffer.position(buffer.position() + ERROR_HEADER_LENGTH);
+        buffer.position(buffer.position() + 2 + Short.toUnsignedInt(buffer.getShort(buffer.position())));
+        return buffer.remaining() == BET_ID_LENGTH ? Integer.toUnsignedLong(buffer.getInt()) : BetRequest.NO_BET_ID;
+    }
+
+    private static byte[] encodeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("String exceeds " + MAX_STRING_LENGTH + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer frame, byte[] bytes) {
+        frame.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,68 @@
+package com.company.testtask.protocol;
+
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.WinnersList;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import static com.company.testtask.constant.Constants.BINARY_PROTOCOL;
+import static com.company.testtask.constant.Constants.SESSION_REMOVED_MESSAGE;
+
+public class BinaryProtocolCodec implements ProtocolCodec {
+
+    private static final int POOLED_RESULT_FRAMES = 1 << 14;
+
+    private static final BinaryMessage ACK = new BinaryMessage(BinaryFrames.encodeAck());
+
+    private static final BinaryMessage SESSION_REMOVED =
+            new BinaryMessage(BinaryFrames.encodeError(ErrorCode.SESSION_REMOVED, SESSION_REMOVED_MESSAGE));
+
+    public static final BinaryProtocolCodec INSTANCE = new BinaryProtocolCodec();
+
+    private final FramePool resultFrames = new FramePool(POOLED_RESULT_FRAMES, BinaryFrames.RESULT_RANKED_LENGTH);
+
+    private BinaryProtocolCodec() {}
+
+    @Override
+    public String getSubProtocol() {
+        return BINARY_PROTOCOL;
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeAck(long betId) {
+        return betId == BetRequest.NO_BET_ID ? ACK : new BinaryMessage(BinaryFrames.encodeAck(betId));
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeResult(long roundId, PlayerResult result) {
+        return new BinaryMessage(BinaryFrames.encodeResult(roundId, result));
+    }
+
+    @Override
+    public PooledFrame encodePooledResult(long roundId, PlayerResult result) {
+        PooledFrame frame = resultFrames.acquire();
+        BinaryFrames.writeResult(frame.buffer(), roundId, result);
+        return frame;
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeWinners(WinnersList winnersList) {
+        return new BinaryMessage(BinaryFrames.encodeWinners(winnersList));
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeError(ErrorCode code, String message) {
+        if (code == ErrorCode.SESSION_REMOVED) {
+            return SESSION_REMOVED;
+        }
+        return new BinaryMessage(BinaryFrames.encodeError(code, message));
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeError(ErrorCode code, String message, long betId) {
+        return betId == BetRequest.NO_BET_ID
+                ? encodeError(code, message)
+                : new BinaryMessage(BinaryFrames.encodeError(code, message, betId));
+    }
+}
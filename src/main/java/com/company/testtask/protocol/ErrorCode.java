@@ -0,0 +1,23 @@
+package com.company.testtask.protocol;
+
+public enum ErrorCode {
+    VALIDATION_FAILED,
+    NICKNAME_TAKEN,
+    PLAYER_NOT_FOUND,
+    SESSION_REMOVED,
+    MALFORMED_FRAME,
+    UNAUTHORIZED,
+    RATE_LIMITED,
+    UNAVAILABLE;
+
+    private static final ErrorCode[] VALUES = values();
+
+    public byte code() {
+        return (byte) (ordinal() + 1);
+    }
+
+    public static ErrorCode of(byte code) {
+        int index = code - 1;
+        return index >= 0 && index < VALUES.length ? VALUES[index] : null;
+    }
+}
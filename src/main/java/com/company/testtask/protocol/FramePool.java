@@ -0,0 +1,39 @@
+package com.company.testtask.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fixed-size binary frames sliced out of one direct buffer. A frame belongs to whoever acquired it
+ * until it is released. When every pooled frame is in flight, frames are allocated on the heap and
+ * dropped on release, so an exhausted pool degrades to plain allocation instead of blocking.
+ */
+public class FramePool {
+
+    private final BlockingQueue<PooledFrame> free;
+
+    private final int frameSize;
+
+    public FramePool(int capacity, int frameSize) {
+        this.free = new ArrayBlockingQueue<>(capacity);
+        this.frameSize = frameSize;
+        ByteBuffer arena = ByteBuffer.allocateDirect(capacity * frameSize);
+        for (int i = 0; i < capacity; i++) {
+            free.add(new PooledFrame(this, arena.slice(i * frameSize, frameSize)));
+        }
+    }
+
+    public PooledFrame acquire() {
+        PooledFrame frame = free.poll();
+        return frame != null ? frame : new PooledFrame(null, ByteBuffer.allocate(frameSize));
+    }
+
+    public int available() {
+        return free.size();
+    }
+
+    void release(PooledFrame frame) {
+        free.offer(frame);
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.testtask.protocol;
+
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.Money;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Parses a text-protocol bet into a {@link BetRequest}. Only {@code nickname}, {@code number} and
+ * {@code bet} are accepted. {@code number} is coerced the way Jackson binds an {@code int}: a float
+ * is truncated, a quoted integer is parsed, and an empty string reads as zero.
+ */
+public final class JsonBetParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String NICKNAME = "nickname";
+    private static final String NUMBER = "number";
+    private static final String BET = "bet";
+    private static final String NULL = "null";
+
+    private JsonBetParser() {}
+
+    public static boolean parse(String payload, BetRequest bet) {
+        bet.reset();
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == null || value.isStructStart()) {
+                    return false;
+                }
+                switch (field) {
+                    case NICKNAME -> bet.setNickname(value == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+                    case NUMBER -> {
+                        if (value.isNumeric()) {
+                            bet.setNumber(parser.getIntValue());
+                        } else if (value == JsonToken.VALUE_STRING) {
+                            bet.setNumber(parseNumber(parser.getText().trim()));
+                        } else if (value != JsonToken.VALUE_NULL) {
+                            return false;
+                        }
+                    }
+                    case BET -> {
+                        if (value.isNumeric() || value == JsonToken.VALUE_STRING) {
+                            bet.setBet(Money.parse(parser.getTextCharacters(), parser.getTextOffset(),
+                                    parser.getTextLength()));
+                        } else if (value != JsonToken.VALUE_NULL) {
+                            return false;
+                        }
+                    }
+                    default -> {
+                        return false;
+                    }
+                }
+            }
+            return token == JsonToken.END_OBJECT && parser.nextToken() == null;
+        } catch (IOException | NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static int parseNumber(String text) {
+        return text.isEmpty() || NULL.equals(text) ? 0 : Integer.parseInt(text);
+    }
+}
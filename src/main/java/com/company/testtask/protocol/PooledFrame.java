@@ -0,0 +1,41 @@
+package com.company.testtask.protocol;
+
+import org.springframework.web.socket.BinaryMessage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable binary frame from a {@link FramePool}. The message wraps the frame's own buffer, so it
+ * must not be used after {@link #release()}.
+ */
+public final class PooledFrame {
+
+    private final FramePool pool;
+
+    private final ByteBuffer buffer;
+
+    private final BinaryMessage message;
+
+    PooledFrame(FramePool pool, ByteBuffer buffer) {
+        this.pool = pool;
+        this.buffer = buffer;
+        this.message = new BinaryMessage(buffer);
+    }
+
+    /**
+     * Returns the frame's buffer cleared for writing; the writer flips it once the frame is complete.
+     */
+    public ByteBuffer buffer() {
+        return buffer.clear();
+    }
+
+    public BinaryMessage getMessage() {
+        return message;
+    }
+
+    public void release() {
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+}
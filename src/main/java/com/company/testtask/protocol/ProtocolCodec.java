@@ -0,0 +1,36 @@
+package com.company.testtask.protocol;
+
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.WinnersList;
+import org.springframework.web.socket.WebSocketMessage;
+
+public interface ProtocolCodec {
+
+    String getSubProtocol();
+
+    /**
+     * Returns the acknowledgement for an accepted bet, carrying its id unless it is
+     * {@link BetRequest#NO_BET_ID}, or {@code null} if the protocol does not acknowledge bets.
+     */
+    WebSocketMessage<?> encodeAck(long betId);
+
+    WebSocketMessage<?> encodeResult(long roundId, PlayerResult result);
+
+    /**
+     * Encodes the result into a pooled frame that must be released once sent, or returns
+     * {@code null} if the protocol has no pooled encoding.
+     */
+    PooledFrame encodePooledResult(long roundId, PlayerResult result);
+
+    WebSocketMessage<?> encodeWinners(WinnersList winnersList);
+
+    WebSocketMessage<?> encodeError(ErrorCode code, String message);
+
+    /**
+     * Encodes an error answering the bet with the given id. Protocols without bet ids ignore it.
+     */
+    default WebSocketMessage<?> encodeError(ErrorCode code, String message, long betId) {
+        return encodeError(code, message);
+    }
+}
@@ -0,0 +1,61 @@
+package com.company.testtask.protocol;
+
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.WinnersList;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import static com.company.testtask.constant.Constants.JSON_PROTOCOL;
+import static com.company.testtask.constant.Constants.LOSING_MESSAGE;
+import static com.company.testtask.constant.Constants.SESSION_REMOVED_MESSAGE;
+
+public class TextProtocolCodec implements ProtocolCodec {
+
+    private static final TextMessage LOST = new TextMessage(LOSING_MESSAGE);
+
+    private static final TextMessage SESSION_REMOVED = new TextMessage(SESSION_REMOVED_MESSAGE);
+
+    private static final ThreadLocal<StringBuilder> MESSAGES = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+    public static final TextProtocolCodec INSTANCE = new TextProtocolCodec();
+
+    private TextProtocolCodec() {}
+
+    @Override
+    public String getSubProtocol() {
+        return JSON_PROTOCOL;
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeAck(long betId) {
+        return null;
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeResult(long roundId, PlayerResult result) {
+        if (!result.isWon()) {
+            return LOST;
+        }
+        StringBuilder message = MESSAGES.get();
+        message.setLength(0);
+        return new TextMessage(result.appendMessage(message));
+    }
+
+    @Override
+    public PooledFrame encodePooledResult(long roundId, PlayerResult result) {
+        return null;
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeWinners(WinnersList winnersList) {
+        return new TextMessage(winnersList.getText());
+    }
+
+    @Override
+    public WebSocketMessage<?> encodeError(ErrorCode code, String message) {
+        if (code == ErrorCode.SESSION_REMOVED) {
+            return SESSION_REMOVED;
+        }
+        return new TextMessage(message);
+    }
+}
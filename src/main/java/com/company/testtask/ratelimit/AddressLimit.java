@@ -0,0 +1,29 @@
+package com.company.testtask.ratelimit;
+
+class AddressLimit {
+
+    private final TokenBucket bucket;
+
+    private int sessions;
+
+    AddressLimit(TokenBucket bucket) {
+        this.bucket = bucket;
+    }
+
+    boolean tryAcquire(int permits) {
+        return bucket.tryAcquire(permits);
+    }
+
+    void refund(int permits) {
+        bucket.refund(permits);
+    }
+
+    AddressLimit join() {
+        sessions++;
+        return this;
+    }
+
+    AddressLimit leave() {
+        return --sessions > 0 ? this : null;
+    }
+}
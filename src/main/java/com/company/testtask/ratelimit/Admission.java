@@ -0,0 +1,9 @@
+package com.company.testtask.ratelimit;
+
+public enum Admission {
+    ACCEPTED,
+    SESSION_LIMITED,
+    ADDRESS_LIMITED,
+    GLOBAL_LIMITED,
+    DISCONNECT
+}
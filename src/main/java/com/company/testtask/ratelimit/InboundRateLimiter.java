@@ -0,0 +1,139 @@
+package com.company.testtask.ratelimit;
+
+import com.company.testtask.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.company.testtask.constant.Constants.AGGREGATOR;
+import static com.company.testtask.constant.Constants.RATE_LIMIT;
+
+/**
+ * Admits inbound frames against a per-session, a per-address and a global token bucket before
+ * anything is parsed. Tokens taken from one bucket are returned when a later bucket rejects the
+ * frame. Sessions that keep exceeding their own budget are told to disconnect.
+ */
+@Component
+public class InboundRateLimiter {
+
+    private static final String UNKNOWN_ADDRESS = "unknown";
+
+    private final Map<String, AddressLimit> addresses = new ConcurrentHashMap<>();
+
+    private final Map<Admission, Counter> rejected = new EnumMap<>(Admission.class);
+
+    private final RateLimitProperties properties;
+
+    private final TokenBucket global;
+
+    public InboundRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.global = new TokenBucket(properties.getGlobalRate(), properties.getGlobalBurst());
+        for (Admission admission : Admission.values()) {
+            if (admission != Admission.ACCEPTED) {
+                rejected.put(admission, Counter.builder("game.inbound.rejected")
+                        .tag("reason", admission.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+        Gauge.builder("game.inbound.addresses", addresses, Map::size).register(meterRegistry);
+    }
+
+    public void register(WebSocketSession session) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String address = address(session);
+        addresses.compute(address, (key, limit) -> (limit != null ? limit
+                : new AddressLimit(new TokenBucket(properties.getAddressRate(), properties.getAddressBurst())))
+                .join());
+        TokenBucket betBucket = session.getAttributes().get(AGGREGATOR) != null
+                ? new TokenBucket(properties.getAggregatorBetRate(), properties.getAggregatorBetBurst())
+                : null;
+        session.getAttributes().put(RATE_LIMIT, new SessionLimit(address,
+                new TokenBucket(properties.getSessionRate(), properties.getSessionBurst()), betBucket));
+    }
+
+    public void unregister(WebSocketSession session) {
+        SessionLimit limit = (SessionLimit) session.getAttributes().remove(RATE_LIMIT);
+        if (limit != null) {
+            addresses.computeIfPresent(limit.getAddress(), (key, address) -> address.leave());
+        }
+    }
+
+    public Admission admit(WebSocketSession session) {
+        return admit(session, 1);
+    }
+
+    /**
+     * Admits a frame that costs {@code permits} tokens, e.g. one per bet of a bulk frame. Only a
+     * session exceeding its own budget counts towards disconnecting it; address and global limits
+     * reject the frame but never penalise the session. Each accepted frame forgives one earlier
+     * rejection, so only sustained overuse leads to a disconnect.
+     */
+    public Admission admit(WebSocketSession session, int permits) {
+        SessionLimit limit = (SessionLimit) session.getAttributes().get(RATE_LIMIT);
+        if (limit == null) {
+            return Admission.ACCEPTED;
+        }
+        Admission admission = check(limit, permits);
+        if (admission == Admission.ACCEPTED) {
+            limit.accept();
+            return admission;
+        }
+        rejected.get(admission).increment();
+        if (admission == Admission.SESSION_LIMITED && limit.reject() == properties.getMaxRejections()) {
+            rejected.get(Admission.DISCONNECT).increment();
+            return Admission.DISCONNECT;
+        }
+        return admission;
+    }
+
+    /**
+     * Admits the bets of a bulk frame against the aggregator's per-bet budget, which is kept apart
+     * from the frame budget since one frame may carry thousands of bets.
+     */
+    public Admission admitBets(WebSocketSession session, int bets) {
+        SessionLimit limit = (SessionLimit) session.getAttributes().get(RATE_LIMIT);
+        if (limit == null || limit.tryAcquireBets(bets)) {
+            return Admission.ACCEPTED;
+        }
+        rejected.get(Admission.SESSION_LIMITED).increment();
+        if (limit.reject() == properties.getMaxRejections()) {
+            rejected.get(Admission.DISCONNECT).increment();
+            return Admission.DISCONNECT;
+        }
+        return Admission.SESSION_LIMITED;
+    }
+
+    private Admission check(SessionLimit limit, int permits) {
+        if (!limit.tryAcquire(permits)) {
+            return Admission.SESSION_LIMITED;
+        }
+        AddressLimit address = addresses.get(limit.getAddress());
+        if (address != null && !address.tryAcquire(permits)) {
+            limit.refund(permits);
+            return Admission.ADDRESS_LIMITED;
+        }
+        if (!global.tryAcquire(permits)) {
+            limit.refund(permits);
+            if (address != null) {
+                address.refund(permits);
+            }
+            return Admission.GLOBAL_LIMITED;
+        }
+        return Admission.ACCEPTED;
+    }
+
+    private static String address(WebSocketSession session) {
+        InetSocketAddress remote = session.getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : UNKNOWN_ADDRESS;
+    }
+}
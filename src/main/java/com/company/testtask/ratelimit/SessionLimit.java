@@ -0,0 +1,45 @@
+package com.company.testtask.ratelimit;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SessionLimit {
+
+    @Getter
+    private final String address;
+
+    private final TokenBucket bucket;
+
+    private final TokenBucket betBucket;
+
+    private final AtomicInteger rejections = new AtomicInteger();
+
+    SessionLimit(String address, TokenBucket bucket, TokenBucket betBucket) {
+        this.address = address;
+        this.bucket = bucket;
+        this.betBucket = betBucket;
+    }
+
+    boolean tryAcquire(int permits) {
+        return bucket.tryAcquire(permits);
+    }
+
+    boolean tryAcquireBets(int bets) {
+        return betBucket == null || betBucket.tryAcquire(bets);
+    }
+
+    void refund(int permits) {
+        bucket.refund(permits);
+    }
+
+    int reject() {
+        return rejections.incrementAndGet();
+    }
+
+    void accept() {
+        if (rejections.get() > 0) {
+            rejections.updateAndGet(count -> count > 0 ? count - 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.company.testtask.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (the GCRA form), so that
+ * acquiring a token is one CAS and an idle bucket holds no timer or refill state.
+ */
+public final class TokenBucket {
+
+    private final long interval;
+
+    private final long tolerance;
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System.nanoTime());
+    }
+
+    public TokenBucket(int permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.interval = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.tolerance = interval * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        return tryAcquire(1, nowNanos);
+    }
+
+    public boolean tryAcquire(int permits) {
+        return tryAcquire(permits, System.nanoTime());
+    }
+
+    /**
+     * Takes {@code permits} tokens at once, or none if fewer are available.
+     */
+    public boolean tryAcquire(int permits, long nowNanos) {
+        long cost = interval * permits;
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = arrival - nowNanos < 0 ? nowNanos : arrival;
+            if (start + cost - interval - nowNanos > tolerance) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + cost)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns tokens taken by a frame that was rejected further on. Refunding into an idle bucket
+     * has no effect, since its arrival time is already in the past.
+     */
+    public void refund(int permits) {
+        theoreticalArrival.addAndGet(-interval * permits);
+    }
+}
@@ -0,0 +1,43 @@
+package com.company.testtask.reactive;
+
+import com.company.testtask.handler.AggregatorHandshakeInterceptor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import static com.company.testtask.constant.Constants.AGGREGATOR;
+import static com.company.testtask.constant.Constants.AGGREGATOR_REJECTED;
+import static com.company.testtask.constant.Constants.GAME_PATH;
+
+/**
+ * Reactive counterpart of {@link AggregatorHandshakeInterceptor}: authenticates the handshake of
+ * game connections and exposes the aggregator id as an exchange attribute, which the handshake
+ * service copies into the session.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AggregatorWebFilter implements WebFilter {
+
+    private final AggregatorHandshakeInterceptor authenticator;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !exchange.getRequest().getPath().value().startsWith(GAME_PATH)) {
+            return chain.filter(exchange);
+        }
+        String aggregator = authenticator.authenticate(authorization);
+        if (aggregator == null) {
+            log.warn(AGGREGATOR_REJECTED, exchange.getRequest().getRemoteAddress());
+            exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return exchange.getResponse().setComplete();
+        }
+        exchange.getAttributes().put(AGGREGATOR, aggregator);
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,131 @@
+package com.company.testtask.reactive;
+
+import com.company.testtask.config.BroadcastProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+import static com.company.testtask.constant.Constants.REACTIVE_HANDLER_FAILED;
+
+/**
+ * Runs a servlet {@link org.springframework.web.socket.WebSocketHandler} such as the game handler
+ * on a reactive WebSocket session. Inbound frames are copied off the Netty event loop and handled
+ * on the inbound scheduler, since placing a bet takes locks and may wait for a round swap;
+ * outbound frames flow through the session's bounded {@link ReactiveSessionAdapter#outbound()}
+ * stream, which the broadcaster writes to directly.
+ */
+@Slf4j
+public class ReactiveGameHandler implements WebSocketHandler {
+
+    private final org.springframework.web.socket.WebSocketHandler handler;
+
+    private final BroadcastProperties broadcastProperties;
+
+    private final Scheduler inboundScheduler;
+
+    private final boolean compress;
+
+    public ReactiveGameHandler(org.springframework.web.socket.WebSocketHandler handler,
+                               BroadcastProperties broadcastProperties, Scheduler inboundScheduler, boolean compress) {
+        this.handler = handler;
+        this.broadcastProperties = broadcastProperties;
+        this.inboundScheduler = inboundScheduler;
+        this.compress = compress;
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return handler instanceof SubProtocolCapable capable ? capable.getSubProtocols() : List.of();
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        return session.getHandshakeInfo().getPrincipal()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(principal -> handle(session, principal.orElse(null)));
+    }
+
+    private Mono<Void> handle(WebSocketSession session, Principal principal) {
+        ReactiveSessionAdapter adapter = new ReactiveSessionAdapter(session, broadcastProperties.getQueueCapacity(),
+                principal, compress);
+        Mono<Void> established = Mono.fromRunnable(() -> establish(adapter))
+                .subscribeOn(inboundScheduler)
+                .then();
+        Mono<Void> inbound = session.receive()
+                .mapNotNull(message -> toServlet(adapter, message))
+                .publishOn(inboundScheduler)
+                .doOnNext(message -> dispatch(adapter, message))
+                .doFinally(signal -> adapter.completeOutbound())
+                .then();
+        Mono<Void> outbound = session.send(adapter.outbound());
+        return established.then(Mono.when(inbound, outbound))
+                .doFinally(signal -> closed(adapter));
+    }
+
+    private void establish(ReactiveSessionAdapter adapter) {
+        try {
+            handler.afterConnectionEstablished(adapter);
+        } catch (Exception e) {
+            log.error(REACTIVE_HANDLER_FAILED, adapter.getId(), e);
+            adapter.close(CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    private void closed(ReactiveSessionAdapter adapter) {
+        try {
+            handler.afterConnectionClosed(adapter, adapter.getCloseStatus());
+        } catch (Exception e) {
+            log.error(REACTIVE_HANDLER_FAILED, adapter.getId(), e);
+        }
+    }
+
+    /**
+     * Copies a frame into a servlet message on the event loop, before Netty releases its buffer.
+     * Frames over the session's size limits close the session, as they would on the servlet stack.
+     */
+    private static org.springframework.web.socket.WebSocketMessage<?> toServlet(ReactiveSessionAdapter adapter,
+                                                                               WebSocketMessage message) {
+        DataBuffer payload = message.getPayload();
+        if (!adapter.accepts(message.getType(), payload.readableByteCount())) {
+            adapter.close(CloseStatus.TOO_BIG_TO_PROCESS);
+            return null;
+        }
+        return switch (message.getType()) {
+            case TEXT -> new TextMessage(payload.toString(StandardCharsets.UTF_8));
+            case BINARY -> new BinaryMessage(copy(payload));
+            case PONG -> new PongMessage(copy(payload));
+            default -> null;
+        };
+    }
+
+    private void dispatch(ReactiveSessionAdapter adapter, org.springframework.web.socket.WebSocketMessage<?> message) {
+        try {
+            handler.handleMessage(adapter, message);
+        } catch (Exception e) {
+            log.error(REACTIVE_HANDLER_FAILED, adapter.getId(), e);
+            adapter.close(CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    private static ByteBuffer copy(DataBuffer payload) {
+        byte[] bytes = new byte[payload.readableByteCount()];
+        payload.read(bytes);
+        return ByteBuffer.wrap(bytes);
+    }
+}
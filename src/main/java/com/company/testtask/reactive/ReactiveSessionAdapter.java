@@ -0,0 +1,241 @@
+package com.company.testtask.reactive;
+
+import com.company.testtask.broadcast.NonBlockingSession;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.adapter.ReactorNettyWebSocketSession;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.company.testtask.constant.Constants.OUTBOUND_REJECTED_MESSAGE;
+
+/**
+ * Presents a reactive WebSocket session as a servlet-stack {@link WebSocketSession}, so the game
+ * handler, broadcaster and liveness tracking run unchanged on either transport. Outbound messages
+ * are copied into the session's buffers and queued on a bounded sink that Netty drains as the
+ * connection becomes writable; a full sink fails the send instead of blocking the caller, so the
+ * broadcaster writes to it directly rather than queueing it a second time.
+ */
+class ReactiveSessionAdapter implements NonBlockingSession {
+
+    /**
+     * Reactor Netty's default maximum frame payload, which also bounds what the handler can receive.
+     */
+    static final int DEFAULT_MESSAGE_SIZE_LIMIT = 65536;
+
+    private static final String EXTENSIONS_HEADER = "Sec-WebSocket-Extensions";
+
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final String id = Long.toHexString(IDS.getAndIncrement());
+
+    private final org.springframework.web.reactive.socket.WebSocketSession session;
+
+    private final Sinks.Many<org.springframework.web.reactive.socket.WebSocketMessage> outbound;
+
+    private final Principal principal;
+
+    private final InetSocketAddress localAddress;
+
+    private final List<WebSocketExtension> extensions;
+
+    private volatile int textMessageSizeLimit = DEFAULT_MESSAGE_SIZE_LIMIT;
+
+    private volatile int binaryMessageSizeLimit = DEFAULT_MESSAGE_SIZE_LIMIT;
+
+    private volatile CloseStatus closeStatus = CloseStatus.NORMAL;
+
+    ReactiveSessionAdapter(org.springframework.web.reactive.socket.WebSocketSession session, int capacity,
+                           Principal principal, boolean compress) {
+        this.session = session;
+        this.outbound = Sinks.many().unicast().onBackpressureBuffer(
+                Queues.<org.springframework.web.reactive.socket.WebSocketMessage>get(capacity).get());
+        this.principal = principal;
+        this.localAddress = localAddress(session);
+        this.extensions = compress ? deflate(session.getHandshakeInfo().getHeaders()) : List.of();
+    }
+
+    Flux<org.springframework.web.reactive.socket.WebSocketMessage> outbound() {
+        return outbound.asFlux().doOnDiscard(org.springframework.web.reactive.socket.WebSocketMessage.class,
+                message -> DataBufferUtils.release(message.getPayload()));
+    }
+
+    void completeOutbound() {
+        outbound.tryEmitComplete();
+    }
+
+    CloseStatus getCloseStatus() {
+        return closeStatus;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public URI getUri() {
+        return handshake().getUri();
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return handshake().getHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return session.getAttributes();
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return handshake().getRemoteAddress();
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return handshake().getSubProtocol();
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+        textMessageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return textMessageSizeLimit;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        binaryMessageSizeLimit = messageSizeLimit;
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return binaryMessageSizeLimit;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return extensions;
+    }
+
+    @Override
+    public synchronized void sendMessage(WebSocketMessage<?> message) throws IOException {
+        org.springframework.web.reactive.socket.WebSocketMessage reactiveMessage = toReactive(message);
+        Sinks.EmitResult result = outbound.tryEmitNext(reactiveMessage);
+        if (result.isFailure()) {
+            DataBufferUtils.release(reactiveMessage.getPayload());
+            throw new IOException(OUTBOUND_REJECTED_MESSAGE + result);
+        }
+    }
+
+    @Override
+    public boolean isOpen() {
+        return session.isOpen();
+    }
+
+    @Override
+    public void close() {
+        close(CloseStatus.NORMAL);
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        closeStatus = status;
+        session.close(new org.springframework.web.reactive.socket.CloseStatus(status.getCode(), status.getReason()))
+                .subscribe();
+    }
+
+    /**
+     * Returns whether an inbound message of {@code type} and {@code size} bytes is within the limits
+     * set on this session.
+     */
+    boolean accepts(org.springframework.web.reactive.socket.WebSocketMessage.Type type, int size) {
+        return switch (type) {
+            case TEXT -> size <= textMessageSizeLimit;
+            case BINARY -> size <= binaryMessageSizeLimit;
+            default -> true;
+        };
+    }
+
+    private HandshakeInfo handshake() {
+        return session.getHandshakeInfo();
+    }
+
+    private org.springframework.web.reactive.socket.WebSocketMessage toReactive(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage textMessage) {
+            return session.textMessage(textMessage.getPayload());
+        }
+        ByteBuffer payload = ((ByteBuffer) message.getPayload()).duplicate();
+        DataBuffer buffer = session.bufferFactory().allocateBuffer(payload.remaining()).write(payload);
+        org.springframework.web.reactive.socket.WebSocketMessage.Type type = message instanceof PingMessage
+                ? org.springframework.web.reactive.socket.WebSocketMessage.Type.PING
+                : message instanceof PongMessage
+                ? org.springframework.web.reactive.socket.WebSocketMessage.Type.PONG
+                : org.springframework.web.reactive.socket.WebSocketMessage.Type.BINARY;
+        return new org.springframework.web.reactive.socket.WebSocketMessage(type, buffer);
+    }
+
+    private static InetSocketAddress localAddress(org.springframework.web.reactive.socket.WebSocketSession session) {
+        AtomicReference<InetSocketAddress> address = new AtomicReference<>();
+        if (session instanceof ReactorNettyWebSocketSession nettySession) {
+            nettySession.getDelegate().getInbound().withConnection(connection -> {
+                if (connection.channel().localAddress() instanceof InetSocketAddress local) {
+                    address.set(local);
+                }
+            });
+        }
+        return address.get();
+    }
+
+    /**
+     * Reactor Netty accepts per-message deflate whenever compression is enabled and the client
+     * offers it, so the offered extension is the negotiated one.
+     */
+    private static List<WebSocketExtension> deflate(HttpHeaders headers) {
+        List<WebSocketExtension> offered = WebSocketExtension.parseExtensions(
+                String.join(",", headers.getValuesAsList(EXTENSIONS_HEADER)));
+        for (WebSocketExtension extension : offered) {
+            if (PERMESSAGE_DEFLATE.equals(extension.getName())) {
+                return List.of(new WebSocketExtension(PERMESSAGE_DEFLATE));
+            }
+        }
+        return List.of();
+    }
+}
@@ -0,0 +1,96 @@
+package com.company.testtask.reactive;
+
+import com.company.testtask.config.BroadcastProperties;
+import com.company.testtask.config.ExecutionMode;
+import com.company.testtask.config.ExecutionProperties;
+import com.company.testtask.handler.AggregatorHandshakeInterceptor;
+import com.company.testtask.handler.CustomWebSocketHandler;
+import com.company.testtask.handler.SpectatorWebSocketHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.server.WebsocketServerSpec;
+
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import static com.company.testtask.constant.Constants.AGGREGATOR;
+import static com.company.testtask.constant.Constants.GAME_PATH;
+import static com.company.testtask.constant.Constants.ROOM_PATH;
+import static com.company.testtask.constant.Constants.SPECTATE_PATH;
+
+/**
+ * Serves the game over Spring WebFlux on Netty when the application is started with
+ * {@code spring.main.web-application-type=reactive}. Netty is chosen explicitly because Tomcat is
+ * also on the classpath for the servlet transport.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTransportConfig {
+
+    private static final boolean COMPRESS = true;
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Runs inbound handling off the event loop, on virtual threads in the virtual execution mode.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler inboundScheduler(ExecutionProperties execution) {
+        ExecutionMode mode = execution.getMode();
+        if (mode == ExecutionMode.VIRTUAL) {
+            return Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(mode.threadFactory("reactive-inbound-")), "reactive-inbound");
+        }
+        return Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "reactive-inbound");
+    }
+
+    @Bean
+    public ReactiveGameHandler reactiveGameHandler(CustomWebSocketHandler handler,
+                                                   BroadcastProperties broadcastProperties,
+                                                   Scheduler inboundScheduler) {
+        return new ReactiveGameHandler(handler, broadcastProperties, inboundScheduler, COMPRESS);
+    }
+
+    @Bean
+    public HandlerMapping gameHandlerMapping(ReactiveGameHandler reactiveGameHandler,
+                                             SpectatorWebSocketHandler spectatorHandler,
+                                             BroadcastProperties broadcastProperties,
+                                             Scheduler inboundScheduler) {
+        ReactiveGameHandler reactiveSpectatorHandler =
+                new ReactiveGameHandler(spectatorHandler, broadcastProperties, inboundScheduler, COMPRESS);
+        return new SimpleUrlHandlerMapping(Map.of(GAME_PATH, reactiveGameHandler, ROOM_PATH, reactiveGameHandler,
+                SPECTATE_PATH, reactiveSpectatorHandler), -1);
+    }
+
+    @Bean
+    public WebSocketService webSocketService() {
+        HandshakeWebSocketService service = new HandshakeWebSocketService(
+                new ReactorNettyRequestUpgradeStrategy(() -> WebsocketServerSpec.builder().compress(COMPRESS)));
+        service.setSessionAttributePredicate(AGGREGATOR::equals);
+        return service;
+    }
+
+    @Bean
+    public WebSocketHandlerAdapter webSocketHandlerAdapter(WebSocketService webSocketService) {
+        return new WebSocketHandlerAdapter(webSocketService);
+    }
+
+    @Bean
+    public AggregatorWebFilter aggregatorWebFilter(AggregatorHandshakeInterceptor authenticator) {
+        return new AggregatorWebFilter(authenticator);
+    }
+}
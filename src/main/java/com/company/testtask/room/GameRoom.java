@@ -0,0 +1,32 @@
+package com.company.testtask.room;
+
+import com.company.testtask.service.GameService;
+import com.company.testtask.service.RoundEngine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Getter
+@RequiredArgsConstructor
+public class GameRoom {
+
+    private final String name;
+
+    private final GameService gameService;
+
+    private final RoundEngine roundEngine;
+
+    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+
+    public boolean isIdle() {
+        return sessions.isEmpty() && gameService.isIdle();
+    }
+
+    void close() {
+        roundEngine.stop();
+        gameService.closeRoom();
+    }
+}
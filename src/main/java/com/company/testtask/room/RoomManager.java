@@ -0,0 +1,183 @@
+package com.company.testtask.room;
+
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.config.RoomProperties;
+import com.company.testtask.draw.DrawProvider;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.metrics.GameMetrics;
+import com.company.testtask.service.GameService;
+import com.company.testtask.service.RoundEngine;
+import com.company.testtask.service.RoundListeners;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.company.testtask.constant.Constants.DEFAULT_ROOM;
+import static com.company.testtask.constant.Constants.GAME_PATH;
+import static com.company.testtask.constant.Constants.ROOM_NAME_PATTERN;
+
+@Slf4j
+@Component
+public class RoomManager {
+
+    private static final Pattern ROOM_NAME = Pattern.compile(ROOM_NAME_PATTERN);
+
+    private final Map<String, GameRoom> rooms = new ConcurrentHashMap<>();
+
+    private final Object lifecycleLock = new Object();
+
+    private final GameRoom defaultRoom;
+
+    private final DrawProvider drawProvider;
+
+    private final GameProperties gameProperties;
+
+    private final RoomProperties properties;
+
+    private final Journal journal;
+
+    private final RoundListeners listeners;
+
+    private final GameMetrics metrics;
+
+    private final ScheduledExecutorService roundScheduler;
+
+    public RoomManager(GameService gameService, RoundEngine roundEngine, DrawProvider drawProvider,
+                       GameProperties gameProperties, RoomProperties properties, Journal journal,
+                       RoundListeners listeners, GameMetrics metrics, ScheduledExecutorService roundScheduler,
+                       MeterRegistry meterRegistry) {
+        this.defaultRoom = new GameRoom(DEFAULT_ROOM, gameService, roundEngine);
+        this.drawProvider = drawProvider;
+        this.gameProperties = gameProperties;
+        this.properties = properties;
+        this.journal = journal;
+        this.listeners = listeners;
+        this.metrics = metrics;
+        this.roundScheduler = roundScheduler;
+        rooms.put(DEFAULT_ROOM, defaultRoom);
+        Gauge.builder("game.rooms", rooms, Map::size).register(meterRegistry);
+        Gauge.builder("game.players", rooms, RoomManager::countPlayers).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        journal.getRecoveredRooms().forEach(name -> open(name, Integer.MAX_VALUE));
+        roundScheduler.scheduleAtFixedRate(this::evictIdleRooms,
+                properties.getEvictionInterval(), properties.getEvictionInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    public GameRoom getDefaultRoom() {
+        return defaultRoom;
+    }
+
+    public GameRoom get(String name) {
+        return rooms.get(name);
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    public GameRoom join(String name, WebSocketSession session) {
+        if (name == null || !ROOM_NAME.matcher(name).matches()) {
+            return null;
+        }
+        while (true) {
+            GameRoom joined = rooms.computeIfPresent(name, (key, room) -> {
+                room.getSessions().add(session);
+                return room;
+            });
+            if (joined != null) {
+                return joined;
+            }
+            if (open(name, properties.getMaxRooms()) == null) {
+                return null;
+            }
+        }
+    }
+
+    public void evictIdleRooms() {
+        for (GameRoom room : rooms.values()) {
+            if (DEFAULT_ROOM.equals(room.getName())) {
+                continue;
+            }
+            synchronized (lifecycleLock) {
+                if (removeIfIdle(room)) {
+                    room.close();
+                    log.debug("Closed idle room {}", room.getName());
+                }
+            }
+        }
+    }
+
+    public static String roomName(URI uri) {
+        String path = uri != null ? uri.getPath() : null;
+        if (path == null) {
+            return DEFAULT_ROOM;
+        }
+        int index = path.indexOf(GAME_PATH);
+        String room = index >= 0 ? path.substring(index + GAME_PATH.length()) : "";
+        if (room.startsWith("/")) {
+            room = room.substring(1);
+        }
+        return room.isEmpty() ? DEFAULT_ROOM : room;
+    }
+
+    private static double countPlayers(Map<String, GameRoom> rooms) {
+        int players = 0;
+        for (GameRoom room : rooms.values()) {
+            players += room.getGameService().getPlayerCount();
+        }
+        return players;
+    }
+
+    /**
+     * Creates and starts a room unless it exists or {@code maxRooms} are open. Rooms are only added
+     * and closed under the lifecycle lock, so the size check reserves the slot, and recovery and the
+     * round engine start run outside the map's own locking.
+     */
+    private GameRoom open(String name, int maxRooms) {
+        synchronized (lifecycleLock) {
+            GameRoom room = rooms.get(name);
+            if (room != null) {
+                return room;
+            }
+            if (rooms.size() >= maxRooms) {
+                return null;
+            }
+            room = create(name);
+            rooms.put(name, room);
+            return room;
+        }
+    }
+
+    private boolean removeIfIdle(GameRoom room) {
+        boolean[] removed = new boolean[1];
+        rooms.computeIfPresent(room.getName(), (key, current) -> {
+            if (current != room || !current.isIdle()) {
+                return current;
+            }
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private GameRoom create(String name) {
+        GameService gameService = new GameService(name, drawProvider, gameProperties, journal);
+        gameService.recover();
+        RoundEngine roundEngine = new RoundEngine(gameService, listeners, metrics, roundScheduler);
+        roundEngine.start();
+        return new GameRoom(name, gameService, roundEngine);
+    }
+}
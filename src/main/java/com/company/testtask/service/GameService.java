@@ -1,45 +1,163 @@
 package com.company.testtask.service;
 
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.draw.DrawProvider;
+import com.company.testtask.exception.JournalUnavailableException;
 import com.company.testtask.exception.NicknameIsTakenException;
 import com.company.testtask.exception.PlayerNotFoundException;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.journal.JournalRecord;
+import com.company.testtask.journal.JournalSnapshot;
+import com.company.testtask.journal.RecoveredState;
+import com.company.testtask.model.BetBatch;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.BetStatus;
+import com.company.testtask.model.Money;
 import com.company.testtask.model.Player;
-import lombok.RequiredArgsConstructor;
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.model.Winner;
+import com.company.testtask.model.WinnersList;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static com.company.testtask.constant.Constants.LOSING_MESSAGE;
+import static com.company.testtask.constant.Constants.DEFAULT_ROOM;
+import static com.company.testtask.constant.Constants.JOURNAL_CANCEL_DROPPED;
+import static com.company.testtask.constant.Constants.JOURNAL_FULL_MESSAGE;
+import static com.company.testtask.constant.Constants.JOURNAL_ROUND_SETTLED;
+import static com.company.testtask.constant.Constants.JOURNAL_ROUND_UNJOURNALED;
 import static com.company.testtask.constant.Constants.NICKNAME_ALREADY_TAKEN_MESSAGE;
 import static com.company.testtask.constant.Constants.PLAYER_NOT_FOUND;
-import static com.company.testtask.constant.Constants.WINNERS_LIST_MESSAGE;
-import static com.company.testtask.constant.Constants.WINNING_MESSAGE;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class GameService {
 
-    private final Map<String, Player> players = new HashMap<>();
+    private final PlayerRegistry players = new PlayerRegistry();
+
+    private final AtomicReference<BetBook> openBook = new AtomicReference<>(new BetBook());
+
+    private static final Comparator<Winner> WINNER_ORDER = Comparator.comparingLong(Winner::getPayout);
+
+    private volatile WinnersList lastWinners = WinnersList.EMPTY;
+
+    private volatile Map<String, Player> restoredPlayers = Map.of();
+
+    private volatile long restoredRoundId;
+
+    private volatile List<RoundResult> recoveredRounds = List.of();
 
     public static final long ROUND_DURATION = 10000;
 
-    private final Random random;
+    public static final long BET_GRACE_PERIOD = 1000;
+
+    @Getter
+    private final String room;
+
+    private final DrawProvider drawProvider;
+
+    private final GameProperties properties;
+
+    private final Journal journal;
+
+    @Autowired
+    public GameService(DrawProvider drawProvider, GameProperties properties, Journal journal) {
+        this(DEFAULT_ROOM, drawProvider, properties, journal);
+    }
+
+    public GameService(String room, DrawProvider drawProvider, GameProperties properties, Journal journal) {
+        this.room = room;
+        this.drawProvider = drawProvider;
+        this.properties = properties;
+        this.journal = journal.forRoom(room);
+    }
+
+    @PostConstruct
+    public void recover() {
+        RecoveredState state = journal.recover();
+        List<RoundResult> settled = new ArrayList<>();
+        state.getUnsettledRounds().forEach((roundId, bets) -> settled.add(settleRecovered(roundId, bets)));
+        recoveredRounds = settled;
+
+        BetBook book = new BetBook(state.getOpenRoundId(), state.getOpenBets().size());
+        Map<String, Player> restored = new HashMap<>();
+        for (JournalRecord bet : state.getOpenBets()) {
+            Player player = new Player();
+            player.setNickname(bet.getNickname());
+            player.setNumber(bet.getNumber());
+            player.setBet(bet.getBet());
+            players.register(bet.getPlayerId(), player);
+            book.place(bet.getPlayerId(), bet.getNickname(), bet.getNumber(), bet.getBet());
+            restored.put(bet.getPlayerId(), player);
+        }
+        openBook.set(book);
+        restoredRoundId = book.getRoundId();
+        restoredPlayers = restored;
+    }
+
+    /**
+     * Rounds settled by {@link #recover()}, handed out once so the round engine can publish them.
+     */
+    public List<RoundResult> takeRecoveredRounds() {
+        List<RoundResult> rounds = recoveredRounds;
+        recoveredRounds = List.of();
+        return rounds;
+    }
+
+    /**
+     * Settles a round that was locked but not settled before the restart. Its bets were frozen by
+     * the lock, so drawing now is as fair as drawing then, and the journaled draws make a second
+     * restart settle it the same way.
+     */
+    private RoundResult settleRecovered(long roundId, List<JournalRecord> bets) {
+        BetBook book = new BetBook(roundId, bets.size());
+        for (JournalRecord bet : bets) {
+            book.place(bet.getPlayerId(), bet.getNickname(), bet.getNumber(), bet.getBet());
+        }
+        book.lock();
+        Round round = new Round(room, roundId, System.currentTimeMillis());
+        round.lock(book.getBetCount());
+        round.settle();
+        RoundResult result = settleRound(round, book);
+        round.broadcast();
+        log.warn(JOURNAL_ROUND_SETTLED, room, roundId, book.getBetCount());
+        return result;
+    }
 
     public void registerPlayer(String playerId, Player player) {
-        players.put(playerId, player);
+        players.register(playerId, player);
+    }
+
+    private PlayerResult settle(Player player) {
+        synchronized (player) {
+            calculatePayout(player);
+            return new PlayerResult(player.isWon(), player.getPayout());
+        }
     }
 
     private void calculatePayout(Player model) {
-        BigDecimal payout = BigDecimal.ZERO;
+        long payout = 0;
+        boolean won = model.getNumber() == generateRandomNumber();
 
-        if (model.getNumber() == generateRandomNumber()) {
-            payout = model.getBet().multiply(BigDecimal.valueOf(9.9));
-            model.setWon(true);
+        if (won) {
+            payout = Money.payout(model.getBet());
         }
 
+        model.setWon(won);
         model.setPayout(payout);
     }
 
@@ -49,40 +167,325 @@ public class GameService {
             throw new PlayerNotFoundException(PLAYER_NOT_FOUND);
         }
 
-        calculatePayout(player);
-        return player.isWon()
-                ? WINNING_MESSAGE + player.getPayout()
-                : LOSING_MESSAGE;
+        return settle(player).getMessage();
+    }
+
+    public long getOpenRoundId() {
+        return openBook.get().getRoundId();
+    }
+
+    /**
+     * Swaps in the next round's book and freezes the current one. Bets arriving during the swap go
+     * to the next book, so ingestion never waits on this; only the caller waits for the bets already
+     * in flight to land in the frozen book. A journal failure does not stop the round: its bets are
+     * frozen either way and are still settled.
+     */
+    public BetBook lockRound() {
+        BetBook book = openBook.getAndUpdate(open -> new BetBook(open.getRoundId() + 1, open.size()));
+        book.lock();
+        if (journalRound(book, JournalRecord.roundLocked(book.getRoundId(), book.getBetCount()))
+                && journal.isSnapshotDue(book.getRoundId())) {
+            snapshot(book);
+        }
+        return book;
+    }
+
+    public RoundResult settleRound(Round round, BetBook book) {
+        int size = book.size();
+        byte[] draws = new byte[size];
+        drawProvider.fill(draws, 0, size);
+
+        long[] payouts = new long[size];
+        int threshold = Math.max(1, properties.getSettlementParallelThreshold());
+        if (size > threshold) {
+            ForkJoinPool.commonPool().invoke(
+                    new SettlementTask(book.getNumbers(), book.getBets(), draws, payouts, 0, size, threshold));
+        } else {
+            SettlementTask.settle(book.getNumbers(), book.getBets(), draws, payouts, 0, size);
+        }
+
+        journalRound(book, JournalRecord.roundSettled(book.getRoundId(), draws));
+
+        WinnersList winnersList = buildWinnersList(round.getId(), book, draws, payouts);
+        lastWinners = winnersList;
+        releaseRestoredPlayers(book);
+        return new RoundResult(round, book, draws, payouts, winnersList);
+    }
+
+    private boolean journalRound(BetBook book, JournalRecord record) {
+        try {
+            journal.append(record);
+            return true;
+        } catch (JournalUnavailableException e) {
+            book.markUnjournaled();
+            log.warn(JOURNAL_ROUND_UNJOURNALED, room, book.getRoundId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Snapshots the open book together with the just-locked one, whose bets would otherwise only be
+     * in segments the snapshot lets the journal delete. The open book's monitor is held, so the
+     * snapshot does not wait for room in the journal; one that does not fit is taken next interval.
+     */
+    private void snapshot(BetBook pending) {
+        List<JournalRecord> pendingBets = bets(pending);
+        BetBook book = openBook.get();
+        synchronized (book) {
+            journal.tryAppend(JournalRecord.snapshot(
+                    new JournalSnapshot(book.getRoundId(), pending.getRoundId(), bets(book), pendingBets)));
+        }
+    }
+
+    private static List<JournalRecord> bets(BetBook book) {
+        List<JournalRecord> bets = new ArrayList<>(book.getBetCount());
+        for (int row = 0; row < book.size(); row++) {
+            if (!book.isVoid(row)) {
+                bets.add(JournalRecord.bet(book.getRoundId(), book.getPlayerId(row), book.getNickname(row),
+                        book.getNumbers()[row], book.getBets()[row]));
+            }
+        }
+        return bets;
+    }
+
+    /**
+     * Drops the players restored from the journal once their round has settled. A player id that a
+     * new connection has taken over since is left alone.
+     */
+    private void releaseRestoredPlayers(BetBook book) {
+        Map<String, Player> restored = restoredPlayers;
+        if (restored.isEmpty() || book.getRoundId() < restoredRoundId) {
+            return;
+        }
+        restoredPlayers = Map.of();
+        restored.forEach(players::remove);
+    }
+
+    private boolean isRestored(String playerId, Player player) {
+        return restoredPlayers.get(playerId) == player;
     }
 
     public String getWinnersList() {
-        StringBuilder winnersList = new StringBuilder(WINNERS_LIST_MESSAGE);
-        players.values().stream()
-                .filter(Player::isWon)
-                .sorted(Comparator.comparing(Player::getPayout).reversed())
-                .forEach(player -> winnersList.append(player.getNickname())
-                        .append(": ")
-                        .append(player.getPayout())
-                        .append("\n"));
-        return winnersList.toString().trim();
+        return lastWinners.getText();
+    }
+
+    public WinnersList getLastWinners() {
+        return lastWinners;
+    }
+
+    private WinnersList buildWinnersList(long roundId, BetBook book, byte[] draws, long[] payouts) {
+        byte[] numbers = book.getNumbers();
+        int limit = properties.getWinnersLimit();
+        PriorityQueue<Winner> top = new PriorityQueue<>(Math.max(1, Math.min(limit, book.size())), WINNER_ORDER);
+        int totalWinners = 0;
+        for (int i = 0; i < book.size(); i++) {
+            if (numbers[i] != draws[i]) {
+                continue;
+            }
+            totalWinners++;
+            if (top.size() < limit) {
+                top.offer(new Winner(book.getNickname(i), payouts[i]));
+            } else if (limit > 0 && payouts[i] > top.peek().getPayout()) {
+                top.poll();
+                top.offer(new Winner(book.getNickname(i), payouts[i]));
+            }
+        }
+
+        List<Winner> winners = new ArrayList<>(top);
+        winners.sort(Collections.reverseOrder(WINNER_ORDER));
+        return new WinnersList(roundId, winners, totalWinners);
     }
 
     public void addPlayerData(String playerId, Player model) {
-        if (!isNicknameUnique(model.getNickname())) {
+        BetStatus status = placeBet(playerId, model.getNickname(), model.getNumber(), model.getBet());
+        if (status == BetStatus.PLAYER_NOT_FOUND) {
+            throw new PlayerNotFoundException(PLAYER_NOT_FOUND);
+        }
+        if (status == BetStatus.NICKNAME_TAKEN) {
             throw new NicknameIsTakenException(NICKNAME_ALREADY_TAKEN_MESSAGE);
         }
+        if (status == BetStatus.UNAVAILABLE) {
+            throw new JournalUnavailableException(JOURNAL_FULL_MESSAGE);
+        }
+    }
+
+    /**
+     * Claims the nickname, places the bet and only then updates the player, so a rejected bet leaves
+     * neither the nickname taken nor the player showing a bet that is not in the round.
+     */
+    public BetStatus placeBet(String playerId, String nickname, int number, long bet) {
         Player player = players.get(playerId);
         if (player == null) {
-            throw new PlayerNotFoundException(PLAYER_NOT_FOUND);
+            return BetStatus.PLAYER_NOT_FOUND;
+        }
+        if (!players.claimNickname(nickname, playerId)) {
+            return BetStatus.NICKNAME_TAKEN;
+        }
+        if (players.get(playerId) != player) {
+            releaseClaim(playerId, nickname);
+            return BetStatus.PLAYER_NOT_FOUND;
+        }
+        BetStatus status;
+        while ((status = placeInOpenBook(playerId, nickname, number, bet)) == null) {
+            Thread.onSpinWait();
+        }
+        if (status != BetStatus.ACCEPTED) {
+            releaseClaim(playerId, nickname);
+            return status;
+        }
+        update(playerId, player, nickname, number, bet);
+        if (players.get(playerId) != player) {
+            players.releaseNickname(nickname, playerId);
+        }
+        return status;
+    }
+
+    private void update(String playerId, Player player, String nickname, int number, long bet) {
+        synchronized (player) {
+            String previousNickname = player.getNickname();
+            if (previousNickname != null && !previousNickname.equals(nickname)) {
+                players.releaseNickname(previousNickname, playerId);
+            }
+            player.setNickname(nickname);
+            player.setNumber(number);
+            player.setBet(bet);
         }
-        player.setNickname(model.getNickname());
-        player.setNumber(model.getNumber());
-        player.setBet(model.getBet());
+    }
+
+    /**
+     * Gives back a nickname claimed for a bet that was not placed, unless the player already went by
+     * it.
+     */
+    private void releaseClaim(String playerId, String nickname) {
+        Player player = players.get(playerId);
+        if (player != null) {
+            synchronized (player) {
+                if (nickname.equals(player.getNickname())) {
+                    return;
+                }
+            }
+        }
+        players.releaseNickname(nickname, playerId);
+    }
+
+    /**
+     * Places every pending item and gives each one a status. As with {@link #placeBet}, an item's
+     * sub-account is registered and updated only once its bet is in the round, and the nickname
+     * claimed for a rejected item is given back.
+     */
+    public void placeBatch(BetBatch batch) {
+        Player[] accounts = new Player[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            if (!batch.isPending(i)) {
+                continue;
+            }
+            String playerId = batch.getPlayerId(i);
+            if (!players.claimNickname(batch.getNickname(i), playerId)) {
+                batch.setStatus(i, BetStatus.NICKNAME_TAKEN);
+                continue;
+            }
+            Player player = players.get(playerId);
+            accounts[i] = player == null || isRestored(playerId, player) ? new Player() : player;
+        }
+        while (!placeInOpenBook(batch)) {
+            Thread.onSpinWait();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Player player = accounts[i];
+            if (player == null) {
+                continue;
+            }
+            String playerId = batch.getPlayerId(i);
+            if (batch.getStatus(i) != BetStatus.ACCEPTED) {
+                releaseClaim(playerId, batch.getNickname(i));
+                continue;
+            }
+            update(playerId, player, batch.getNickname(i), batch.getNumber(i), batch.getBet(i));
+            if (players.get(playerId) != player) {
+                players.register(playerId, player);
+            }
+        }
+    }
+
+    private boolean placeInOpenBook(BetBatch batch) {
+        BetBook book = openBook.get();
+        if (!book.enter()) {
+            return false;
+        }
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.isPending(i)) {
+                    batch.setStatus(i, put(book, batch.getPlayerId(i), batch.getNickname(i), batch.getNumber(i),
+                            batch.getBet(i)));
+                }
+            }
+            return true;
+        } finally {
+            book.exit();
+        }
+    }
+
+    /**
+     * Returns {@code null} if the open book was sealed before the bet got in, to be retried against
+     * the next one.
+     */
+    private BetStatus placeInOpenBook(String playerId, String nickname, int number, long bet) {
+        BetBook book = openBook.get();
+        if (!book.enter()) {
+            return null;
+        }
+        try {
+            return put(book, playerId, nickname, number, bet);
+        } finally {
+            book.exit();
+        }
+    }
+
+    /**
+     * Puts the bet into an entered book and journals it outside the book's monitor, so a full journal
+     * queue rejects the bet instead of stalling every bet thread of the room. A bet the journal cannot
+     * take is undone, restoring the player's earlier bet in this round if there was one.
+     */
+    private BetStatus put(BetBook book, String playerId, String nickname, int number, long bet) {
+        String previousNickname = null;
+        int previousNumber = BetBook.VOID;
+        long previousBet = 0;
+        synchronized (book) {
+            int row = book.rowOf(playerId);
+            if (row >= 0 && !book.isVoid(row)) {
+                previousNickname = book.getNickname(row);
+                previousNumber = book.getNumbers()[row];
+                previousBet = book.getBets()[row];
+            }
+            book.put(playerId, nickname, number, bet);
+        }
+        if (journal.tryAppend(JournalRecord.bet(book.getRoundId(), playerId, nickname, number, bet))) {
+            return BetStatus.ACCEPTED;
+        }
+        synchronized (book) {
+            if (previousNumber != BetBook.VOID) {
+                book.put(playerId, previousNickname, previousNumber, previousBet);
+            } else {
+                book.remove(playerId);
+            }
+        }
+        return BetStatus.UNAVAILABLE;
+    }
+
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    public boolean isIdle() {
+        return players.size() == 0 && openBook.get().getBetCount() == 0 && restoredPlayers.isEmpty();
+    }
+
+    public void closeRoom() {
+        journal.append(JournalRecord.roomClosed());
     }
 
     public boolean isNicknameUnique(String nickname) {
-        return players.values().stream()
-                .noneMatch(player -> nickname.equals(player.getNickname()));
+        return !players.isNicknameTaken(nickname);
     }
 
     public Player getPlayer(String playerId) {
@@ -91,13 +494,35 @@ public class GameService {
 
     public void removePlayer(String playerId) {
         players.remove(playerId);
+        BetBook book = openBook.get();
+        if (!book.enter()) {
+            return;
+        }
+        try {
+            boolean removed;
+            synchronized (book) {
+                removed = book.remove(playerId);
+            }
+            if (removed && !journal.tryAppend(JournalRecord.cancel(book.getRoundId(), playerId))) {
+                log.warn(JOURNAL_CANCEL_DROPPED, playerId, room, book.getRoundId());
+            }
+        } finally {
+            book.exit();
+        }
     }
 
     public void removeAllPlayers() {
         players.clear();
+        BetBook book = openBook.getAndUpdate(open -> new BetBook(open.getRoundId(), BetBook.DEFAULT_CAPACITY));
+        book.lock();
+        for (int row = 0; row < book.size(); row++) {
+            if (!book.isVoid(row)) {
+                journal.append(JournalRecord.cancel(book.getRoundId(), book.getPlayerId(row)));
+            }
+        }
     }
 
     private int generateRandomNumber() {
-        return random.nextInt(10) + 1;
+        return drawProvider.draw();
     }
 }
@@ -0,0 +1,80 @@
+package com.company.testtask.service;
+
+import com.company.testtask.model.Player;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PlayerRegistry {
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private final ConcurrentHashMap<String, Player> players = new ConcurrentHashMap<>(INITIAL_CAPACITY);
+
+    private final ConcurrentHashMap<String, String> nicknames = new ConcurrentHashMap<>(INITIAL_CAPACITY);
+
+    public void register(String playerId, Player player) {
+        Player previous = players.put(playerId, player);
+        if (previous != null && previous.getNickname() != null) {
+            releaseNickname(previous.getNickname(), playerId);
+        }
+        if (player.getNickname() != null) {
+            claimNickname(player.getNickname(), playerId);
+        }
+    }
+
+    public Player get(String playerId) {
+        return players.get(playerId);
+    }
+
+    public boolean claimNickname(String nickname, String playerId) {
+        String owner = nicknames.putIfAbsent(nickname, playerId);
+        return owner == null || owner.equals(playerId);
+    }
+
+    public void releaseNickname(String nickname, String playerId) {
+        nicknames.remove(nickname, playerId);
+    }
+
+    public boolean isNicknameTaken(String nickname) {
+        return nicknames.containsKey(nickname);
+    }
+
+    public String getOwner(String nickname) {
+        return nicknames.get(nickname);
+    }
+
+    public Player remove(String playerId) {
+        Player player = players.remove(playerId);
+        if (player != null && player.getNickname() != null) {
+            releaseNickname(player.getNickname(), playerId);
+        }
+        return player;
+    }
+
+    /**
+     * Removes {@code playerId} only while it is still registered as {@code player}.
+     */
+    public boolean remove(String playerId, Player player) {
+        if (!players.remove(playerId, player)) {
+            return false;
+        }
+        if (player.getNickname() != null) {
+            releaseNickname(player.getNickname(), playerId);
+        }
+        return true;
+    }
+
+    public Collection<Player> values() {
+        return players.values();
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    public void clear() {
+        players.clear();
+        nicknames.clear();
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.testtask.service;
+
+import com.company.testtask.metrics.GameMetrics;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.ROUND_SETTLEMENT_FAILED;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoundEngine {
+
+    private final GameService gameService;
+
+    private final RoundListeners listeners;
+
+    private final GameMetrics metrics;
+
+    private final ScheduledExecutorService roundScheduler;
+
+    private volatile ScheduledFuture<?> schedule;
+
+    private volatile Round currentRound;
+
+    private volatile Round lastRound;
+
+    private boolean stopped;
+
+    @PostConstruct
+    public void start() {
+        currentRound = new Round(gameService.getRoom(), gameService.getOpenRoundId(), System.currentTimeMillis());
+        schedule = roundScheduler.scheduleAtFixedRate(this::closeRound,
+                GameService.ROUND_DURATION, GameService.ROUND_DURATION, TimeUnit.MILLISECONDS);
+    }
+
+    public Round getCurrentRound() {
+        return currentRound;
+    }
+
+    public Round getLastRound() {
+        return lastRound;
+    }
+
+    public synchronized void closeRound() {
+        if (stopped) {
+            return;
+        }
+        publishRecoveredRounds();
+        Round round = currentRound;
+        try {
+            BetBook book = gameService.lockRound();
+            round.lock(book.getBetCount());
+            currentRound = new Round(gameService.getRoom(), gameService.getOpenRoundId(), System.currentTimeMillis());
+
+            round.settle();
+            RoundResult result = gameService.settleRound(round, book);
+
+            round.broadcast();
+            listeners.onRoundSettled(result);
+            round.complete();
+            metrics.roundCompleted(round);
+            log.debug("Round {}/{} settled {} bets in {} us, broadcast in {} us", round.getRoom(), round.getId(),
+                    round.getBetCount(), TimeUnit.NANOSECONDS.toMicros(round.getSettlementNanos()),
+                    TimeUnit.NANOSECONDS.toMicros(round.getBroadcastNanos()));
+        } catch (RuntimeException e) {
+            log.error(ROUND_SETTLEMENT_FAILED, round.getId(), e);
+        } finally {
+            lastRound = round;
+        }
+    }
+
+    /**
+     * Rounds settled during recovery go out with the first scheduled close, once every listener has
+     * registered.
+     */
+    private void publishRecoveredRounds() {
+        for (RoundResult result : gameService.takeRecoveredRounds()) {
+            listeners.onRoundSettled(result);
+            result.getRound().complete();
+            lastRound = result.getRound();
+        }
+    }
+
+    /**
+     * Cancels the schedule and waits for a round that is already closing, so nothing is journaled
+     * for this engine once it returns.
+     */
+    @PreDestroy
+    public void stop() {
+        ScheduledFuture<?> scheduled = schedule;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        synchronized (this) {
+            stopped = true;
+        }
+    }
+}
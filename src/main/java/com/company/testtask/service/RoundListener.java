@@ -0,0 +1,8 @@
+package com.company.testtask.service;
+
+import com.company.testtask.model.RoundResult;
+
+public interface RoundListener {
+
+    void onRoundSettled(RoundResult result);
+}
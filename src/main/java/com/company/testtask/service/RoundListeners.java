@@ -0,0 +1,32 @@
+package com.company.testtask.service;
+
+import com.company.testtask.model.RoundResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.company.testtask.constant.Constants.ROUND_LISTENER_FAILED;
+
+@Slf4j
+@Component
+public class RoundListeners implements RoundListener {
+
+    private final List<RoundListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void add(RoundListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onRoundSettled(RoundResult result) {
+        for (RoundListener listener : listeners) {
+            try {
+                listener.onRoundSettled(result);
+            } catch (RuntimeException e) {
+                log.error(ROUND_LISTENER_FAILED, result.getRound().getId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.company.testtask.service;
+
+import com.company.testtask.model.Money;
+
+import java.util.concurrent.RecursiveAction;
+
+class SettlementTask extends RecursiveAction {
+
+    private final byte[] numbers;
+
+    private final long[] bets;
+
+    private final byte[] draws;
+
+    private final long[] payouts;
+
+    private final int from;
+
+    private final int to;
+
+    private final int threshold;
+
+    SettlementTask(byte[] numbers, long[] bets, byte[] draws, long[] payouts, int from, int to, int threshold) {
+        this.numbers = numbers;
+        this.bets = bets;
+        this.draws = draws;
+        this.payouts = payouts;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            settle(numbers, bets, draws, payouts, from, to);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new SettlementTask(numbers, bets, draws, payouts, from, middle, threshold),
+                new SettlementTask(numbers, bets, draws, payouts, middle, to, threshold));
+    }
+
+    static void settle(byte[] numbers, long[] bets, byte[] draws, long[] payouts, int from, int to) {
+        for (int i = from; i < to; i++) {
+            payouts[i] = numbers[i] == draws[i] ? Money.payout(bets[i]) : 0;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.company.testtask.spectator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring of the most recent spectator events. Events are published one at a time and readers keep
+ * their own sequence, so reading never writes shared state. A reader that falls a full ring behind
+ * finds its slot overwritten and skips ahead to {@link #oldest()}.
+ */
+public class RoundEventRing {
+
+    private final AtomicReferenceArray<SpectatorEvent> slots;
+
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();
+
+    private final long epoch = System.currentTimeMillis();
+
+    public RoundEventRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public synchronized SpectatorEvent publish(String room, String json) {
+        long sequence = head.get();
+        SpectatorEvent event = new SpectatorEvent(epoch, sequence, room, json);
+        slots.setRelease((int) (sequence & mask), event);
+        head.setRelease(sequence + 1);
+        return event;
+    }
+
+    /**
+     * Returns the sequence the next event will be published under.
+     */
+    public long head() {
+        return head.getAcquire();
+    }
+
+    /**
+     * Returns the sequence of an event id from this ring, or {@code -1} if the id is malformed or was
+     * issued before a restart.
+     */
+    public long sequenceOf(String id) {
+        int separator = id.indexOf('-');
+        try {
+            if (separator < 0 || Long.parseLong(id.substring(0, separator)) != epoch) {
+                return -1;
+            }
+            return Long.parseLong(id.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public long oldest() {
+        return Math.max(0, head() - slots.length());
+    }
+
+    /**
+     * Returns the event published under {@code sequence}, or {@code null} if it is not published yet
+     * or has already been overwritten.
+     */
+    public SpectatorEvent get(long sequence) {
+        SpectatorEvent event = slots.getAcquire((int) (sequence & mask));
+        return event != null && event.getSequence() == sequence ? event : null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.company.testtask.spectator;
+
+import com.company.testtask.leaderboard.LeaderboardEntry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class RoundSummary {
+
+    private final String room;
+
+    private final long roundId;
+
+    private final int totalWinners;
+
+    private final List<LeaderboardEntry> winners;
+}
@@ -0,0 +1,51 @@
+package com.company.testtask.spectator;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One subscriber of the spectator feed. The cursor is only moved by the worker currently draining
+ * the spectator, which {@link #trySchedule()} makes exclusive.
+ */
+public class Spectator {
+
+    private final String room;
+
+    @Getter
+    private final SpectatorChannel channel;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    volatile long cursor;
+
+    Spectator(String room, SpectatorChannel channel, long cursor) {
+        this.room = room;
+        this.channel = channel;
+        this.cursor = cursor;
+    }
+
+    boolean wants(SpectatorEvent event) {
+        return room == null || room.equals(event.getRoom());
+    }
+
+    boolean trySchedule() {
+        return !closed && scheduled.compareAndSet(false, true);
+    }
+
+    void release() {
+        scheduled.set(false);
+    }
+
+    boolean close() {
+        boolean open = !closed;
+        closed = true;
+        return open;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,19 @@
+package com.company.testtask.spectator;
+
+import java.io.IOException;
+
+public interface SpectatorChannel {
+
+    /**
+     * Returns whether the channel can take another event now. A channel that is not ready keeps its
+     * cursor and is drained again on {@link SpectatorFeed#wake(Spectator)}.
+     */
+    default boolean isReady() {
+        return true;
+    }
+
+    void send(SpectatorEvent event) throws IOException;
+
+    default void close() {
+    }
+}
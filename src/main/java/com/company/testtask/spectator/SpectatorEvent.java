@@ -0,0 +1,37 @@
+package com.company.testtask.spectator;
+
+import lombok.Getter;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * A settled round encoded once for every spectator: the JSON body for SSE and the same body as a
+ * shared WebSocket text frame.
+ */
+@Getter
+public class SpectatorEvent {
+
+    private final long epoch;
+
+    private final long sequence;
+
+    private final String room;
+
+    private final String json;
+
+    private final TextMessage frame;
+
+    public SpectatorEvent(long epoch, long sequence, String room, String json) {
+        this.epoch = epoch;
+        this.sequence = sequence;
+        this.room = room;
+        this.json = json;
+        this.frame = new TextMessage(json);
+    }
+
+    /**
+     * Returns {@code <epoch>-<sequence>}; the epoch tells ids of this run from those of a previous one.
+     */
+    public String getId() {
+        return epoch + "-" + sequence;
+    }
+}
@@ -0,0 +1,194 @@
+package com.company.testtask.spectator;
+
+import com.company.testtask.config.ExecutionMode;
+import com.company.testtask.config.ExecutionProperties;
+import com.company.testtask.config.SpectatorProperties;
+import com.company.testtask.leaderboard.LeaderboardEntry;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.model.Winner;
+import com.company.testtask.model.WinnersList;
+import com.company.testtask.service.RoundListener;
+import com.company.testtask.service.RoundListeners;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.company.testtask.constant.Constants.SPECTATOR_ENCODING_FAILED;
+import static com.company.testtask.constant.Constants.SPECTATOR_SEND_FAILED;
+
+/**
+ * Read-only feed of settled rounds. Each round is encoded once into the {@link RoundEventRing};
+ * settlement only publishes and wakes the workers, which walk the spectators and move each one's
+ * cursor forward. Spectators that fall a full ring behind skip to the oldest retained event.
+ */
+@Slf4j
+@Component
+public class SpectatorFeed implements RoundListener {
+
+    private static final int DRAIN_BATCH = 16;
+
+    private final Set<Spectator> spectators = ConcurrentHashMap.newKeySet();
+
+    private final RoundEventRing ring;
+
+    private final ObjectMapper objectMapper;
+
+    private final RoundListeners roundListeners;
+
+    private final ExecutorService workers;
+
+    private final Counter publishedCounter;
+
+    private final Counter skippedCounter;
+
+    public SpectatorFeed(ObjectMapper objectMapper, SpectatorProperties properties, ExecutionProperties execution,
+                         RoundListeners roundListeners, MeterRegistry meterRegistry) {
+        this.ring = new RoundEventRing(properties.getRingSize());
+        this.objectMapper = objectMapper;
+        this.roundListeners = roundListeners;
+        ExecutionMode mode = execution.getMode();
+        this.workers = mode == ExecutionMode.VIRTUAL
+                ? Executors.newThreadPerTaskExecutor(mode.threadFactory("spectator-"))
+                : Executors.newFixedThreadPool(properties.getWorkers(), mode.threadFactory("spectator-"));
+        this.publishedCounter = meterRegistry.counter("game.spectator.events.published");
+        this.skippedCounter = meterRegistry.counter("game.spectator.events.skipped");
+        Gauge.builder("game.spectators", spectators, Set::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void registerRoundListener() {
+        roundListeners.add(this);
+    }
+
+    @Override
+    public void onRoundSettled(RoundResult result) {
+        publish(result.getRound().getRoom(), result.getWinnersList());
+    }
+
+    /**
+     * Subscribes a spectator to {@code room}, or to every room if it is {@code null}. A spectator
+     * resuming after {@code lastEventId} continues from the next retained event, or from the oldest
+     * one if the id is from before a restart; a new one starts with the latest event.
+     */
+    public Spectator subscribe(String room, String lastEventId, SpectatorChannel channel) {
+        long head = ring.head();
+        long cursor;
+        if (lastEventId == null) {
+            cursor = Math.max(0, head - 1);
+        } else {
+            long sequence = ring.sequenceOf(lastEventId);
+            cursor = sequence >= 0 ? Math.min(sequence + 1, head) : ring.oldest();
+        }
+        Spectator spectator = new Spectator(room, channel, cursor);
+        spectators.add(spectator);
+        wake(spectator);
+        return spectator;
+    }
+
+    public void unsubscribe(Spectator spectator) {
+        if (spectator != null && spectator.close()) {
+            spectators.remove(spectator);
+            spectator.getChannel().close();
+        }
+    }
+
+    /**
+     * Drains {@code spectator} again, e.g. once its channel has become ready.
+     */
+    public void wake(Spectator spectator) {
+        if (ring.get(spectator.cursor) != null || spectator.cursor < ring.oldest()) {
+            if (spectator.trySchedule()) {
+                workers.execute(() -> drain(spectator));
+            }
+        }
+    }
+
+    public SpectatorEvent publish(String room, WinnersList winnersList) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(summary(room, winnersList));
+        } catch (JsonProcessingException e) {
+            log.error(SPECTATOR_ENCODING_FAILED, winnersList.getRoundId(), e);
+            return null;
+        }
+        SpectatorEvent event = ring.publish(room, json);
+        publishedCounter.increment();
+        if (!spectators.isEmpty()) {
+            workers.execute(this::wakeAll);
+        }
+        return event;
+    }
+
+    public int size() {
+        return spectators.size();
+    }
+
+    private void wakeAll() {
+        for (Spectator spectator : spectators) {
+            wake(spectator);
+        }
+    }
+
+    private void drain(Spectator spectator) {
+        try {
+            int sent = 0;
+            while (sent < DRAIN_BATCH && !spectator.isClosed() && spectator.getChannel().isReady()) {
+                long oldest = ring.oldest();
+                if (spectator.cursor < oldest) {
+                    skippedCounter.increment(oldest - spectator.cursor);
+                    spectator.cursor = oldest;
+                }
+                SpectatorEvent event = ring.get(spectator.cursor);
+                if (event == null) {
+                    // Overwritten between reading oldest and the slot; re-read oldest
+                    if (spectator.cursor < ring.head()) {
+                        continue;
+                    }
+                    break;
+                }
+                spectator.cursor++;
+                if (spectator.wants(event)) {
+                    spectator.getChannel().send(event);
+                    sent++;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug(SPECTATOR_SEND_FAILED, e.getMessage());
+            unsubscribe(spectator);
+        } finally {
+            spectator.release();
+            if (!spectator.isClosed() && spectator.getChannel().isReady()) {
+                wake(spectator);
+            }
+        }
+    }
+
+    private static RoundSummary summary(String room, WinnersList winnersList) {
+        List<Winner> winners = winnersList.getWinners();
+        List<LeaderboardEntry> entries = new ArrayList<>(winners.size());
+        for (int i = 0; i < winners.size(); i++) {
+            Winner winner = winners.get(i);
+            entries.add(new LeaderboardEntry(i + 1, winner.getNickname(), winner.getPayout()));
+        }
+        return new RoundSummary(room, winnersList.getRoundId(), winnersList.getTotalWinners(), entries);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -1,16 +1,17 @@
 package com.company.testtask;
 
 import com.company.testtask.constant.Constants;
-import com.company.testtask.handler.CustomWebSocketHandler;
+import com.company.testtask.model.Money;
 import com.company.testtask.model.Player;
 import com.company.testtask.service.GameService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -24,22 +25,19 @@ public class BaseTest {
     @Autowired
     private GameService gameService;
 
-    @Autowired
-    private LocalValidatorFactoryBean validator;
-
     private final ObjectMapper mapper = new ObjectMapper();
 
     public Player createPlayer(String nickname, int number, BigDecimal bet) {
         Player player = new Player();
         player.setNickname(nickname);
         player.setNumber(number);
-        player.setBet(bet);
+        player.setBet(Money.of(bet));
         return player;
     }
 
-    public CustomWebSocketHandler createWebSocketHandler(Player player, Map<String, List<String>> playerMessages,
-                                                         CountDownLatch latch) {
-        return new CustomWebSocketHandler(gameService, validator) {
+    public WebSocketHandler createWebSocketHandler(Player player, Map<String, List<String>> playerMessages,
+                                                   CountDownLatch latch) {
+        return new TextWebSocketHandler() {
             @Override
             public void afterConnectionEstablished(WebSocketSession session) throws Exception {
                 session.sendMessage(new TextMessage(mapper.writeValueAsString(player)));
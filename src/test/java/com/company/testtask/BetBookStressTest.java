@@ -0,0 +1,153 @@
+package com.company.testtask;
+
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.draw.SeededDrawProvider;
+import com.company.testtask.journal.JournalRecord;
+import com.company.testtask.journal.RecordType;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.BetStatus;
+import com.company.testtask.model.Player;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.service.GameService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.company.testtask.constant.Constants.TEST_PLAYER_ID;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Places bets from many threads while another thread keeps swapping and settling rounds, then
+ * checks that every accepted bet landed whole in exactly one book and was journalled before that
+ * book was locked.
+ */
+public class BetBookStressTest {
+
+    private static final int WRITERS = 8;
+
+    private static final int BETS_PER_WRITER = 25_000;
+
+    private final Queue<JournalRecord> records = new ConcurrentLinkedQueue<>();
+
+    private final GameService gameService =
+            new GameService(new SeededDrawProvider(42), new GameProperties(), records::add);
+
+    @Test
+    public void testBetsAreNeitherLostNorSplitAcrossRoundSwaps() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.execute(() -> {
+                await(start);
+                for (int i = 0; i < BETS_PER_WRITER; i++) {
+                    int sequence = writer * BETS_PER_WRITER + i;
+                    String playerId = TEST_PLAYER_ID + sequence;
+                    gameService.registerPlayer(playerId, new Player());
+                    BetStatus status = gameService.placeBet(playerId, TEST_PLAYER_NAME + sequence,
+                            numberOf(sequence), betOf(sequence));
+                    if (status == BetStatus.ACCEPTED) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        List<BetBook> books = new ArrayList<>();
+        start.countDown();
+        writers.shutdown();
+        while (!writers.isTerminated()) {
+            BetBook book = gameService.lockRound();
+            int size = book.size();
+            RoundResult result = gameService.settleRound(new Round(book.getRoundId(), System.currentTimeMillis()), book);
+            assertEquals(size, book.size());
+            assertEquals(size, result.getPayouts().length);
+            books.add(book);
+        }
+        assertTrue(writers.awaitTermination(1, TimeUnit.MINUTES));
+        books.add(gameService.lockRound());
+
+        assertEquals(WRITERS * BETS_PER_WRITER, accepted.get());
+        assertTrue(books.size() > 2);
+
+        Set<String> placed = new HashSet<>();
+        for (BetBook book : books) {
+            for (int row = 0; row < book.size(); row++) {
+                String playerId = book.getPlayerId(row);
+                int sequence = Integer.parseInt(playerId.substring(TEST_PLAYER_ID.length()));
+                assertTrue(placed.add(playerId));
+                assertEquals(TEST_PLAYER_NAME + sequence, book.getNickname(row));
+                assertEquals(numberOf(sequence), book.getNumbers()[row]);
+                assertEquals(betOf(sequence), book.getBets()[row]);
+            }
+        }
+        assertEquals(accepted.get(), placed.size());
+
+        Set<Long> lockedRounds = new HashSet<>();
+        int journalledBets = 0;
+        for (JournalRecord record : records) {
+            if (record.getType() == RecordType.BET) {
+                assertFalse(lockedRounds.contains(record.getRoundId()));
+                journalledBets++;
+            } else if (record.getType() == RecordType.ROUND_LOCKED) {
+                lockedRounds.add(record.getRoundId());
+            }
+        }
+        assertEquals(accepted.get(), journalledBets);
+    }
+
+    @Test
+    public void testSealedBookRejectsNewWritersAndWaitsForEnteredOnes() throws Exception {
+        BetBook book = new BetBook();
+        assertTrue(book.enter());
+
+        Thread locker = new Thread(book::lock);
+        locker.start();
+        while (!book.isLocked()) {
+            Thread.onSpinWait();
+        }
+
+        assertFalse(book.enter());
+        synchronized (book) {
+            book.put(TEST_PLAYER_ID, TEST_PLAYER_NAME, 1, betOf(1));
+        }
+        assertTrue(locker.isAlive());
+        book.exit();
+        locker.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(locker.isAlive());
+        assertEquals(1, book.getBetCount());
+        assertFalse(book.place(TEST_PLAYER_ID + 1, TEST_PLAYER_NAME, 1, betOf(1)));
+    }
+
+    private static int numberOf(int sequence) {
+        return sequence % 10 + 1;
+    }
+
+    private static long betOf(int sequence) {
+        return 100L * (sequence + 1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
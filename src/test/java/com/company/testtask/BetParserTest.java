@@ -0,0 +1,121 @@
+package com.company.testtask;
+
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.Player;
+import com.company.testtask.protocol.BetValidator;
+import com.company.testtask.protocol.JsonBetParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.company.testtask.constant.Constants.INVALID_PLAYER_NUMBER_MESSAGE;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static com.company.testtask.constant.Constants.VALIDATION_FAILED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BetParserTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final BetRequest bet = new BetRequest();
+
+    @Test
+    public void testValidBetIsParsed() {
+        assertTrue(JsonBetParser.parse("{\"nickname\":\"" + TEST_PLAYER_NAME + "\",\"number\":5,\"bet\":10.5}", bet));
+
+        assertEquals(TEST_PLAYER_NAME, bet.getNickname());
+        assertEquals(5, bet.getNumber());
+        assertEquals(1050, bet.getBet());
+        assertNull(BetValidator.validate(bet));
+    }
+
+    @Test
+    public void testInvalidNumberMessage() {
+        assertTrue(JsonBetParser.parse("{\"nickname\":\"" + TEST_PLAYER_NAME + "\",\"number\":0,\"bet\":10}", bet));
+
+        assertEquals(INVALID_PLAYER_NUMBER_MESSAGE, BetValidator.validate(bet));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', ignoreLeadingAndTrailingWhitespace = false, value = {
+            "{\"nickname\":\"Player_\",\"number\":11,\"bet\":10}|number must be less than or equal to 10; ",
+            "{\"nickname\":\"Player_\",\"number\":-1,\"bet\":0.5}|number must be greater than or equal to 1; bet must be greater than or equal to 1; ",
+            "{\"number\":5,\"bet\":10}|nickname must not be null; ",
+            "{\"nickname\":\"Player_\",\"number\":5}|bet must not be null; ",
+            "{\"nickname\":null,\"bet\":null}|nickname must not be null; number must be greater than or equal to 1; bet must not be null; ",
+            "{\"nickname\":\"Player_\",\"number\":5,\"bet\":10.001}|bet numeric value out of bounds (<13 digits>.<2 digits> expected); ",
+            "{\"nickname\":\"Player_\",\"number\":5,\"bet\":\"ten\"}|bet numeric value out of bounds (<13 digits>.<2 digits> expected); "
+    })
+    public void testValidationMessages(String payload, String expected) {
+        assertTrue(JsonBetParser.parse(payload, bet));
+
+        assertEquals(VALIDATION_FAILED + expected, BetValidator.validate(bet));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"nickname\":\"Player_\",\"number\":11,\"bet\":10}",
+            "{\"nickname\":\"Player_\",\"number\":-1,\"bet\":0.5}",
+            "{\"number\":5,\"bet\":10}",
+            "{\"nickname\":\"Player_\",\"number\":5}",
+            "{\"nickname\":null,\"bet\":null}",
+            "{\"nickname\":\"Player_\",\"number\":5,\"bet\":10.001}",
+            "{\"nickname\":\"Player_\",\"number\":5,\"bet\":\"ten\"}",
+            "{\"nickname\":\"Player_\",\"number\":\"11\",\"bet\":10}",
+            "{\"nickname\":\"Player_\",\"number\":0.9,\"bet\":10}",
+            "{}"
+    })
+    public void testMessagesMatchBeanValidation(String payload) throws Exception {
+        assertTrue(JsonBetParser.parse(payload, bet));
+
+        Set<ConstraintViolation<Player>> violations = validator.validate(mapper.readValue(payload, Player.class));
+        Set<String> expected = new TreeSet<>();
+        violations.forEach(violation -> expected.add(violation.getPropertyPath() + " " + violation.getMessage()));
+
+        String message = BetValidator.validate(bet);
+        Set<String> actual = new TreeSet<>(Set.of(message.substring(VALIDATION_FAILED.length()).split("; ")));
+
+        assertFalse(violations.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"10", "10.0", "10.00", "10.000", "1e1", "\"10\"", "\" 10\""})
+    public void testEquivalentBetsAreParsedToSameAmount(String amount) {
+        assertTrue(JsonBetParser.parse("{\"nickname\":\"" + TEST_PLAYER_NAME + "\",\"number\":5,\"bet\":" + amount + "}", bet));
+
+        assertEquals(1000, bet.getBet());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"5", "5.0", "5.9", "\"5\"", "\" 5 \""})
+    public void testNumberIsCoercedLikeJackson(String number) throws Exception {
+        String payload = "{\"nickname\":\"" + TEST_PLAYER_NAME + "\",\"number\":" + number + ",\"bet\":10}";
+
+        assertTrue(JsonBetParser.parse(payload, bet));
+
+        assertEquals(5, bet.getNumber());
+        assertEquals(mapper.readValue(payload, Player.class).getNumber(), bet.getNumber());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "[]", "{", "{\"number\":{}}", "{\"bet\":true}", "{} {}", "{\"number\":\"5.5\"}",
+            "{\"number\":\"five\"}", "{\"number\":true}", "{\"number\":1e10}", "{\"number\":5,\"extra\":1}",
+            "{\"extra\":{}}"})
+    public void testMalformedPayloadIsRejected(String payload) {
+        assertFalse(JsonBetParser.parse(payload, bet));
+    }
+}
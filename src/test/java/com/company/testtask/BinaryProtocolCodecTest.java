@@ -0,0 +1,234 @@
+package com.company.testtask;
+
+import com.company.testtask.model.BetBatch;
+import com.company.testtask.model.BetRequest;
+import com.company.testtask.model.Money;
+import com.company.testtask.model.Player;
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.Winner;
+import com.company.testtask.model.WinnersList;
+import com.company.testtask.protocol.BinaryFrames;
+import com.company.testtask.protocol.BinaryProtocolCodec;
+import com.company.testtask.protocol.ErrorCode;
+import com.company.testtask.protocol.FramePool;
+import com.company.testtask.protocol.PooledFrame;
+import com.company.testtask.protocol.TextProtocolCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.company.testtask.constant.Constants.LOSING_MESSAGE;
+import static com.company.testtask.constant.Constants.NICKNAME_ALREADY_TAKEN_MESSAGE;
+import static com.company.testtask.constant.Constants.SESSION_REMOVED_MESSAGE;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryProtocolCodecTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testBetRoundTrip() {
+        ByteBuffer frame = BinaryFrames.encodeBet(TEST_PLAYER_NAME, 7, 1055);
+
+        BetRequest bet = new BetRequest();
+
+        assertTrue(BinaryFrames.decodeBet(frame, bet));
+        assertEquals(TEST_PLAYER_NAME, bet.getNickname());
+        assertEquals(7, bet.getNumber());
+        assertEquals(1055, bet.getBet());
+        assertEquals(0, frame.position());
+    }
+
+    @Test
+    public void testBetIdIsEchoedInAckAndError() {
+        BetRequest bet = new BetRequest();
+
+        assertTrue(BinaryFrames.decodeBet(BinaryFrames.encodeBet(TEST_PLAYER_NAME, 7, 1055, 0xFFFFFFFEL), bet));
+        assertEquals(0xFFFFFFFEL, bet.getBetId());
+        assertTrue(BinaryFrames.decodeBet(BinaryFrames.encodeBet(TEST_PLAYER_NAME, 7, 1055), bet));
+        assertEquals(BetRequest.NO_BET_ID, bet.getBetId());
+
+        ByteBuffer ack = ((BinaryMessage) BinaryProtocolCodec.INSTANCE.encodeAck(42)).getPayload();
+        assertTrue(BinaryFrames.isAck(ack));
+        assertEquals(42, BinaryFrames.decodeAckId(ack));
+        assertEquals(BetRequest.NO_BET_ID, BinaryFrames.decodeAckId(BinaryFrames.encodeAck()));
+
+        ByteBuffer error = BinaryFrames.encodeError(ErrorCode.NICKNAME_TAKEN, NICKNAME_ALREADY_TAKEN_MESSAGE, 42);
+        assertEquals(ErrorCode.NICKNAME_TAKEN, BinaryFrames.decodeErrorCode(error));
+        assertEquals(NICKNAME_ALREADY_TAKEN_MESSAGE, BinaryFrames.decodeErrorMessage(error));
+        assertEquals(42, BinaryFrames.decodeErrorBetId(error));
+        assertEquals(BetRequest.NO_BET_ID, BinaryFrames.decodeErrorBetId(
+                BinaryFrames.encodeError(ErrorCode.NICKNAME_TAKEN, NICKNAME_ALREADY_TAKEN_MESSAGE)));
+    }
+
+    @Test
+    public void testMalformedBetIsRejected() {
+        ByteBuffer frame = BinaryFrames.encodeBet(TEST_PLAYER_NAME, 7, 1000);
+
+        BetRequest bet = new BetRequest();
+
+        assertFalse(BinaryFrames.decodeBet(ByteBuffer.wrap(new byte[]{BinaryFrames.BET, 1}), bet));
+        assertFalse(BinaryFrames.decodeBet(frame.duplicate().limit(frame.limit() - 1), bet));
+        assertFalse(BinaryFrames.decodeBet(ByteBuffer.allocate(frame.limit() + 1).put(frame.duplicate()).flip(), bet));
+        assertFalse(BinaryFrames.decodeBet(
+                ByteBuffer.wrap(new byte[]{BinaryFrames.ERROR, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}), bet));
+    }
+
+    @Test
+    public void testBulkBetRoundTrip() {
+        BetBatch batch = new BetBatch(2);
+        batch.add("account-1", TEST_PLAYER_NAME + 1, 3, 1000);
+        batch.add("account-2", TEST_PLAYER_NAME + 2, 10, 2550);
+        ByteBuffer frame = BinaryFrames.encodeBulkBet(batch);
+
+        BetBatch decoded = BinaryFrames.decodeBulkBet(frame, 2);
+
+        assertTrue(BinaryFrames.isBulkBet(frame));
+        assertEquals(2, decoded.size());
+        assertEquals("account-2", decoded.getAccount(1));
+        assertEquals(TEST_PLAYER_NAME + 2, decoded.getNickname(1));
+        assertEquals(10, decoded.getNumber(1));
+        assertEquals(2550, decoded.getBet(1));
+        assertTrue(decoded.isPending(0));
+        assertEquals(null, BinaryFrames.decodeBulkBet(frame, 1));
+        assertEquals(null, BinaryFrames.decodeBulkBet(frame.duplicate().limit(frame.limit() - 1), 2));
+    }
+
+    @Test
+    public void testBulkResultRoundTrip() {
+        byte[] statuses = {BinaryFrames.BULK_ACCEPTED, ErrorCode.NICKNAME_TAKEN.code(), BinaryFrames.BULK_ACCEPTED};
+
+        byte[] decoded = BinaryFrames.decodeBulkResult(BinaryFrames.encodeBulkResult(statuses));
+
+        assertEquals(3, decoded.length);
+        assertEquals(ErrorCode.NICKNAME_TAKEN, ErrorCode.of(decoded[1]));
+        assertEquals(BinaryFrames.BULK_ACCEPTED, decoded[2]);
+    }
+
+    @Test
+    public void testRankedResultRoundTrip() {
+        ByteBuffer frame = BinaryFrames.encodeResult(42, new PlayerResult(true, 9900, 3));
+
+        PlayerResult result = BinaryFrames.decodeResult(frame);
+
+        assertEquals(BinaryFrames.RESULT_RANKED_LENGTH, frame.remaining());
+        assertEquals(42, BinaryFrames.decodeRoundId(frame));
+        assertEquals(9900, result.getPayout());
+        assertEquals(3, result.getRank());
+    }
+
+    @Test
+    public void testResultRoundTrip() {
+        ByteBuffer won = BinaryFrames.encodeResult(42, new PlayerResult(true, 9900));
+        ByteBuffer lost = BinaryFrames.encodeResult(42, new PlayerResult(false, 0));
+
+        PlayerResult wonResult = BinaryFrames.decodeResult(won);
+        PlayerResult lostResult = BinaryFrames.decodeResult(lost);
+
+        assertTrue(wonResult.isWon());
+        assertEquals(9900, wonResult.getPayout());
+        assertFalse(lostResult.isWon());
+        assertEquals(42, BinaryFrames.decodeRoundId(won));
+        assertEquals(42, BinaryFrames.decodeRoundId(lost));
+        assertEquals(BinaryFrames.RESULT_WON_LENGTH, won.remaining());
+        assertEquals(BinaryFrames.RESULT_LOST_LENGTH, lost.remaining());
+    }
+
+    @Test
+    public void testWinnersRoundTrip() {
+        WinnersList winnersList = new WinnersList(3, List.of(
+                new Winner(TEST_PLAYER_NAME + 1, 10890),
+                new Winner(TEST_PLAYER_NAME + 0, 9900)), 5);
+
+        WinnersList decoded = BinaryFrames.decodeWinners(BinaryFrames.encodeWinners(winnersList));
+
+        assertEquals(3, decoded.getRoundId());
+        assertEquals(5, decoded.getTotalWinners());
+        assertEquals(winnersList.getText(), decoded.getText());
+    }
+
+    @Test
+    public void testPooledResultFrameIsReused() {
+        FramePool pool = new FramePool(1, BinaryFrames.RESULT_RANKED_LENGTH);
+
+        PooledFrame frame = pool.acquire();
+        BinaryFrames.writeResult(frame.buffer(), 42, new PlayerResult(true, 9900, 3));
+        PlayerResult result = BinaryFrames.decodeResult(frame.getMessage().getPayload());
+        PooledFrame overflow = pool.acquire();
+
+        assertEquals(9900, result.getPayout());
+        assertEquals(3, result.getRank());
+        assertEquals(0, pool.available());
+        assertTrue(frame.getMessage().getPayload().isDirect());
+        assertFalse(overflow.getMessage().getPayload().isDirect());
+
+        overflow.release();
+        frame.release();
+        assertEquals(1, pool.available());
+        assertSame(frame, pool.acquire());
+    }
+
+    @Test
+    public void testFixedFramesAreShared() {
+        assertSame(TextProtocolCodec.INSTANCE.encodeResult(1, PlayerResult.LOST),
+                TextProtocolCodec.INSTANCE.encodeResult(2, new PlayerResult(false, 0)));
+        assertSame(BinaryProtocolCodec.INSTANCE.encodeError(ErrorCode.SESSION_REMOVED, SESSION_REMOVED_MESSAGE),
+                BinaryProtocolCodec.INSTANCE.encodeError(ErrorCode.SESSION_REMOVED, SESSION_REMOVED_MESSAGE));
+        assertEquals(new PlayerResult(true, 10395, 2).getMessage(),
+                TextProtocolCodec.INSTANCE.encodeResult(1, new PlayerResult(true, 10395, 2)).getPayload());
+    }
+
+    @Test
+    public void testErrorRoundTrip() {
+        ByteBuffer frame = BinaryFrames.encodeError(ErrorCode.NICKNAME_TAKEN, NICKNAME_ALREADY_TAKEN_MESSAGE);
+
+        assertEquals(ErrorCode.NICKNAME_TAKEN, BinaryFrames.decodeErrorCode(frame));
+        assertEquals(NICKNAME_ALREADY_TAKEN_MESSAGE, BinaryFrames.decodeErrorMessage(frame));
+    }
+
+    @Test
+    public void testBinaryFramesAreSmallerThanText() throws Exception {
+        Player player = new Player();
+        player.setNickname(TEST_PLAYER_NAME + 1);
+        player.setNumber(7);
+        player.setBet(Money.of(new BigDecimal("10.5")));
+
+        int jsonBet = mapper.writeValueAsBytes(player).length;
+        int binaryBet = BinaryFrames.encodeBet(player.getNickname(), player.getNumber(), player.getBet()).remaining();
+        assertEquals(BinaryFrames.BET_HEADER_LENGTH + 2 + player.getNickname().length(), binaryBet);
+        assertTrue(binaryBet * 2 < jsonBet, binaryBet + " bytes vs " + jsonBet + " bytes of JSON");
+
+        PlayerResult result = new PlayerResult(true, 10395);
+        int textResult = result.getMessage().getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(BinaryFrames.RESULT_WON_LENGTH < textResult);
+        assertTrue(BinaryFrames.RESULT_LOST_LENGTH <= LOSING_MESSAGE.length());
+    }
+
+    @Test
+    public void testWinnersFrameHasFixedEntryLayout() {
+        List<Winner> winners = new ArrayList<>();
+        int nicknameBytes = 0;
+        for (int i = 0; i < 100; i++) {
+            winners.add(new Winner(TEST_PLAYER_NAME + i, 103950));
+            nicknameBytes += (TEST_PLAYER_NAME + i).length();
+        }
+        WinnersList winnersList = new WinnersList(1, winners, 1000);
+
+        int binaryWinners = BinaryFrames.encodeWinners(winnersList).remaining();
+        int textWinners = winnersList.getText().getBytes(StandardCharsets.UTF_8).length;
+
+        assertEquals(BinaryFrames.WINNERS_HEADER_LENGTH + nicknameBytes + 100 * (2 + BinaryFrames.AMOUNT_LENGTH),
+                binaryWinners);
+        assertTrue(binaryWinners < textWinners * 1.1, binaryWinners + " bytes vs " + textWinners + " bytes of text");
+    }
+}
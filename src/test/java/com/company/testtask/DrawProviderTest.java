@@ -0,0 +1,55 @@
+package com.company.testtask;
+
+import com.company.testtask.draw.DrawProvider;
+import com.company.testtask.draw.FastDrawProvider;
+import com.company.testtask.draw.SecureDrawProvider;
+import com.company.testtask.draw.SeededDrawProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static com.company.testtask.constant.Constants.MAX_NUMBER;
+import static com.company.testtask.constant.Constants.MIN_NUMBER;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DrawProviderTest {
+
+    private static final int DRAWS = 100_000;
+
+    @Test
+    public void testDrawsCoverWholeRange() {
+        Stream.of(new FastDrawProvider(), new SeededDrawProvider(1), new SecureDrawProvider())
+                .forEach(provider -> {
+                    byte[] draws = new byte[DRAWS];
+                    provider.fill(draws, 0, DRAWS);
+
+                    int[] counts = new int[MAX_NUMBER + 1];
+                    for (byte draw : draws) {
+                        assertTrue(draw >= MIN_NUMBER && draw <= MAX_NUMBER);
+                        counts[draw]++;
+                    }
+                    for (int number = MIN_NUMBER; number <= MAX_NUMBER; number++) {
+                        assertTrue(counts[number] > DRAWS / 20, provider.getClass().getSimpleName());
+                    }
+
+                    int draw = provider.draw();
+                    assertTrue(draw >= MIN_NUMBER && draw <= MAX_NUMBER);
+                });
+    }
+
+    @Test
+    public void testSeededDrawsAreReproducible() {
+        DrawProvider first = new SeededDrawProvider(42);
+        DrawProvider second = new SeededDrawProvider(42);
+        byte[] expected = new byte[DRAWS];
+        byte[] actual = new byte[DRAWS];
+
+        first.fill(expected, 0, DRAWS);
+        for (int i = 0; i < DRAWS; i++) {
+            actual[i] = (byte) second.draw();
+        }
+
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,238 @@
+package com.company.testtask;
+
+import com.company.testtask.broadcast.FanOutBroadcaster;
+import com.company.testtask.broadcast.NonBlockingSession;
+import com.company.testtask.broadcast.RoundDelivery;
+import com.company.testtask.broadcast.SlowConsumerPolicy;
+import com.company.testtask.config.BroadcastProperties;
+import com.company.testtask.config.ExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.NativeWebSocketSession;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.company.testtask.constant.Constants.LOSING_MESSAGE;
+import static com.company.testtask.constant.Constants.TEST_SESSION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+
+public class FanOutBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch stalled = new CountDownLatch(1);
+
+    private FanOutBroadcaster broadcaster;
+
+    @AfterEach
+    public void tearDown() {
+        stalled.countDown();
+        broadcaster.shutdownWorkers();
+    }
+
+    @Test
+    public void testSlowConsumerDoesNotDelayOthers() throws Exception {
+        broadcaster = createBroadcaster(SlowConsumerPolicy.DROP);
+        WebSocketSession slowSession = createSession(TEST_SESSION + 0);
+        WebSocketSession fastSession = createSession(TEST_SESSION + 1);
+        CountDownLatch delivered = new CountDownLatch(1);
+
+        Mockito.doAnswer(invocation -> stalled.await(10, TimeUnit.SECONDS))
+                .when(slowSession).sendMessage(any());
+        Mockito.doAnswer(invocation -> {
+            delivered.countDown();
+            return null;
+        }).when(fastSession).sendMessage(any());
+
+        broadcaster.register(slowSession);
+        broadcaster.register(fastSession);
+
+        TextMessage message = new TextMessage(LOSING_MESSAGE);
+        broadcaster.send(slowSession, message);
+        broadcaster.send(fastSession, message);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOverflowDropsMessagesAndCompletesRound() throws Exception {
+        broadcaster = createBroadcaster(SlowConsumerPolicy.DROP);
+        WebSocketSession slowSession = createSession(TEST_SESSION);
+        CountDownLatch sending = new CountDownLatch(1);
+
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            return stalled.await(10, TimeUnit.SECONDS);
+        }).when(slowSession).sendMessage(any());
+
+        broadcaster.register(slowSession);
+        TextMessage message = new TextMessage(LOSING_MESSAGE);
+        broadcaster.send(slowSession, message);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        RoundDelivery delivery = broadcaster.startRound(1);
+        for (int i = 0; i < 4; i++) {
+            broadcaster.send(slowSession, message, delivery);
+        }
+        delivery.seal();
+
+        assertEquals(2, meterRegistry.counter("game.broadcast.dropped").count());
+
+        stalled.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!delivery.isCompleted() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(delivery.isCompleted());
+        assertEquals(1, meterRegistry.timer("game.broadcast.last.delivery").count());
+    }
+
+    @Test
+    public void testOverflowCoalescesStaleRoundsAndKeepsOtherMessages() throws Exception {
+        broadcaster = createBroadcaster(SlowConsumerPolicy.COALESCE);
+        WebSocketSession slowSession = createSession(TEST_SESSION);
+        CountDownLatch sending = new CountDownLatch(1);
+
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            return stalled.await(10, TimeUnit.SECONDS);
+        }).when(slowSession).sendMessage(any());
+
+        broadcaster.register(slowSession);
+        broadcaster.send(slowSession, new TextMessage(LOSING_MESSAGE));
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        TextMessage staleResult = new TextMessage(LOSING_MESSAGE + 1);
+        TextMessage ack = new TextMessage(LOSING_MESSAGE + 2);
+        TextMessage latestResult = new TextMessage(LOSING_MESSAGE + 3);
+        RoundDelivery stale = broadcaster.startRound(1);
+        broadcaster.send(slowSession, staleResult, stale);
+        stale.seal();
+        broadcaster.send(slowSession, ack);
+        RoundDelivery latest = broadcaster.startRound(2);
+        broadcaster.send(slowSession, latestResult, latest);
+        latest.seal();
+
+        assertEquals(1, meterRegistry.counter("game.broadcast.dropped").count());
+        assertTrue(stale.isCompleted());
+
+        stalled.countDown();
+        Mockito.verify(slowSession, Mockito.timeout(5000)).sendMessage(latestResult);
+        Mockito.verify(slowSession).sendMessage(ack);
+        Mockito.verify(slowSession, Mockito.never()).sendMessage(staleResult);
+    }
+
+    @Test
+    public void testOverflowDisconnectsSession() throws Exception {
+        broadcaster = createBroadcaster(SlowConsumerPolicy.DISCONNECT);
+        WebSocketSession slowSession = createSession(TEST_SESSION);
+        CountDownLatch sending = new CountDownLatch(1);
+
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            return stalled.await(10, TimeUnit.SECONDS);
+        }).when(slowSession).sendMessage(any());
+
+        broadcaster.register(slowSession);
+        TextMessage message = new TextMessage(LOSING_MESSAGE);
+        broadcaster.send(slowSession, message);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 3; i++) {
+            broadcaster.send(slowSession, message);
+        }
+
+        Mockito.verify(slowSession).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    public void testDroppedPingIsReported() throws Exception {
+        broadcaster = createBroadcaster(SlowConsumerPolicy.DROP);
+        WebSocketSession slowSession = createSession(TEST_SESSION);
+        CountDownLatch sending = new CountDownLatch(1);
+        AtomicInteger dropped = new AtomicInteger();
+
+        Mockito.doAnswer(invocation -> {
+            sending.countDown();
+            return stalled.await(10, TimeUnit.SECONDS);
+        }).when(slowSession).sendMessage(any());
+
+        broadcaster.register(slowSession);
+        TextMessage message = new TextMessage(LOSING_MESSAGE);
+        broadcaster.send(slowSession, message);
+        assertTrue(sending.await(5, TimeUnit.SECONDS));
+        broadcaster.send(slowSession, message);
+        broadcaster.send(slowSession, message);
+
+        broadcaster.sendPing(slowSession, dropped::incrementAndGet);
+
+        assertEquals(1, dropped.get());
+    }
+
+    @Test
+    public void testNonBlockingSessionIsWrittenOnCallingThread() throws Exception {
+        broadcaster = createBroadcaster(SlowConsumerPolicy.DISCONNECT);
+        NonBlockingSession session = Mockito.mock(NonBlockingSession.class);
+        Mockito.when(session.getId()).thenReturn(TEST_SESSION);
+        Mockito.when(session.isOpen()).thenReturn(true);
+        TextMessage message = new TextMessage(LOSING_MESSAGE);
+        Mockito.doNothing().doThrow(new IOException()).when(session).sendMessage(any());
+
+        broadcaster.register(session);
+        RoundDelivery delivery = broadcaster.startRound(1);
+        broadcaster.send(session, message, delivery);
+        delivery.seal();
+
+        Mockito.verify(session).sendMessage(message);
+        assertTrue(delivery.isCompleted());
+
+        broadcaster.send(session, message);
+
+        assertEquals(1, meterRegistry.counter("game.broadcast.dropped").count());
+        Mockito.verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    public void testServletSessionsGetSendDeadline() {
+        broadcaster = createBroadcaster(SlowConsumerPolicy.DROP);
+        NativeWebSocketSession session = Mockito.mock(NativeWebSocketSession.class);
+        Session endpoint = Mockito.mock(Session.class);
+        Map<String, Object> userProperties = new HashMap<>();
+        Mockito.when(session.getId()).thenReturn(TEST_SESSION);
+        Mockito.when(session.getNativeSession(Session.class)).thenReturn(endpoint);
+        Mockito.when(endpoint.getUserProperties()).thenReturn(userProperties);
+
+        broadcaster.register(session);
+
+        assertEquals(new BroadcastProperties().getSendTimeLimit(),
+                userProperties.get("org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT"));
+    }
+
+    private FanOutBroadcaster createBroadcaster(SlowConsumerPolicy overflowPolicy) {
+        BroadcastProperties properties = new BroadcastProperties();
+        properties.setQueueCapacity(2);
+        properties.setWorkers(2);
+        properties.setOverflowPolicy(overflowPolicy);
+        return new FanOutBroadcaster(properties, new ExecutionProperties(), meterRegistry);
+    }
+
+    private WebSocketSession createSession(String id) {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        Mockito.when(session.getId()).thenReturn(id);
+        Mockito.when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,59 @@
+package com.company.testtask;
+
+import com.company.testtask.metrics.GameMetrics;
+import com.company.testtask.model.Round;
+import com.company.testtask.protocol.ErrorCode;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GameMetrics metrics = new GameMetrics(meterRegistry);
+
+    @Test
+    public void testBetsAreCountedByOutcome() {
+        metrics.betAccepted();
+        metrics.betAccepted();
+        metrics.betRejected(ErrorCode.NICKNAME_TAKEN);
+        metrics.betRejected(ErrorCode.VALIDATION_FAILED);
+
+        assertEquals(2, meterRegistry.counter("game.bets.accepted").count());
+        assertEquals(1, meterRegistry.counter("game.bets.rejected", "reason", "nickname_taken").count());
+        assertEquals(1, meterRegistry.counter("game.bets.rejected", "reason", "validation_failed").count());
+        assertEquals(0, meterRegistry.counter("game.bets.rejected", "reason", "malformed_frame").count());
+    }
+
+    @Test
+    public void testRoundLifecycleIsTimed() {
+        Round round = new Round(1, System.currentTimeMillis());
+        round.lock(1);
+        round.settle();
+        round.broadcast();
+        round.complete();
+
+        metrics.roundCompleted(round);
+        long before = System.nanoTime();
+        metrics.roundDelivered(round);
+        long after = System.nanoTime();
+
+        assertRecorded("game.round.settlement", round.getSettlementNanos(), round.getSettlementNanos());
+        assertRecorded("game.round.broadcast", round.getBroadcastNanos(), round.getBroadcastNanos());
+        assertRecorded("game.round.result.latency", before - round.getLockedNanos(), after - round.getLockedNanos());
+    }
+
+    private void assertRecorded(String name, long atLeastNanos, long atMostNanos) {
+        Timer timer = meterRegistry.timer(name);
+        assertEquals(1, timer.count());
+        double recorded = timer.totalTime(TimeUnit.NANOSECONDS);
+        assertTrue(recorded >= atLeastNanos && recorded <= atMostNanos,
+                name + " recorded " + recorded + " ns, expected " + atLeastNanos + ".." + atMostNanos);
+    }
+}
@@ -1,17 +1,23 @@
 package com.company.testtask;
 
+import com.company.testtask.draw.DrawProvider;
 import com.company.testtask.exception.PlayerNotFoundException;
+import com.company.testtask.model.BetBatch;
+import com.company.testtask.model.BetStatus;
+import com.company.testtask.model.Money;
 import com.company.testtask.model.Player;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
 import com.company.testtask.service.GameService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.math.BigDecimal;
-import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -21,18 +27,18 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static com.company.testtask.constant.Constants.TEST_PLAYER_ID;
 import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
 
-@SpringBootTest
+@SpringBootTest(properties = "game.winners-limit=2")
 public class GameServiceTest extends BaseTest {
 
-    @MockBean
-    private Random random;
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
+    private DrawProvider drawProvider;
 
     @Autowired
     private GameService gameService;
 
     @BeforeEach
     public void setUp() {
-        Mockito.when(random.nextInt(10)).thenReturn(0);
+        Mockito.doReturn(1).when(drawProvider).draw();
     }
 
     @Test
@@ -45,7 +51,7 @@ public class GameServiceTest extends BaseTest {
         Player player1 = gameService.getPlayer(TEST_PLAYER_ID);
 
         assertTrue(player1.isWon());
-        assertEquals(player1.getPayout(), BigDecimal.valueOf(99.0));
+        assertEquals(player1.getPayout(), Money.of(BigDecimal.valueOf(99.0)));
     }
 
     @Test
@@ -58,7 +64,7 @@ public class GameServiceTest extends BaseTest {
         Player player1 = gameService.getPlayer(TEST_PLAYER_ID);
 
         assertFalse(player1.isWon());
-        assertEquals(player1.getPayout(), BigDecimal.ZERO);
+        assertEquals(player1.getPayout(), 0L);
     }
 
     @Test
@@ -74,4 +80,55 @@ public class GameServiceTest extends BaseTest {
             assertInstanceOf(PlayerNotFoundException.class, e);
         }
     }
+
+    @Test
+    public void testWinnersListKeepsTopWinners() {
+        removeAllPlayers();
+        for (int i = 1; i <= 3; i++) {
+            gameService.registerPlayer(TEST_PLAYER_ID + i, new Player());
+            gameService.addPlayerData(TEST_PLAYER_ID + i,
+                    createPlayer(TEST_PLAYER_NAME + i, 1, BigDecimal.TEN.multiply(BigDecimal.valueOf(i))));
+        }
+
+        RoundResult result = gameService.settleRound(new Round(1, System.currentTimeMillis()),
+                gameService.lockRound());
+
+        assertEquals(3, result.getBetCount());
+        assertEquals(3, result.getWinnersList().getTotalWinners());
+        assertEquals(2, result.getWinnersList().getWinners().size());
+        assertEquals("Winners:\n" + TEST_PLAYER_NAME + "3: 297.0\n" + TEST_PLAYER_NAME + "2: 198.0\nTotal winners: 3",
+                gameService.getWinnersList());
+    }
+
+    @Test
+    public void testBatchIsPlacedWithPerItemStatus() {
+        removeAllPlayers();
+        gameService.registerPlayer(TEST_PLAYER_ID, new Player());
+        gameService.addPlayerData(TEST_PLAYER_ID, createPlayer(TEST_PLAYER_NAME, 2, BigDecimal.TEN));
+
+        BetBatch batch = new BetBatch(4);
+        batch.add("a", TEST_PLAYER_NAME + "a", 1, Money.of(BigDecimal.TEN));
+        batch.add("b", TEST_PLAYER_NAME, 1, Money.of(BigDecimal.TEN));
+        batch.add("c", TEST_PLAYER_NAME + "c", 2, Money.of(BigDecimal.ONE));
+        batch.add("d", TEST_PLAYER_NAME + "d", 1, Money.of(BigDecimal.ONE));
+        for (int i = 0; i < batch.size(); i++) {
+            batch.setPlayerId(i, "aggregator/" + batch.getAccount(i));
+        }
+        batch.setStatus(3, BetStatus.VALIDATION_FAILED);
+
+        gameService.placeBatch(batch);
+
+        assertEquals(BetStatus.ACCEPTED, batch.getStatus(0));
+        assertEquals(BetStatus.NICKNAME_TAKEN, batch.getStatus(1));
+        assertEquals(BetStatus.ACCEPTED, batch.getStatus(2));
+        assertEquals(BetStatus.VALIDATION_FAILED, batch.getStatus(3));
+
+        RoundResult result = gameService.settleRound(new Round(1, System.currentTimeMillis()),
+                gameService.lockRound());
+
+        assertEquals(3, result.getBetCount());
+        assertEquals(Money.of(BigDecimal.valueOf(99.0)), result.getPlayerResult("aggregator/a").getPayout());
+        assertFalse(result.getPlayerResult("aggregator/c").isWon());
+        assertEquals(null, result.getPlayerResult("aggregator/b"));
+    }
 }
@@ -0,0 +1,309 @@
+package com.company.testtask;
+
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.config.JournalProperties;
+import com.company.testtask.draw.SeededDrawProvider;
+import com.company.testtask.exception.JournalUnavailableException;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.journal.JournalReader;
+import com.company.testtask.journal.JournalRecord;
+import com.company.testtask.journal.JournalSnapshot;
+import com.company.testtask.journal.MappedJournal;
+import com.company.testtask.journal.RecordType;
+import com.company.testtask.journal.RecoveredState;
+import com.company.testtask.model.BetBatch;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.BetStatus;
+import com.company.testtask.model.Money;
+import com.company.testtask.model.Player;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.service.GameService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.company.testtask.constant.Constants.JOURNAL_FULL_MESSAGE;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_ID;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testRecordsAreReadBackInOrder() throws Exception {
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            journal.append(JournalRecord.bet(1, TEST_PLAYER_ID, TEST_PLAYER_NAME, 7, Money.of(10)));
+            journal.append(JournalRecord.cancel(1, TEST_PLAYER_ID));
+            journal.append(JournalRecord.roundLocked(1, 0));
+            journal.append(JournalRecord.roundSettled(1, new byte[] {7, 3}));
+            journal.sync().get(5, TimeUnit.SECONDS);
+        }
+
+        List<JournalRecord> records = readAll();
+
+        assertEquals(4, records.size());
+        JournalRecord bet = records.get(0);
+        assertEquals(RecordType.BET, bet.getType());
+        assertEquals(TEST_PLAYER_ID, bet.getPlayerId());
+        assertEquals(TEST_PLAYER_NAME, bet.getNickname());
+        assertEquals(7, bet.getNumber());
+        assertEquals(Money.of(10), bet.getBet());
+        assertEquals(RecordType.CANCEL, records.get(1).getType());
+        assertEquals(RecordType.ROUND_LOCKED, records.get(2).getType());
+        assertArrayEquals(new byte[] {7, 3}, records.get(3).getDraws());
+    }
+
+    @Test
+    public void testSegmentsRollAndSurviveRestart() throws Exception {
+        int bets = 10_000;
+        try (MappedJournal journal = createJournal(64 * 1024)) {
+            for (int i = 0; i < bets; i++) {
+                journal.append(JournalRecord.bet(1, TEST_PLAYER_ID + i, TEST_PLAYER_NAME + i, 1, Money.of(1)));
+            }
+            journal.sync().get(5, TimeUnit.SECONDS);
+        }
+        try (MappedJournal journal = createJournal(64 * 1024)) {
+            journal.append(JournalRecord.roundLocked(1, bets));
+            journal.sync().get(5, TimeUnit.SECONDS);
+        }
+
+        List<JournalRecord> records = readAll();
+
+        assertEquals(bets + 1, records.size());
+        assertEquals(TEST_PLAYER_ID + (bets - 1), records.get(bets - 1).getPlayerId());
+        assertEquals(RecordType.ROUND_LOCKED, records.get(bets).getType());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 2);
+        }
+    }
+
+    @Test
+    public void testRecoveryRestoresOpenRoundAndSettlesLockedRound() throws Exception {
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            journal.append(JournalRecord.bet(1, TEST_PLAYER_ID + 1, TEST_PLAYER_NAME + 1, 1, Money.of(10)));
+            journal.append(JournalRecord.roundLocked(1, 1));
+            journal.append(JournalRecord.snapshot(new JournalSnapshot(2, 1,
+                    List.of(JournalRecord.bet(2, TEST_PLAYER_ID + 2, TEST_PLAYER_NAME + 2, 2, Money.of(20))),
+                    List.of(JournalRecord.bet(1, TEST_PLAYER_ID + 1, TEST_PLAYER_NAME + 1, 1, Money.of(10))))));
+            journal.append(JournalRecord.bet(2, TEST_PLAYER_ID + 3, TEST_PLAYER_NAME + 3, 3, Money.of(30)));
+            journal.append(JournalRecord.cancel(2, TEST_PLAYER_ID + 2));
+            journal.sync().get(5, TimeUnit.SECONDS);
+        }
+
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            RecoveredState state = journal.recover();
+
+            assertEquals(2, state.getOpenRoundId());
+            assertEquals(Set.of(1L), state.getUnsettledRounds().keySet());
+            assertEquals(TEST_PLAYER_ID + 1, state.getUnsettledRounds().get(1L).get(0).getPlayerId());
+            assertEquals(3, state.getReplayedRecords());
+            assertEquals(1, state.getOpenBets().size());
+            assertEquals(TEST_PLAYER_ID + 3, state.getOpenBets().get(0).getPlayerId());
+        }
+
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            GameService gameService = new GameService(new SeededDrawProvider(42), new GameProperties(), journal);
+            gameService.recover();
+
+            List<RoundResult> settled = gameService.takeRecoveredRounds();
+            assertEquals(1, settled.size());
+            assertEquals(1, settled.get(0).getRound().getId());
+            assertNotNull(settled.get(0).getPlayerResult(TEST_PLAYER_ID + 1));
+            assertTrue(gameService.takeRecoveredRounds().isEmpty());
+            assertEquals(2, gameService.getOpenRoundId());
+            journal.sync().get(5, TimeUnit.SECONDS);
+        }
+
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            assertTrue(journal.recover().getUnsettledRounds().isEmpty());
+        }
+    }
+
+    @Test
+    public void testRoomsAreRecoveredSeparately() throws Exception {
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            journal.forRoom("alpha").append(JournalRecord.bet(4, TEST_PLAYER_ID + 1, TEST_PLAYER_NAME + 1, 1, Money.of(10)));
+            journal.forRoom("beta").append(JournalRecord.bet(7, TEST_PLAYER_ID + 2, TEST_PLAYER_NAME + 2, 2, Money.of(20)));
+            journal.forRoom("gamma").append(JournalRecord.bet(1, TEST_PLAYER_ID + 3, TEST_PLAYER_NAME + 3, 3, Money.of(30)));
+            journal.forRoom("gamma").append(JournalRecord.roomClosed());
+            journal.sync().get(5, TimeUnit.SECONDS);
+        }
+
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            assertEquals(Set.of("alpha", "beta"), journal.getRecoveredRooms());
+
+            RecoveredState alpha = journal.forRoom("alpha").recover();
+            assertEquals(4, alpha.getOpenRoundId());
+            assertEquals(TEST_PLAYER_ID + 1, alpha.getOpenBets().get(0).getPlayerId());
+            assertEquals(7, journal.forRoom("beta").recover().getOpenRoundId());
+            assertTrue(journal.recover().getOpenBets().isEmpty());
+        }
+    }
+
+    @Test
+    public void testRestoredPlayerIdTakenOverByNewConnectionIsKept() throws Exception {
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            journal.append(JournalRecord.bet(1, TEST_PLAYER_ID, TEST_PLAYER_NAME, 1, Money.of(10)));
+            journal.sync().get(5, TimeUnit.SECONDS);
+        }
+
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            GameService gameService = new GameService(new SeededDrawProvider(42), new GameProperties(), journal);
+            gameService.recover();
+            Player player = new Player();
+            gameService.registerPlayer(TEST_PLAYER_ID, player);
+            assertEquals(BetStatus.ACCEPTED,
+                    gameService.placeBet(TEST_PLAYER_ID, TEST_PLAYER_NAME + 2, 2, Money.of(10)));
+
+            BetBook book = gameService.lockRound();
+            gameService.settleRound(new Round(book.getRoundId(), System.currentTimeMillis()), book);
+
+            assertSame(player, gameService.getPlayer(TEST_PLAYER_ID));
+            assertFalse(gameService.isNicknameUnique(TEST_PLAYER_NAME + 2));
+        }
+    }
+
+    @Test
+    public void testEmptyRoundBoundariesAreJournaled() throws Exception {
+        try (MappedJournal journal = createJournal(1 << 20)) {
+            GameService gameService = new GameService(new SeededDrawProvider(42), new GameProperties(), journal);
+            BetBook book = gameService.lockRound();
+            gameService.settleRound(new Round(book.getRoundId(), System.currentTimeMillis()), book);
+            journal.sync().get(5, TimeUnit.SECONDS);
+        }
+
+        List<JournalRecord> records = readAll();
+
+        assertEquals(2, records.size());
+        assertEquals(RecordType.ROUND_LOCKED, records.get(0).getType());
+        assertEquals(RecordType.ROUND_SETTLED, records.get(1).getType());
+    }
+
+    @Test
+    public void testAppendAfterCloseFailsFast() throws Exception {
+        MappedJournal journal = createJournal(1 << 20);
+        journal.append(JournalRecord.roundLocked(1, 0));
+        journal.close();
+
+        assertThrows(JournalUnavailableException.class, () -> journal.append(JournalRecord.roundLocked(2, 0)));
+        assertTrue(journal.sync().isCompletedExceptionally());
+        assertEquals(1, readAll().size());
+    }
+
+    @Test
+    public void testBetIsRejectedWithoutWaitingWhenTheJournalIsFull() throws Exception {
+        GameService gameService =
+                new GameService(new SeededDrawProvider(42), new GameProperties(), new FullJournal(0));
+        gameService.registerPlayer(TEST_PLAYER_ID, new Player());
+
+        assertEquals(BetStatus.UNAVAILABLE, gameService.placeBet(TEST_PLAYER_ID, TEST_PLAYER_NAME, 1, Money.of(10)));
+
+        BetBook book = gameService.lockRound();
+        assertEquals(0, book.getBetCount());
+        assertTrue(book.isUnjournaled());
+        assertNotNull(gameService.settleRound(new Round(book.getRoundId(), System.currentTimeMillis()), book));
+    }
+
+    @Test
+    public void testRejectedBetLeavesPlayerAndNicknameUntouched() {
+        GameService gameService =
+                new GameService(new SeededDrawProvider(42), new GameProperties(), new FullJournal(0));
+        Player player = new Player();
+        gameService.registerPlayer(TEST_PLAYER_ID, player);
+
+        assertEquals(BetStatus.UNAVAILABLE, gameService.placeBet(TEST_PLAYER_ID, TEST_PLAYER_NAME, 1, Money.of(10)));
+
+        assertTrue(gameService.isNicknameUnique(TEST_PLAYER_NAME));
+        assertFalse(player.isRegistered());
+        assertEquals(0, gameService.lockRound().getBetCount());
+    }
+
+    @Test
+    public void testBatchItemsTheJournalCannotTakeAreRejected() {
+        GameService gameService =
+                new GameService(new SeededDrawProvider(42), new GameProperties(), new FullJournal(1));
+        BetBatch batch = new BetBatch(2);
+        batch.add("a", TEST_PLAYER_NAME + "a", 1, Money.of(10));
+        batch.add("b", TEST_PLAYER_NAME + "b", 2, Money.of(10));
+        for (int i = 0; i < batch.size(); i++) {
+            batch.setPlayerId(i, "aggregator/" + batch.getAccount(i));
+        }
+
+        gameService.placeBatch(batch);
+
+        assertEquals(BetStatus.ACCEPTED, batch.getStatus(0));
+        assertEquals(BetStatus.UNAVAILABLE, batch.getStatus(1));
+        assertNotNull(gameService.getPlayer("aggregator/a"));
+        assertNull(gameService.getPlayer("aggregator/b"));
+        assertTrue(gameService.isNicknameUnique(TEST_PLAYER_NAME + "b"));
+        assertEquals(1, gameService.lockRound().getBetCount());
+    }
+
+    @Test
+    public void testLockedRoundIsSettledWhenItsBoundaryCannotBeJournaled() throws Exception {
+        GameService gameService =
+                new GameService(new SeededDrawProvider(42), new GameProperties(), new FullJournal(1));
+        gameService.registerPlayer(TEST_PLAYER_ID, new Player());
+        assertEquals(BetStatus.ACCEPTED, gameService.placeBet(TEST_PLAYER_ID, TEST_PLAYER_NAME, 1, Money.of(10)));
+
+        BetBook book = gameService.lockRound();
+        RoundResult result = gameService.settleRound(new Round(book.getRoundId(), System.currentTimeMillis()), book);
+
+        assertTrue(book.isUnjournaled());
+        assertNotNull(result.getPlayerResult(TEST_PLAYER_ID));
+    }
+
+    private MappedJournal createJournal(int segmentSize) throws Exception {
+        JournalProperties properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(segmentSize);
+        return new MappedJournal(properties, new SimpleMeterRegistry());
+    }
+
+    private List<JournalRecord> readAll() throws Exception {
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.read(directory, records::add);
+        return records;
+    }
+
+    /**
+     * A journal whose queue is full: blocking appends fail, and only the first {@code bets} bets fit.
+     */
+    private static class FullJournal implements Journal {
+
+        private int bets;
+
+        private FullJournal(int bets) {
+            this.bets = bets;
+        }
+
+        @Override
+        public void append(JournalRecord record) {
+            throw new JournalUnavailableException(JOURNAL_FULL_MESSAGE);
+        }
+
+        @Override
+        public boolean tryAppend(JournalRecord record) {
+            return bets-- > 0;
+        }
+    }
+}
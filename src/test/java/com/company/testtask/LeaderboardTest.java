@@ -0,0 +1,172 @@
+package com.company.testtask;
+
+import com.company.testtask.config.JournalProperties;
+import com.company.testtask.config.LeaderboardProperties;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.journal.JournalRecord;
+import com.company.testtask.journal.MappedJournal;
+import com.company.testtask.leaderboard.Leaderboard;
+import com.company.testtask.leaderboard.LeaderboardEntry;
+import com.company.testtask.leaderboard.LeaderboardPeriod;
+import com.company.testtask.leaderboard.LeaderboardService;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.Money;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.model.WinnersList;
+import com.company.testtask.service.RoundListeners;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.DEFAULT_ROOM;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_ID;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LeaderboardTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testRanksAreMaintainedIncrementally() {
+        Leaderboard leaderboard = new Leaderboard();
+        leaderboard.add(TEST_PLAYER_ID + 1, "alice", Money.of(10));
+        leaderboard.add(TEST_PLAYER_ID + 2, "bob", Money.of(30));
+        leaderboard.add(TEST_PLAYER_ID + 3, "carol", Money.of(20));
+        leaderboard.add(TEST_PLAYER_ID + 4, "dave", Money.of(20));
+
+        assertEquals(List.of("bob", "carol", "dave", "alice"), nicknames(leaderboard.top(10)));
+        assertEquals(3, leaderboard.rank("dave").getRank());
+
+        leaderboard.add(TEST_PLAYER_ID + 1, "alice", Money.of(25));
+
+        assertEquals(1, leaderboard.rank("alice").getRank());
+        assertEquals(Money.of(35), leaderboard.rank("alice").getPayout());
+        assertEquals(List.of("bob", "carol"), nicknames(leaderboard.page(1, 2)));
+        assertEquals(4, leaderboard.size());
+        assertNull(leaderboard.rank("erin"));
+    }
+
+    @Test
+    public void testRanksMatchSortedOrder() {
+        Leaderboard leaderboard = new Leaderboard();
+        Random random = new Random(7);
+        long[] scores = new long[1000];
+        for (int i = 0; i < 5000; i++) {
+            int player = random.nextInt(scores.length);
+            long payout = random.nextInt(100) + 1;
+            scores[player] += payout;
+            leaderboard.add(TEST_PLAYER_ID + player, TEST_PLAYER_NAME + player, payout);
+        }
+
+        List<LeaderboardEntry> entries = leaderboard.page(0, scores.length);
+        for (int i = 0; i < entries.size(); i++) {
+            LeaderboardEntry entry = entries.get(i);
+            assertEquals(i + 1, entry.getRank());
+            assertEquals(entry.getRank(), leaderboard.rank(entry.getNickname()).getRank());
+            if (i > 0) {
+                assertTrue(entries.get(i - 1).getPayout() >= entry.getPayout());
+            }
+        }
+    }
+
+    @Test
+    public void testEntriesAreKeyedByPlayerIdAndCapped() {
+        Leaderboard leaderboard = new Leaderboard(2);
+        leaderboard.add(TEST_PLAYER_ID + 1, "alice", Money.of(10));
+        leaderboard.add(TEST_PLAYER_ID + 2, "alice", Money.of(20));
+
+        assertEquals(2, leaderboard.size());
+        assertEquals(Money.of(20), leaderboard.rank("alice").getPayout());
+
+        leaderboard.add(TEST_PLAYER_ID + 3, "bob", Money.of(5));
+
+        assertEquals(2, leaderboard.size());
+        assertNull(leaderboard.rank("bob"));
+
+        leaderboard.add(TEST_PLAYER_ID + 1, "carol", Money.of(30));
+
+        assertEquals(List.of("carol", "alice"), nicknames(leaderboard.top(10)));
+        assertEquals(Money.of(40), leaderboard.rank("carol").getPayout());
+        assertEquals(2, leaderboard.rank("alice").getRank());
+
+        leaderboard.add(TEST_PLAYER_ID + 3, "bob", Money.of(50));
+
+        assertEquals(List.of("bob", "carol"), nicknames(leaderboard.top(10)));
+        assertNull(leaderboard.rank("alice"));
+    }
+
+    @Test
+    public void testSettledRoundUpdatesAllPeriods() {
+        LeaderboardService service =
+                new LeaderboardService(new RoundListeners(), new LeaderboardProperties(), Journal.NOOP);
+        service.apply(settledRound(1, Money.of(10)));
+        service.apply(settledRound(2, Money.of(20)));
+
+        assertEquals(Money.payout(Money.of(20)),
+                service.get(DEFAULT_ROOM, LeaderboardPeriod.ROUND).rank(TEST_PLAYER_NAME).getPayout());
+        assertEquals(Money.payout(Money.of(10)) + Money.payout(Money.of(20)),
+                service.get(DEFAULT_ROOM, LeaderboardPeriod.ALL_TIME).rank(TEST_PLAYER_NAME).getPayout());
+        assertEquals(1, service.get(DEFAULT_ROOM, LeaderboardPeriod.DAILY).size());
+        assertNull(service.get("other", LeaderboardPeriod.ALL_TIME));
+        service.shutdown();
+    }
+
+    @Test
+    public void testLeaderboardsAreRebuiltFromJournal() throws Exception {
+        try (MappedJournal journal = createJournal()) {
+            LeaderboardService service =
+                    new LeaderboardService(new RoundListeners(), new LeaderboardProperties(), journal);
+            for (long roundId = 1; roundId <= 3; roundId++) {
+                journal.append(JournalRecord.roundLocked(roundId, 2));
+                journal.append(JournalRecord.roundSettled(roundId, new byte[]{1, 1}));
+                service.apply(settledRound(roundId, Money.of(10 * roundId)));
+            }
+            journal.sync().get(5, TimeUnit.SECONDS);
+            service.shutdown();
+        }
+
+        try (MappedJournal journal = createJournal()) {
+            LeaderboardService service =
+                    new LeaderboardService(new RoundListeners(), new LeaderboardProperties(), journal);
+            service.recover();
+
+            assertEquals(Money.payout(Money.of(30)),
+                    service.get(DEFAULT_ROOM, LeaderboardPeriod.ROUND).rank(TEST_PLAYER_NAME).getPayout());
+            assertEquals(Money.payout(Money.of(10)) + Money.payout(Money.of(20)) + Money.payout(Money.of(30)),
+                    service.get(DEFAULT_ROOM, LeaderboardPeriod.ALL_TIME).rank(TEST_PLAYER_NAME).getPayout());
+            assertEquals(1, service.get(DEFAULT_ROOM, LeaderboardPeriod.DAILY).size());
+            service.shutdown();
+        }
+    }
+
+    private MappedJournal createJournal() throws Exception {
+        JournalProperties properties = new JournalProperties();
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSize(1 << 20);
+        properties.setSnapshotInterval(2);
+        return new MappedJournal(properties, new SimpleMeterRegistry());
+    }
+
+    private static RoundResult settledRound(long roundId, long bet) {
+        BetBook book = new BetBook(roundId, 2);
+        book.place(TEST_PLAYER_ID + 1, TEST_PLAYER_NAME, 1, bet);
+        book.place(TEST_PLAYER_ID + 2, TEST_PLAYER_NAME + 2, 2, bet);
+        book.lock();
+        return new RoundResult(new Round(roundId, System.currentTimeMillis()), book,
+                new byte[]{1, 1}, new long[]{Money.payout(bet), 0}, WinnersList.EMPTY);
+    }
+
+    private static List<String> nicknames(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::getNickname).toList();
+    }
+}
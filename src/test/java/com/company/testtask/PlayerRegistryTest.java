@@ -0,0 +1,66 @@
+package com.company.testtask;
+
+import com.company.testtask.model.Player;
+import com.company.testtask.service.PlayerRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.company.testtask.constant.Constants.TEST_PLAYER_ID;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PlayerRegistryTest {
+
+    private final PlayerRegistry registry = new PlayerRegistry();
+
+    @Test
+    public void testNicknameIsClaimedOnce() throws Exception {
+        int threads = 16;
+        AtomicInteger claimed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; i++) {
+            String playerId = TEST_PLAYER_ID + i;
+            registry.register(playerId, new Player());
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (registry.claimNickname(TEST_PLAYER_NAME, playerId)) {
+                    claimed.incrementAndGet();
+                }
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, claimed.get());
+    }
+
+    @Test
+    public void testNicknameIsReleasedOnRemove() {
+        Player player = new Player();
+        player.setNickname(TEST_PLAYER_NAME);
+        registry.register(TEST_PLAYER_ID, player);
+
+        assertTrue(registry.isNicknameTaken(TEST_PLAYER_NAME));
+        assertTrue(registry.claimNickname(TEST_PLAYER_NAME, TEST_PLAYER_ID));
+        assertFalse(registry.claimNickname(TEST_PLAYER_NAME, TEST_PLAYER_ID + 1));
+
+        registry.remove(TEST_PLAYER_ID);
+
+        assertFalse(registry.isNicknameTaken(TEST_PLAYER_NAME));
+        assertTrue(registry.claimNickname(TEST_PLAYER_NAME, TEST_PLAYER_ID + 1));
+    }
+}
@@ -0,0 +1,176 @@
+package com.company.testtask;
+
+import com.company.testtask.config.RateLimitProperties;
+import com.company.testtask.ratelimit.Admission;
+import com.company.testtask.ratelimit.InboundRateLimiter;
+import com.company.testtask.ratelimit.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.AGGREGATOR;
+import static com.company.testtask.constant.Constants.TEST_SESSION;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testBucketAllowsBurstThenRefills() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(10, 3, now);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(bucket.tryAcquire(now));
+        }
+        assertFalse(bucket.tryAcquire(now));
+
+        now += TimeUnit.MILLISECONDS.toNanos(100);
+        assertTrue(bucket.tryAcquire(now));
+        assertFalse(bucket.tryAcquire(now));
+    }
+
+    @Test
+    public void testSessionIsLimitedAndDisconnected() {
+        RateLimitProperties properties = enabledProperties();
+        properties.setSessionRate(1);
+        properties.setSessionBurst(2);
+        properties.setMaxRejections(3);
+        InboundRateLimiter limiter = new InboundRateLimiter(properties, meterRegistry);
+        WebSocketSession session = createSession(TEST_SESSION, "10.0.0.1");
+        limiter.register(session);
+
+        assertEquals(Admission.ACCEPTED, limiter.admit(session));
+        assertEquals(Admission.ACCEPTED, limiter.admit(session));
+        assertEquals(Admission.SESSION_LIMITED, limiter.admit(session));
+        assertEquals(Admission.SESSION_LIMITED, limiter.admit(session));
+        assertEquals(Admission.DISCONNECT, limiter.admit(session));
+
+        assertEquals(3, meterRegistry.counter("game.inbound.rejected", "reason", "session_limited").count());
+        assertEquals(1, meterRegistry.counter("game.inbound.rejected", "reason", "disconnect").count());
+    }
+
+    @Test
+    public void testAddressBudgetIsSharedAcrossSessions() {
+        RateLimitProperties properties = enabledProperties();
+        properties.setAddressRate(1);
+        properties.setAddressBurst(2);
+        InboundRateLimiter limiter = new InboundRateLimiter(properties, meterRegistry);
+        WebSocketSession first = createSession(TEST_SESSION + 0, "10.0.0.1");
+        WebSocketSession second = createSession(TEST_SESSION + 1, "10.0.0.1");
+        WebSocketSession other = createSession(TEST_SESSION + 2, "10.0.0.2");
+        limiter.register(first);
+        limiter.register(second);
+        limiter.register(other);
+
+        assertEquals(Admission.ACCEPTED, limiter.admit(first));
+        assertEquals(Admission.ACCEPTED, limiter.admit(second));
+        assertEquals(Admission.ADDRESS_LIMITED, limiter.admit(first));
+        assertEquals(Admission.ACCEPTED, limiter.admit(other));
+
+        limiter.unregister(first);
+        limiter.unregister(second);
+        assertEquals(1.0, meterRegistry.get("game.inbound.addresses").gauge().value());
+    }
+
+    @Test
+    public void testSharedLimitsRefundSessionTokensAndNeverDisconnect() {
+        RateLimitProperties properties = enabledProperties();
+        properties.setSessionRate(1);
+        properties.setSessionBurst(2);
+        properties.setAddressRate(1);
+        properties.setAddressBurst(1);
+        properties.setMaxRejections(1);
+        InboundRateLimiter limiter = new InboundRateLimiter(properties, meterRegistry);
+        WebSocketSession first = createSession(TEST_SESSION + 0, "10.0.0.1");
+        WebSocketSession second = createSession(TEST_SESSION + 1, "10.0.0.1");
+        limiter.register(first);
+        limiter.register(second);
+
+        assertEquals(Admission.ACCEPTED, limiter.admit(first));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Admission.ADDRESS_LIMITED, limiter.admit(second));
+        }
+
+        assertEquals(5, meterRegistry.counter("game.inbound.rejected", "reason", "address_limited").count());
+        assertEquals(0, meterRegistry.counter("game.inbound.rejected", "reason", "session_limited").count());
+        assertEquals(0, meterRegistry.counter("game.inbound.rejected", "reason", "disconnect").count());
+    }
+
+    @Test
+    public void testBucketRefundReturnsTokens() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertTrue(bucket.tryAcquire(3, 0));
+        assertFalse(bucket.tryAcquire(0));
+        bucket.refund(2);
+        assertTrue(bucket.tryAcquire(2, 0));
+        assertFalse(bucket.tryAcquire(0));
+    }
+
+    @Test
+    public void testAcceptedFramesForgiveEarlierRejections() {
+        RateLimitProperties properties = enabledProperties();
+        properties.setSessionRate(100);
+        properties.setSessionBurst(1);
+        properties.setMaxRejections(2);
+        InboundRateLimiter limiter = new InboundRateLimiter(properties, meterRegistry);
+        WebSocketSession session = createSession(TEST_SESSION, "10.0.0.1");
+        limiter.register(session);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Admission.ACCEPTED, limiter.admit(session));
+            assertEquals(Admission.SESSION_LIMITED, limiter.admit(session));
+            sleepPastInterval();
+        }
+        assertEquals(0, meterRegistry.counter("game.inbound.rejected", "reason", "disconnect").count());
+    }
+
+    @Test
+    public void testBulkBetsAreChargedPerBet() {
+        RateLimitProperties properties = enabledProperties();
+        properties.setAggregatorBetRate(1);
+        properties.setAggregatorBetBurst(100);
+        InboundRateLimiter limiter = new InboundRateLimiter(properties, meterRegistry);
+        WebSocketSession aggregator = createSession(TEST_SESSION, "10.0.0.1");
+        aggregator.getAttributes().put(AGGREGATOR, "partner");
+        WebSocketSession player = createSession(TEST_SESSION + 1, "10.0.0.2");
+        limiter.register(aggregator);
+        limiter.register(player);
+
+        assertEquals(Admission.ACCEPTED, limiter.admitBets(aggregator, 60));
+        assertEquals(Admission.SESSION_LIMITED, limiter.admitBets(aggregator, 60));
+        assertEquals(Admission.ACCEPTED, limiter.admitBets(aggregator, 40));
+        assertEquals(Admission.ACCEPTED, limiter.admitBets(player, 1000));
+    }
+
+    private static void sleepPastInterval() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RateLimitProperties enabledProperties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        return properties;
+    }
+
+    private WebSocketSession createSession(String id, String address) {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        Mockito.when(session.getId()).thenReturn(id);
+        Mockito.when(session.getAttributes()).thenReturn(new HashMap<>());
+        Mockito.when(session.getRemoteAddress()).thenReturn(new InetSocketAddress(address, 0));
+        return session;
+    }
+}
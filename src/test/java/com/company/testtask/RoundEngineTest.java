@@ -0,0 +1,71 @@
+package com.company.testtask;
+
+import com.company.testtask.draw.DrawProvider;
+import com.company.testtask.model.Player;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundState;
+import com.company.testtask.service.GameService;
+import com.company.testtask.service.RoundEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+
+import static com.company.testtask.constant.Constants.TEST_PLAYER_ID;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class RoundEngineTest extends BaseTest {
+
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
+    private DrawProvider drawProvider;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private RoundEngine roundEngine;
+
+    @BeforeEach
+    public void setUp() {
+        removeAllPlayers();
+        Mockito.doReturn(1).when(drawProvider).draw();
+    }
+
+    @Test
+    public void testRoundIsSettledOnce() {
+        gameService.registerPlayer(TEST_PLAYER_ID, new Player());
+        gameService.addPlayerData(TEST_PLAYER_ID, createPlayer(TEST_PLAYER_NAME, 1, BigDecimal.TEN));
+
+        Round round = roundEngine.getCurrentRound();
+        roundEngine.closeRound();
+
+        assertEquals(round, roundEngine.getLastRound());
+        assertEquals(RoundState.BROADCAST, round.getState());
+        assertTrue(round.isCompleted());
+        assertEquals(1, round.getBetCount());
+        assertEquals(round.getId() + 1, roundEngine.getCurrentRound().getId());
+        assertEquals(RoundState.OPEN, roundEngine.getCurrentRound().getState());
+
+        roundEngine.closeRound();
+
+        assertEquals(0, roundEngine.getLastRound().getBetCount());
+    }
+
+    @Test
+    public void testRoundResultContainsOnlyRoundBets() {
+        gameService.registerPlayer(TEST_PLAYER_ID, createPlayer(TEST_PLAYER_NAME, 1, BigDecimal.TEN));
+
+        roundEngine.closeRound();
+
+        assertEquals(0, roundEngine.getLastRound().getBetCount());
+        assertEquals("Winners:", gameService.getWinnersList());
+    }
+}
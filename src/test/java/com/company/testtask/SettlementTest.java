@@ -0,0 +1,83 @@
+package com.company.testtask;
+
+import com.company.testtask.config.GameProperties;
+import com.company.testtask.draw.SeededDrawProvider;
+import com.company.testtask.journal.Journal;
+import com.company.testtask.model.BetBook;
+import com.company.testtask.model.Money;
+import com.company.testtask.model.PlayerResult;
+import com.company.testtask.model.Round;
+import com.company.testtask.model.RoundResult;
+import com.company.testtask.service.GameService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.company.testtask.constant.Constants.TEST_PLAYER_ID;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SettlementTest {
+
+    private static final int BETS = 50_000;
+
+    @Test
+    public void testParallelSettlementMatchesSequential() {
+        BetBook book = createBook(BETS);
+
+        RoundResult sequential = settle(book, Integer.MAX_VALUE);
+        RoundResult parallel = settle(book, 1024);
+
+        assertEquals(BETS, parallel.getBetCount());
+        assertArrayEquals(sequential.getDraws(), parallel.getDraws());
+        assertArrayEquals(sequential.getPayouts(), parallel.getPayouts());
+        assertEquals(sequential.getWinnersList().getText(), parallel.getWinnersList().getText());
+        for (int i = 0; i < BETS; i++) {
+            long expected = parallel.isWon(i) ? Money.payout(book.getBets()[i]) : 0;
+            assertEquals(expected, parallel.getPayouts()[i]);
+        }
+    }
+
+    @Test
+    public void testRebetAndCancelOnOpenBook() {
+        BetBook book = new BetBook();
+        book.place(TEST_PLAYER_ID + 1, TEST_PLAYER_NAME + 1, 1, Money.of(10));
+        book.place(TEST_PLAYER_ID + 2, TEST_PLAYER_NAME + 2, 1, Money.of(10));
+        book.place(TEST_PLAYER_ID + 1, TEST_PLAYER_NAME + 1, 1, Money.of(20));
+        assertTrue(book.cancel(TEST_PLAYER_ID + 2));
+        book.lock();
+
+        assertFalse(book.place(TEST_PLAYER_ID + 3, TEST_PLAYER_NAME + 3, 1, Money.of(10)));
+        assertFalse(book.cancel(TEST_PLAYER_ID + 1));
+        assertEquals(1, book.getBetCount());
+
+        RoundResult result = settle(book, Integer.MAX_VALUE);
+        PlayerResult playerResult = result.getPlayerResult(TEST_PLAYER_ID + 1);
+
+        assertEquals(result.isWon(0) ? Money.payout(Money.of(20)) : 0, playerResult.getPayout());
+        assertNull(result.getPlayerResult(TEST_PLAYER_ID + 2));
+        assertNull(result.getPlayerResult(TEST_PLAYER_ID + 3));
+    }
+
+    private static BetBook createBook(int size) {
+        Random random = new Random(7);
+        BetBook book = new BetBook(size);
+        for (int i = 0; i < size; i++) {
+            book.place(TEST_PLAYER_ID + i, TEST_PLAYER_NAME + i, random.nextInt(10) + 1,
+                    Money.of(1 + random.nextInt(1000)));
+        }
+        book.lock();
+        return book;
+    }
+
+    private static RoundResult settle(BetBook book, int threshold) {
+        GameProperties properties = new GameProperties();
+        properties.setSettlementParallelThreshold(threshold);
+        GameService gameService = new GameService(new SeededDrawProvider(42), properties, Journal.NOOP);
+        return gameService.settleRound(new Round(1, System.currentTimeMillis()), book);
+    }
+}
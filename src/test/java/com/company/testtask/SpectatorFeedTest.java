@@ -0,0 +1,180 @@
+package com.company.testtask;
+
+import com.company.testtask.config.ExecutionProperties;
+import com.company.testtask.config.SpectatorProperties;
+import com.company.testtask.model.Winner;
+import com.company.testtask.model.WinnersList;
+import com.company.testtask.service.RoundListeners;
+import com.company.testtask.spectator.RoundEventRing;
+import com.company.testtask.spectator.Spectator;
+import com.company.testtask.spectator.SpectatorChannel;
+import com.company.testtask.spectator.SpectatorEvent;
+import com.company.testtask.spectator.SpectatorFeed;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.DEFAULT_ROOM;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpectatorFeedTest {
+
+    private static final int RING_SIZE = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SpectatorFeed feed;
+
+    @BeforeEach
+    public void setUp() {
+        SpectatorProperties properties = new SpectatorProperties();
+        properties.setRingSize(RING_SIZE);
+        properties.setWorkers(2);
+        feed = new SpectatorFeed(new ObjectMapper(), properties, new ExecutionProperties(), new RoundListeners(),
+                meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    public void testRingOverwritesOldestEvents() {
+        RoundEventRing ring = new RoundEventRing(4);
+        for (int i = 0; i < 6; i++) {
+            ring.publish(DEFAULT_ROOM, "{}");
+        }
+
+        assertEquals(6, ring.head());
+        assertEquals(2, ring.oldest());
+        assertNull(ring.get(1));
+        assertEquals(2, ring.get(2).getSequence());
+        assertEquals(5, ring.get(5).getSequence());
+        assertNull(ring.get(6));
+        assertThrows(IllegalArgumentException.class, () -> new RoundEventRing(6));
+    }
+
+    @Test
+    public void testSpectatorReceivesEncodedRound() throws Exception {
+        RecordingChannel channel = new RecordingChannel(true);
+        feed.subscribe(null, null, channel);
+
+        feed.publish(DEFAULT_ROOM, winners(1));
+
+        SpectatorEvent event = channel.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(DEFAULT_ROOM, event.getRoom());
+        assertTrue(event.getJson().contains("\"roundId\":1"));
+        assertTrue(event.getJson().contains("\"rank\":1"));
+        assertEquals(event.getJson(), event.getFrame().getPayload());
+    }
+
+    @Test
+    public void testLaggingSpectatorSkipsAhead() throws Exception {
+        RecordingChannel channel = new RecordingChannel(false);
+        Spectator spectator = feed.subscribe(null, "0-0", channel);
+
+        for (int round = 1; round <= RING_SIZE * 3; round++) {
+            feed.publish(DEFAULT_ROOM, winners(round));
+        }
+        channel.ready = true;
+        feed.wake(spectator);
+
+        for (int i = 0; i < RING_SIZE; i++) {
+            SpectatorEvent event = channel.events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(RING_SIZE * 2 + i, event.getSequence());
+        }
+        assertEquals(RING_SIZE * 2, meterRegistry.counter("game.spectator.events.skipped").count());
+    }
+
+    @Test
+    public void testSpectatorResumesAfterLastEventId() throws Exception {
+        SpectatorEvent first = feed.publish(DEFAULT_ROOM, winners(1));
+        feed.publish(DEFAULT_ROOM, winners(2));
+        RecordingChannel resumed = new RecordingChannel(true);
+        RecordingChannel restarted = new RecordingChannel(true);
+
+        feed.subscribe(null, first.getId(), resumed);
+        feed.subscribe(null, "1-99", restarted);
+
+        SpectatorEvent event = resumed.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(first.getSequence() + 1, event.getSequence());
+        event = restarted.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(first.getSequence(), event.getSequence());
+    }
+
+    @Test
+    public void testSpectatorOnlyReceivesItsRoom() throws Exception {
+        RecordingChannel channel = new RecordingChannel(true);
+        feed.subscribe("vip", null, channel);
+
+        feed.publish(DEFAULT_ROOM, winners(1));
+        feed.publish("vip", winners(2));
+
+        SpectatorEvent event = channel.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals("vip", event.getRoom());
+        assertNull(channel.events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailingSpectatorIsUnsubscribed() throws Exception {
+        RecordingChannel channel = new RecordingChannel(true) {
+            @Override
+            public void send(SpectatorEvent event) {
+                throw new IllegalStateException();
+            }
+        };
+        Spectator spectator = feed.subscribe(null, null, channel);
+
+        feed.publish(DEFAULT_ROOM, winners(1));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!spectator.isClosed() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(spectator.isClosed());
+        assertEquals(0, feed.size());
+    }
+
+    private static WinnersList winners(long roundId) {
+        return new WinnersList(roundId, List.of(new Winner(TEST_PLAYER_NAME + roundId, 990)), 1);
+    }
+
+    private static class RecordingChannel implements SpectatorChannel {
+
+        private final BlockingQueue<SpectatorEvent> events = new LinkedBlockingQueue<>();
+
+        private volatile boolean ready;
+
+        RecordingChannel(boolean ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void send(SpectatorEvent event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.company.testtask;
+
+import com.company.testtask.liveness.Timeout;
+import com.company.testtask.liveness.TimerWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimerWheelTest {
+
+    private final List<String> fired = new ArrayList<>();
+
+    private final TimerWheel wheel = new TimerWheel(10, 8, Runnable::run, 0);
+
+    @Test
+    public void testTimeoutsFireInDeadlineOrder() {
+        wheel.schedule(() -> fired.add("late"), 250, 0);
+        wheel.schedule(() -> fired.add("early"), 30, 0);
+
+        wheel.advance(millis(20));
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(millis(30));
+        assertEquals(List.of("early"), fired);
+
+        wheel.advance(millis(240));
+        assertEquals(List.of("early"), fired);
+
+        wheel.advance(millis(250));
+        assertEquals(List.of("early", "late"), fired);
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotFire() {
+        Timeout timeout = wheel.schedule(() -> fired.add("cancelled"), 50, 0);
+
+        assertTrue(timeout.cancel());
+        wheel.advance(millis(100));
+
+        assertTrue(fired.isEmpty());
+        assertFalse(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    public void testOverdueTimeoutFiresOnNextAdvance() {
+        wheel.advance(millis(500));
+        Timeout timeout = wheel.schedule(() -> fired.add("overdue"), 0, millis(400));
+
+        wheel.advance(millis(510));
+
+        assertEquals(List.of("overdue"), fired);
+        assertTrue(timeout.isExpired());
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.testtask;
+
+import com.company.testtask.model.Money;
+import com.company.testtask.protocol.BinaryFrames;
+import com.company.testtask.protocol.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.BINARY_PROTOCOL;
+import static com.company.testtask.constant.Constants.GAME_PATH;
+import static com.company.testtask.constant.Constants.INVALID_PLAYER_NUMBER_MESSAGE;
+import static com.company.testtask.constant.Constants.LOCALHOST;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class WebSocketHandlerBinaryProtocolTest extends BaseTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final WebSocketClient client = new StandardWebSocketClient();
+
+    @BeforeEach
+    public void setUp() {
+        removeAllPlayers();
+    }
+
+    @Test
+    public void testBinaryProtocolIsNegotiated() throws Exception {
+        BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketProtocol(BINARY_PROTOCOL);
+
+        WebSocketSession session = client.execute(new BinaryWebSocketHandler() {
+            @Override
+            protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+                frames.add(message.getPayload());
+            }
+        }, headers, URI.create(LOCALHOST + port + GAME_PATH)).get();
+
+        assertEquals(BINARY_PROTOCOL, session.getAcceptedProtocol());
+
+        session.sendMessage(new BinaryMessage(BinaryFrames.encodeBet(TEST_PLAYER_NAME, 0, Money.of(BigDecimal.TEN))));
+        ByteBuffer frame = frames.poll(5, TimeUnit.SECONDS);
+
+        assertEquals(ErrorCode.VALIDATION_FAILED, BinaryFrames.decodeErrorCode(frame));
+        assertEquals(INVALID_PLAYER_NUMBER_MESSAGE, BinaryFrames.decodeErrorMessage(frame));
+
+        session.close();
+    }
+
+    @Test
+    public void testAcceptedBetIsAcknowledged() throws Exception {
+        BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketProtocol(BINARY_PROTOCOL);
+
+        WebSocketSession session = client.execute(new BinaryWebSocketHandler() {
+            @Override
+            protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+                frames.add(message.getPayload());
+            }
+        }, headers, URI.create(LOCALHOST + port + GAME_PATH)).get();
+
+        session.sendMessage(new BinaryMessage(BinaryFrames.encodeBet(TEST_PLAYER_NAME, 1, Money.of(BigDecimal.TEN))));
+
+        assertTrue(BinaryFrames.isAck(frames.poll(5, TimeUnit.SECONDS)));
+
+        session.close();
+    }
+}
@@ -1,13 +1,15 @@
 package com.company.testtask;
 
-import com.company.testtask.handler.CustomWebSocketHandler;
+import com.company.testtask.draw.DrawProvider;
 import com.company.testtask.model.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.client.WebSocketClient;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
@@ -17,7 +19,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -34,8 +35,8 @@ public class WebSocketHandlerMultiplePlayersTest extends BaseTest {
     @LocalServerPort
     private int port;
 
-    @MockBean
-    private Random random;
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
+    private DrawProvider drawProvider;
 
     private final CountDownLatch latch = new CountDownLatch(4);
 
@@ -43,7 +44,7 @@ public class WebSocketHandlerMultiplePlayersTest extends BaseTest {
 
     @BeforeEach
     public void setUp() {
-        Mockito.when(random.nextInt(10)).thenReturn(0);
+        Mockito.doReturn(1).when(drawProvider).draw();
     }
 
     @Test
@@ -52,16 +53,19 @@ public class WebSocketHandlerMultiplePlayersTest extends BaseTest {
         Map<String, Player> players = new HashMap<>();
         Map<String, List<String>> playerMessages = new HashMap<>();
         Map<String, BigDecimal> playerPayouts = new HashMap<>();
+        Map<String, BigDecimal> playerBets = new HashMap<>();
 
         // Register players and start the game
         for (int i = 0; i < 2; i++) {
-            Player player = createPlayer(TEST_PLAYER_NAME + i, 1, BigDecimal.valueOf(i + 10));
+            BigDecimal bet = BigDecimal.valueOf(i + 10);
+            Player player = createPlayer(TEST_PLAYER_NAME + i, 1, bet);
 
-            CustomWebSocketHandler handler = createWebSocketHandler(player, playerMessages, latch);
+            WebSocketHandler handler = createWebSocketHandler(player, playerMessages, latch);
 
             WebSocketSession session = client.doHandshake(handler, LOCALHOST + port + GAME_PATH).get();
             sessions.add(session);
             players.put(session.getId(), player);
+            playerBets.put(session.getId(), bet);
         }
 
         latch.await(15, TimeUnit.SECONDS);
@@ -71,7 +75,7 @@ public class WebSocketHandlerMultiplePlayersTest extends BaseTest {
         for (String sessionId : playerMessages.keySet()) {
             List<String> messages = playerMessages.get(sessionId);
             Player player = players.get(sessionId);
-            BigDecimal expectedPayout = player.getBet().multiply(BigDecimal.valueOf(9.9));
+            BigDecimal expectedPayout = playerBets.get(sessionId).multiply(BigDecimal.valueOf(9.9));
             String expectedWinningMessage = WINNING_MESSAGE + expectedPayout;
 
             assertEquals(2, messages.size());
@@ -0,0 +1,94 @@
+package com.company.testtask;
+
+import com.company.testtask.model.Money;
+import com.company.testtask.protocol.BinaryFrames;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.reactive.context.ReactiveWebApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.BINARY_PROTOCOL;
+import static com.company.testtask.constant.Constants.GAME_PATH;
+import static com.company.testtask.constant.Constants.INVALID_PLAYER_NUMBER_MESSAGE;
+import static com.company.testtask.constant.Constants.JSON_PROTOCOL;
+import static com.company.testtask.constant.Constants.LOCALHOST;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+public class WebSocketHandlerReactiveTransportTest extends BaseTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext context;
+
+    private final WebSocketClient client = new StandardWebSocketClient();
+
+    @BeforeEach
+    public void setUp() {
+        removeAllPlayers();
+    }
+
+    @Test
+    public void testBinaryBetIsAcknowledgedOverNetty() throws Exception {
+        BlockingQueue<WebSocketMessage<?>> messages = new LinkedBlockingQueue<>();
+        WebSocketSession session = connect(BINARY_PROTOCOL, messages);
+
+        assertInstanceOf(ReactiveWebApplicationContext.class, context);
+        assertEquals(BINARY_PROTOCOL, session.getAcceptedProtocol());
+
+        session.sendMessage(new BinaryMessage(BinaryFrames.encodeBet(TEST_PLAYER_NAME, 1, Money.of(BigDecimal.TEN))));
+
+        WebSocketMessage<?> ack = messages.poll(5, TimeUnit.SECONDS);
+        assertInstanceOf(BinaryMessage.class, ack);
+        assertTrue(BinaryFrames.isAck(((BinaryMessage) ack).getPayload()));
+
+        session.close();
+    }
+
+    @Test
+    public void testTextValidationErrorOverNetty() throws Exception {
+        BlockingQueue<WebSocketMessage<?>> messages = new LinkedBlockingQueue<>();
+        WebSocketSession session = connect(JSON_PROTOCOL, messages);
+
+        session.sendMessage(new TextMessage("{\"nickname\":\"" + TEST_PLAYER_NAME + "\",\"number\":0,\"bet\":10}"));
+
+        WebSocketMessage<?> error = messages.poll(5, TimeUnit.SECONDS);
+        assertEquals(INVALID_PLAYER_NUMBER_MESSAGE, error.getPayload());
+
+        session.close();
+    }
+
+    private WebSocketSession connect(String protocol, BlockingQueue<WebSocketMessage<?>> messages) throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketProtocol(protocol);
+        return client.execute(new AbstractWebSocketHandler() {
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) {
+                messages.add(message);
+            }
+        }, headers, URI.create(LOCALHOST + port + GAME_PATH)).get();
+    }
+}
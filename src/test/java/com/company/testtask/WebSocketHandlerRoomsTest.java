@@ -0,0 +1,98 @@
+package com.company.testtask;
+
+import com.company.testtask.draw.DrawProvider;
+import com.company.testtask.model.Player;
+import com.company.testtask.room.RoomManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.GAME_PATH;
+import static com.company.testtask.constant.Constants.LOCALHOST;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class WebSocketHandlerRoomsTest extends BaseTest {
+
+    private static final List<String> ROOMS = List.of("alpha", "beta");
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
+    private DrawProvider drawProvider;
+
+    @Autowired
+    private RoomManager roomManager;
+
+    private final WebSocketClient client = new StandardWebSocketClient();
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.doReturn(1).when(drawProvider).draw();
+    }
+
+    @Test
+    public void testRoomsSettleIndependently() throws Exception {
+        CountDownLatch latch = new CountDownLatch(4);
+        Map<String, List<String>> playerMessages = new HashMap<>();
+        Map<String, String> sessionRooms = new HashMap<>();
+        List<WebSocketSession> sessions = new ArrayList<>();
+
+        for (String room : ROOMS) {
+            Player player = createPlayer(TEST_PLAYER_NAME + room, 1, BigDecimal.TEN);
+            WebSocketSession session = client.doHandshake(createWebSocketHandler(player, playerMessages, latch),
+                    LOCALHOST + port + GAME_PATH + "/" + room).get();
+            sessions.add(session);
+            sessionRooms.put(session.getId(), room);
+        }
+
+        assertTrue(latch.await(15, TimeUnit.SECONDS));
+
+        for (String room : ROOMS) {
+            assertNotNull(roomManager.get(room));
+        }
+        for (Map.Entry<String, List<String>> entry : playerMessages.entrySet()) {
+            String room = sessionRooms.get(entry.getKey());
+            String expectedWinners = makeWinnersListMessage(Map.of(TEST_PLAYER_NAME + room, BigDecimal.valueOf(99.0)));
+            assertTrue(entry.getValue().contains(expectedWinners));
+        }
+
+        closeSessions(sessions);
+    }
+
+    @Test
+    public void testInvalidRoomIsRejected() throws Exception {
+        CompletableFuture<CloseStatus> closed = new CompletableFuture<>();
+        client.doHandshake(new TextWebSocketHandler() {
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+                closed.complete(status);
+            }
+        }, LOCALHOST + port + GAME_PATH + "/not.a.room").get();
+
+        assertEquals(CloseStatus.POLICY_VIOLATION.getCode(), closed.get(5, TimeUnit.SECONDS).getCode());
+    }
+}
@@ -1,11 +1,11 @@
 package com.company.testtask;
 
-import com.company.testtask.handler.CustomWebSocketHandler;
 import com.company.testtask.model.Player;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.client.WebSocketClient;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
@@ -49,7 +49,7 @@ public class WebSocketHandlerSinglePlayerTest extends BaseTest {
 
         Player player = createPlayer(TEST_PLAYER_NAME, 10, BigDecimal.TEN);
 
-        CustomWebSocketHandler handler = createWebSocketHandler(player, playerMessages, latch);
+        WebSocketHandler handler = createWebSocketHandler(player, playerMessages, latch);
 
         WebSocketSession session = client.doHandshake(handler, LOCALHOST + port + GAME_PATH).get();
 
@@ -70,7 +70,7 @@ public class WebSocketHandlerSinglePlayerTest extends BaseTest {
 
         Player player = createPlayer(TEST_PLAYER_NAME, 0, BigDecimal.TEN);
 
-        CustomWebSocketHandler handler = createWebSocketHandler(player, playerMessages, latch);
+        WebSocketHandler handler = createWebSocketHandler(player, playerMessages, latch);
 
         WebSocketSession session = client.doHandshake(handler, LOCALHOST + port + GAME_PATH).get();
 
@@ -96,7 +96,7 @@ public class WebSocketHandlerSinglePlayerTest extends BaseTest {
         // Create second player and try to register with the same nickname
         Player player = createPlayer(TEST_PLAYER_NAME, 1, BigDecimal.TEN);
 
-        CustomWebSocketHandler handler = createWebSocketHandler(player, playerMessages, latch);
+        WebSocketHandler handler = createWebSocketHandler(player, playerMessages, latch);
 
         WebSocketSession session = client.doHandshake(handler, LOCALHOST + port + GAME_PATH).get();
 
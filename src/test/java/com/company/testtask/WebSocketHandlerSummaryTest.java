@@ -0,0 +1,98 @@
+package com.company.testtask;
+
+import com.company.testtask.draw.DrawProvider;
+import com.company.testtask.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.WebSocketClient;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.company.testtask.constant.Constants.GAME_PATH;
+import static com.company.testtask.constant.Constants.LOCALHOST;
+import static com.company.testtask.constant.Constants.RANK_MESSAGE;
+import static com.company.testtask.constant.Constants.TEST_PLAYER_NAME;
+import static com.company.testtask.constant.Constants.TOTAL_WINNERS_MESSAGE;
+import static com.company.testtask.constant.Constants.WINNERS_REQUEST;
+import static com.company.testtask.constant.Constants.WINNING_MESSAGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"game.summary-mode=true", "game.summary-top=1"})
+public class WebSocketHandlerSummaryTest extends BaseTest {
+
+    private static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean(answer = Answers.CALLS_REAL_METHODS)
+    private DrawProvider drawProvider;
+
+    private final WebSocketClient client = new StandardWebSocketClient();
+
+    @BeforeEach
+    public void setUp() {
+        removeAllPlayers();
+        Mockito.doReturn(1).when(drawProvider).draw();
+    }
+
+    @Test
+    public void testPlayersReceiveRankAndTopWinners() throws Exception {
+        Map<String, List<String>> playerMessages = new HashMap<>();
+        CountDownLatch latch = new CountDownLatch(4);
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketExtensions(List.of(new WebSocketExtension(PERMESSAGE_DEFLATE)));
+
+        Player first = createPlayer(TEST_PLAYER_NAME + 1, 1, BigDecimal.valueOf(20));
+        Player second = createPlayer(TEST_PLAYER_NAME + 2, 1, BigDecimal.TEN);
+        WebSocketSession firstSession = client.execute(createWebSocketHandler(first, playerMessages, latch),
+                headers, URI.create(LOCALHOST + port + GAME_PATH)).get();
+        WebSocketSession secondSession = client.execute(createWebSocketHandler(second, playerMessages, latch),
+                headers, URI.create(LOCALHOST + port + GAME_PATH)).get();
+
+        assertTrue(latch.await(15, TimeUnit.SECONDS));
+        assertTrue(firstSession.getExtensions().stream().anyMatch(e -> PERMESSAGE_DEFLATE.equals(e.getName())));
+
+        String summary = makeWinnersListMessage(Map.of(TEST_PLAYER_NAME + 1, BigDecimal.valueOf(198.0)))
+                + "\n" + TOTAL_WINNERS_MESSAGE + 2;
+        List<String> firstMessages = playerMessages.get(firstSession.getId());
+        List<String> secondMessages = playerMessages.get(secondSession.getId());
+        assertEquals(List.of(WINNING_MESSAGE + "198.0" + RANK_MESSAGE + 1, summary), firstMessages);
+        assertEquals(List.of(WINNING_MESSAGE + "99.0" + RANK_MESSAGE + 2, summary), secondMessages);
+
+        secondSession.sendMessage(new TextMessage(WINNERS_REQUEST));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            synchronized (playerMessages) {
+                if (secondMessages.size() == 3) {
+                    break;
+                }
+            }
+            Thread.sleep(10);
+        }
+        synchronized (playerMessages) {
+            assertEquals(3, secondMessages.size());
+            assertTrue(secondMessages.get(2).contains(TEST_PLAYER_NAME + 2 + ": 99.0"));
+        }
+
+        closeSessions(List.of(firstSession, secondSession));
+    }
+}